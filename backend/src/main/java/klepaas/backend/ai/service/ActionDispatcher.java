@@ -9,6 +9,8 @@ import klepaas.backend.deployment.dto.ScaleRequest;
 import klepaas.backend.deployment.service.DeploymentService;
 import klepaas.backend.deployment.repository.DeploymentRepository;
 import klepaas.backend.deployment.repository.SourceRepositoryRepository;
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.DeploymentStatus;
 import klepaas.backend.deployment.entity.SourceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -158,18 +160,20 @@ public class ActionDispatcher {
             name = srcRepo.getOwner() + "-" + srcRepo.getRepoName();
         }
 
-        deploymentService.restartDeployment(deploymentId);
+        var restart = deploymentService.restartDeployment(deploymentId);
 
         Map<String, Object> formatted = new LinkedHashMap<>();
         formatted.put("name", name);
         formatted.put("namespace", namespace);
+        formatted.put("replicas", restart.replicas());
+        formatted.put("duration_ms", restart.durationMs());
 
         Map<String, Object> metadata = new LinkedHashMap<>();
         metadata.put("name", name);
         metadata.put("namespace", namespace);
 
         return FormattedResponseDto.of("restart",
-                "재시작 완료: 배포 ID " + deploymentId,
+                "재시작 완료: 배포 ID " + deploymentId + " (" + restart.durationMs() / 1000 + "초)",
                 "재시작 완료",
                 formatted, metadata);
     }
@@ -199,14 +203,14 @@ public class ActionDispatcher {
 
     private Object executeLogs(Map<String, Object> args) {
         Long deploymentId = toLong(args.get("deployment_id"));
-        var logs = deploymentService.getDeploymentLogs(deploymentId);
+        var logs = deploymentService.getDeploymentLogs(deploymentId, null, null, 100);
 
         Map<String, Object> formatted = new LinkedHashMap<>();
         formatted.put("pod_name", "deployment-" + deploymentId);
         formatted.put("namespace", "default");
         formatted.put("lines", logs.logs().size());
         formatted.put("log_lines", logs.logs());
-        formatted.put("total_lines", logs.logs().size());
+        formatted.put("total_lines", logs.totalLines());
 
         Map<String, Object> metadata = new LinkedHashMap<>();
         metadata.put("namespace", "default");
@@ -273,8 +277,9 @@ public class ActionDispatcher {
                     Map.of("error", "저장소 없음"), null);
         }
 
-        var deployments = deploymentRepository
-                .findBySourceRepositoryId(srcRepo.getId(), PageRequest.of(0, 10));
+        // 롤백은 저장된 이미지를 재사용하므로 성공한 배포만 후보로 노출
+        var deployments = deploymentRepository.findBySourceRepositoryIdAndStatusOrderByIdDesc(
+                srcRepo.getId(), DeploymentStatus.SUCCESS, PageRequest.of(0, 10));
 
         var versions = new ArrayList<Map<String, Object>>();
         var history = new ArrayList<Map<String, Object>>();
@@ -336,8 +341,14 @@ public class ActionDispatcher {
                     Map.of("error", "저장소 없음"), null);
         }
 
-        var request = new CreateDeploymentRequest(srcRepo.getId(), "main", commitHash);
+        // 대상 커밋이 배포됐던 브랜치로 롤백 (이력이 없으면 main)
+        String branchName = deploymentService.findKnownGoodDeployment(srcRepo.getId(), commitHash)
+                .map(Deployment::getBranchName)
+                .orElse("main");
+
+        var request = new CreateDeploymentRequest(srcRepo.getId(), branchName, commitHash);
         var response = deploymentService.createDeployment(request, userId);
+        boolean imageReused = response.imageUri() != null;
 
         Map<String, Object> formatted = new LinkedHashMap<>();
         formatted.put("action_type", "rollback");
@@ -352,6 +363,8 @@ public class ActionDispatcher {
         details.put("target_commit_full", commitHash);
         details.put("action", "rollback");
         details.put("status", "started");
+        details.put("deployment_id", response.id());
+        details.put("image_reused", imageReused);
         formatted.put("details", details);
 
         Map<String, Object> metadata = new LinkedHashMap<>();
@@ -360,9 +373,11 @@ public class ActionDispatcher {
         metadata.put("action_type", "rollback");
         metadata.put("target_commit", formatted.get("target_commit"));
         metadata.put("status", "started");
+        metadata.put("image_reused", imageReused);
 
         return FormattedResponseDto.of("rollback_execution",
-                owner + "/" + repo + "을(를) " + formatted.get("target_commit") + " 커밋으로 롤백을 시작합니다.",
+                owner + "/" + repo + "을(를) " + formatted.get("target_commit") + " 커밋으로 롤백을 시작합니다."
+                        + (imageReused ? " (기존 이미지 재사용, 빌드 생략)" : ""),
                 "롤백 시작",
                 formatted, metadata);
     }
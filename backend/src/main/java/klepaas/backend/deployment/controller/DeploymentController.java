@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import klepaas.backend.auth.config.CustomUserDetails;
 import klepaas.backend.deployment.dto.*;
 import klepaas.backend.deployment.service.DeploymentService;
+import klepaas.backend.deployment.service.DeploymentTimelineService;
 import klepaas.backend.global.dto.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class DeploymentController {
 
     private final DeploymentService deploymentService;
+    private final DeploymentTimelineService timelineService;
 
     @PostMapping("/deployments")
     @ResponseStatus(HttpStatus.CREATED)
@@ -48,9 +50,26 @@ public class DeploymentController {
         return ApiResponse.success(deploymentService.getDeploymentStatus(id));
     }
 
+    @GetMapping("/deployments/{id}/timeline")
+    public ApiResponse<DeploymentTimelineResponse> getDeploymentTimeline(@PathVariable Long id) {
+        return ApiResponse.success(timelineService.getTimeline(id));
+    }
+
+    @GetMapping("/deployments/stage-latency")
+    public ApiResponse<StageLatencyResponse> getStageLatency(
+            @RequestParam(required = false) Long repositoryId,
+            @RequestParam(defaultValue = "24") int hours) {
+        return ApiResponse.success(timelineService.getStageLatency(repositoryId, hours));
+    }
+
     @GetMapping("/deployments/{id}/logs")
-    public ApiResponse<DeploymentLogResponse> getDeploymentLogs(@PathVariable Long id) {
-        return ApiResponse.success(deploymentService.getDeploymentLogs(id));
+    public ApiResponse<DeploymentLogResponse> getDeploymentLogs(@PathVariable Long id,
+                                                               @RequestParam(required = false) Long offset,
+                                                               @RequestParam(required = false) Long since,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               @RequestParam(required = false) Integer tail) {
+        // since는 이전 버전 호환용 offset 별칭
+        return ApiResponse.success(deploymentService.getDeploymentLogs(id, offset != null ? offset : since, limit, tail));
     }
 
     @PostMapping("/deployments/{id}/scale")
@@ -61,9 +80,8 @@ public class DeploymentController {
     }
 
     @PostMapping("/deployments/{id}/restart")
-    public ApiResponse<Void> restartDeployment(@PathVariable Long id) {
-        deploymentService.restartDeployment(id);
-        return ApiResponse.success(null, "재시작 요청이 접수되었습니다");
+    public ApiResponse<RestartResponse> restartDeployment(@PathVariable Long id) {
+        return ApiResponse.success(deploymentService.restartDeployment(id), "재시작이 완료되었습니다");
     }
 
     @GetMapping("/repositories/{repositoryId}/scaling-history")
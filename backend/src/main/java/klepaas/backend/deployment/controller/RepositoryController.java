@@ -57,4 +57,9 @@ public class RepositoryController {
             @Valid @RequestBody UpdateDeploymentConfigRequest request) {
         return ApiResponse.success(repositoryService.updateDeploymentConfig(id, request));
     }
+
+    @GetMapping("/{id}/build-profile")
+    public ApiResponse<BuildProfileRecommendationResponse> getBuildProfileRecommendation(@PathVariable Long id) {
+        return ApiResponse.success(repositoryService.getBuildProfileRecommendation(id));
+    }
 }
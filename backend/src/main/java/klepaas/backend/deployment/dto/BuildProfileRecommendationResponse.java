@@ -0,0 +1,29 @@
+package klepaas.backend.deployment.dto;
+
+import klepaas.backend.deployment.entity.BuildProfile;
+import klepaas.backend.deployment.service.BuildProfileAdvisor.Recommendation;
+
+public record BuildProfileRecommendationResponse(
+        Long repositoryId,
+        BuildProfile configuredProfile,   // 배포 설정에 지정된 프로필 (null이면 자동)
+        BuildProfile recommendedProfile,
+        BuildProfile effectiveProfile,    // 다음 빌드에 적용될 프로필
+        int sampleCount,
+        Long medianBuildMs,
+        Long contextSizeBytes,
+        String reason
+) {
+    public static BuildProfileRecommendationResponse of(Long repositoryId, BuildProfile configured,
+                                                        Recommendation recommendation) {
+        return new BuildProfileRecommendationResponse(
+                repositoryId,
+                configured,
+                recommendation.profile(),
+                configured != null ? configured : recommendation.profile(),
+                recommendation.sampleCount(),
+                recommendation.medianBuildMs(),
+                recommendation.contextSizeBytes(),
+                recommendation.reason()
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package klepaas.backend.deployment.dto;
 
+import klepaas.backend.deployment.entity.BuildProfile;
 import klepaas.backend.deployment.entity.DeploymentConfig;
 
 import java.util.Map;
@@ -11,7 +12,15 @@ public record DeploymentConfigResponse(
         int maxReplicas,
         Map<String, String> envVars,
         int containerPort,
-        String domainUrl
+        String domainUrl,
+        boolean buildCacheEnabled,
+        BuildProfile buildProfile,
+        String cpuRequest,
+        String cpuLimit,
+        String memoryRequest,
+        String memoryLimit,
+        Integer targetCpuUtilization,
+        boolean autoscalingEnabled
 ) {
     public static DeploymentConfigResponse from(DeploymentConfig entity) {
         return new DeploymentConfigResponse(
@@ -21,7 +30,15 @@ public record DeploymentConfigResponse(
                 entity.getMaxReplicas(),
                 entity.getEnvVars(),
                 entity.getContainerPort(),
-                entity.getDomainUrl()
+                entity.getDomainUrl(),
+                entity.isBuildCacheEnabled(),
+                entity.getBuildProfile(),
+                entity.getCpuRequest(),
+                entity.getCpuLimit(),
+                entity.getMemoryRequest(),
+                entity.getMemoryLimit(),
+                entity.getTargetCpuUtilization(),
+                entity.isAutoscalingEnabled()
         );
     }
 }
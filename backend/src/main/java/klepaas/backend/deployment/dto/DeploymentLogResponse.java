@@ -4,6 +4,10 @@ import java.util.List;
 
 public record DeploymentLogResponse(
         Long deploymentId,
-        List<String> logs
+        List<String> logs,   // "[container] line" 형식, offset부터 순서대로
+        long offset,         // 첫 줄의 offset (요청한 줄이 이미 버려졌으면 요청값보다 크다)
+        long nextOffset,     // 다음 조회 시 offset으로 넘길 값
+        long totalLines,     // 현재까지 기록된 전체 줄 수
+        boolean streaming    // 아직 빌드 로그가 이어지는 중이면 true
 ) {
 }
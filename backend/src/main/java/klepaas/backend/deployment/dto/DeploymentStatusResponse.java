@@ -6,13 +6,15 @@ import klepaas.backend.deployment.entity.DeploymentStatus;
 public record DeploymentStatusResponse(
         Long deploymentId,
         DeploymentStatus status,
-        String failReason
+        String failReason,
+        Integer queuePosition  // 스케줄러 또는 빌드 슬롯(QUEUED_FOR_BUILD) 대기 중일 때만 값 존재 (1부터)
 ) {
-    public static DeploymentStatusResponse from(Deployment entity) {
+    public static DeploymentStatusResponse from(Deployment entity, Integer queuePosition) {
         return new DeploymentStatusResponse(
                 entity.getId(),
                 entity.getStatus(),
-                entity.getFailReason()
+                entity.getFailReason(),
+                queuePosition
         );
     }
 }
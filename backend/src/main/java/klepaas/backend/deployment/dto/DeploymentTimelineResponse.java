@@ -0,0 +1,46 @@
+package klepaas.backend.deployment.dto;
+
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.DeploymentStageEvent;
+import klepaas.backend.deployment.entity.DeploymentStatus;
+import klepaas.backend.deployment.entity.PipelineStage;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DeploymentTimelineResponse(
+        Long deploymentId,
+        DeploymentStatus status,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        Long totalDurationMs,
+        List<StageEntry> stages
+) {
+    public static DeploymentTimelineResponse of(Deployment deployment, List<DeploymentStageEvent> events) {
+        Long totalDurationMs = deployment.getStartedAt() != null && deployment.getFinishedAt() != null
+                ? Duration.between(deployment.getStartedAt(), deployment.getFinishedAt()).toMillis()
+                : null;
+        List<StageEntry> stages = events.stream()
+                .filter(e -> e.getStage() != PipelineStage.TOTAL)
+                .map(StageEntry::from)
+                .toList();
+        return new DeploymentTimelineResponse(deployment.getId(), deployment.getStatus(),
+                deployment.getStartedAt(), deployment.getFinishedAt(), totalDurationMs, stages);
+    }
+
+    public record StageEntry(
+            PipelineStage stage,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt,
+            long durationMs,
+            boolean succeeded,
+            Integer cacheHits,
+            Integer cacheMisses
+    ) {
+        public static StageEntry from(DeploymentStageEvent event) {
+            return new StageEntry(event.getStage(), event.getStartedAt(), event.getFinishedAt(),
+                    event.getDurationMs(), event.isSucceeded(), event.getCacheHits(), event.getCacheMisses());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package klepaas.backend.deployment.dto;
+
+public record RestartResponse(
+        Long deploymentId,
+        String appName,
+        int replicas,       // 재시작 전후 유지된 레플리카 수
+        long durationMs     // restartedAt 패치 → 새 Pod 전체 available
+) {
+}
@@ -0,0 +1,21 @@
+package klepaas.backend.deployment.dto;
+
+import klepaas.backend.deployment.entity.PipelineStage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record StageLatencyResponse(
+        LocalDateTime since,
+        Long repositoryId,
+        List<StageStat> stages
+) {
+    public record StageStat(
+            PipelineStage stage,
+            int count,
+            long p50Ms,
+            long p95Ms,
+            long maxMs
+    ) {
+    }
+}
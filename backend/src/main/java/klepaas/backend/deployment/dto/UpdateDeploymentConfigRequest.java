@@ -1,6 +1,9 @@
 package klepaas.backend.deployment.dto;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import klepaas.backend.deployment.entity.BuildProfile;
 
 import java.util.Map;
 
@@ -9,6 +12,17 @@ public record UpdateDeploymentConfigRequest(
         @Min(1) int maxReplicas,
         Map<String, String> envVars,
         @Min(1) int containerPort,
-        String domainUrl
+        String domainUrl,
+        // 아래 필드는 생략(null) 시 기존 설정 유지
+        Boolean buildCacheEnabled,
+        BuildProfile buildProfile,
+        // requests/limits는 K8s quantity 형식
+        @Pattern(regexp = "^([0-9]+m|[0-9]+(\\.[0-9]+)?)$") String cpuRequest,
+        @Pattern(regexp = "^([0-9]+m|[0-9]+(\\.[0-9]+)?)$") String cpuLimit,
+        @Pattern(regexp = "^[0-9]+(Ki|Mi|Gi|K|M|G)?$") String memoryRequest,
+        @Pattern(regexp = "^[0-9]+(Ki|Mi|Gi|K|M|G)?$") String memoryLimit,
+        @Min(10) @Max(100) Integer targetCpuUtilization,  // maxReplicas > minReplicas일 때 HPA 목표 CPU 사용률(%)
+        Boolean resetBuildProfile,  // true면 고정 프로필을 해제하고 자동 추천 프로필 사용
+        Boolean resetResources      // true면 requests/limits/목표 CPU 사용률을 플랫폼 기본값으로 되돌림
 ) {
 }
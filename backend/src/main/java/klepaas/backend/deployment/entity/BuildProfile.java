@@ -0,0 +1,25 @@
+package klepaas.backend.deployment.entity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Kaniko 빌드 Job 리소스 프로필.
+ * requests/limits, 선호 빌드 노드 풀, 스냅샷 모드를 묶어서 관리한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BuildProfile {
+
+    // 작은 context는 전체 해시(full) 비용이 작아 정확도를 우선
+    SMALL("500m", "1Gi", "1", "2Gi", "small", "full"),
+    MEDIUM("1", "2Gi", "2", "4Gi", "medium", "redo"),
+    LARGE("2", "4Gi", "4", "8Gi", "large", "redo");
+
+    private final String cpuRequest;
+    private final String memoryRequest;
+    private final String cpuLimit;
+    private final String memoryLimit;
+    private final String nodePool;      // 빌드 노드 풀 라벨 값 (kaniko.build-node.label)
+    private final String snapshotMode;  // Kaniko --snapshot-mode
+}
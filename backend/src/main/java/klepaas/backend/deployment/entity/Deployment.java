@@ -6,12 +6,20 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Entity
-@Table(name = "deployments")
+@Table(name = "deployments", indexes = {
+        // 롤백 후보(저장소별 성공 배포 최신순) 및 이미지 재사용 조회용
+        @Index(name = "idx_deployments_repo_status_id", columnList = "repository_id, status, id"),
+        // 같은 build context로 성공한 이미지 조회용
+        @Index(name = "idx_deployments_repo_context_hash", columnList = "repository_id, context_hash")
+})
+@DynamicUpdate // 파이프라인 저장이 supersededById 등 다른 스레드가 기록한 컬럼을 덮어쓰지 않도록 변경 컬럼만 UPDATE
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Deployment extends BaseTimeEntity {
 
@@ -30,19 +38,48 @@ public class Deployment extends BaseTimeEntity {
     private String commitHash;
 
     // Source Staging을 위한 필드
-    // GitHub ZIP이 업로드된 Object Storage 경로 (예: builds/101/source.zip)
+    // GitHub ZIP이 업로드된 Object Storage 경로 (저장소 + 커밋 SHA 기준 공유 객체, 예: sources/7/{sha}/source.zip)
     private String storageObjectKey;
 
+    // .dockerignore 적용 후 build context 내용 해시 (SHA-256). 같으면 이미지가 같으므로 빌드를 건너뛴다
+    @Column(length = 64)
+    private String contextHash;
+
+    // 업로드된 build context 아카이브 크기 (빌드 프로필 추천용)
+    private Long contextSizeBytes;
+
+    // Dockerfile FROM의 외부 베이스 이미지 (쉼표 구분). 빌드 노드 로컬 캐시 warm-up 대상
+    @Column(columnDefinition = "TEXT")
+    private String baseImages;
+
+    // 빌드에 적용된 리소스 프로필
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "VARCHAR(20)")
+    private BuildProfile buildProfile;
+
     private String externalBuildId;
+
+    // 빌드 상태 조회용 식별자 (NCP: Kaniko Job namespace)
+    private String buildTrackingId;
+
     private String imageUri;
 
+    // 재시작 복구용: 마지막으로 완료된 파이프라인 단계
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(columnDefinition = "VARCHAR(30)")
+    private PipelineCheckpoint checkpoint;
+
+    // 상태가 추가돼도 ddl-auto update로 기존 컬럼 제약이 바뀌지 않으므로 DB enum 타입 대신 VARCHAR (기존 DB는 EnumColumnMigration으로 변환)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(30)")
     private DeploymentStatus status;
 
     @Column(columnDefinition = "TEXT")
     private String failReason;
 
+    // 같은 (저장소, 브랜치)의 최신 배포 ID. 설정되면 이 배포의 파이프라인은 다음 단계에서 중단된다
+    private Long supersededById;
+
     private LocalDateTime startedAt;
     private LocalDateTime finishedAt;
 
@@ -63,9 +100,13 @@ public class Deployment extends BaseTimeEntity {
     }
 
     // 소스 업로드 완료 시
-    public void markAsUploaded(String storageObjectKey) {
+    public void markAsUploaded(String storageObjectKey, String contextHash, Long contextSizeBytes, List<String> baseImages) {
         this.storageObjectKey = storageObjectKey;
+        this.contextHash = contextHash;
+        this.contextSizeBytes = contextSizeBytes;
+        this.baseImages = baseImages == null || baseImages.isEmpty() ? null : String.join(",", baseImages);
         this.status = DeploymentStatus.BUILDING;
+        this.checkpoint = PipelineCheckpoint.SOURCE_UPLOADED;
     }
 
     // K8s 배포 시작
@@ -73,10 +114,39 @@ public class Deployment extends BaseTimeEntity {
         this.status = DeploymentStatus.DEPLOYING;
     }
 
+    // 빌드 슬롯 대기 (업로드는 끝났으므로 체크포인트는 SOURCE_UPLOADED 유지)
+    public void queueForBuild() {
+        this.status = DeploymentStatus.QUEUED_FOR_BUILD;
+    }
+
     // 외부 빌드 시작 시
-    public void markAsBuilding(String externalBuildId) {
+    public void markAsBuilding(String externalBuildId, String buildTrackingId, String targetImageUri) {
         this.externalBuildId = externalBuildId;
-        // 상태는 이미 BUILDING이거나 유지
+        this.buildTrackingId = buildTrackingId;
+        this.imageUri = targetImageUri;
+        this.status = DeploymentStatus.BUILDING; // 빌드 슬롯 대기(QUEUED_FOR_BUILD)를 거친 경우 포함
+        this.checkpoint = PipelineCheckpoint.BUILD_TRIGGERED;
+    }
+
+    public void assignBuildProfile(BuildProfile buildProfile) {
+        this.buildProfile = buildProfile;
+    }
+
+    // 이미지 빌드 성공 시
+    public void markImageBuilt(String imageUri) {
+        this.imageUri = imageUri;
+        this.checkpoint = PipelineCheckpoint.IMAGE_BUILT;
+    }
+
+    // 같은 커밋의 검증된 이미지 재사용 — 업로드/빌드를 건너뛰고 K8s 배포 단계부터 진행
+    public void reuseImage(String commitHash, String imageUri) {
+        this.commitHash = commitHash;
+        this.imageUri = imageUri;
+        this.checkpoint = PipelineCheckpoint.IMAGE_BUILT;
+    }
+
+    public boolean hasPassed(PipelineCheckpoint target) {
+        return checkpoint != null && checkpoint.compareTo(target) >= 0;
     }
 
     public void setImageUri(String imageUri) {
@@ -93,6 +163,29 @@ public class Deployment extends BaseTimeEntity {
         this.finishedAt = LocalDateTime.now();
     }
 
+    // 최신 커밋 배포로 대체
+    public void supersede(Long newerDeploymentId) {
+        this.supersededById = newerDeploymentId;
+        markSuperseded();
+    }
+
+    // 파이프라인 저장으로 status가 덮어써졌을 수 있으므로 중단 시점에 다시 보정
+    public void markSuperseded() {
+        this.status = DeploymentStatus.SUPERSEDED;
+        this.failReason = "최신 배포 #" + supersededById + "로 대체됨";
+        if (this.finishedAt == null) {
+            this.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    public boolean isSuperseded() {
+        return supersededById != null;
+    }
+
+    public List<String> getBaseImageList() {
+        return baseImages == null ? List.of() : List.of(baseImages.split(","));
+    }
+
     // 실패 처리
     public void fail(String reason) {
         this.status = DeploymentStatus.FAILED;
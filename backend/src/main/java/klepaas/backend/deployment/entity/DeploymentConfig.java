@@ -6,6 +6,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -40,22 +41,70 @@ public class DeploymentConfig extends BaseTimeEntity {
     @Column(nullable = false)
     private String domainUrl;
 
+    // Kaniko 레이어 캐시 사용 여부 (opt-in, 레지스트리에 캐시 레이어를 push하므로 저장소별로 켠다)
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean buildCacheEnabled;
+
+    // 빌드 리소스 프로필. null이면 빌드 이력/context 크기 기반 자동 추천 프로필 사용
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "VARCHAR(20)")
+    private BuildProfile buildProfile;
+
+    // 앱 컨테이너 requests/limits (K8s quantity 문자열, 예: 250m, 512Mi). null이면 플랫폼 기본값 사용
+    @Column(length = 20)
+    private String cpuRequest;
+
+    @Column(length = 20)
+    private String cpuLimit;
+
+    @Column(length = 20)
+    private String memoryRequest;
+
+    @Column(length = 20)
+    private String memoryLimit;
+
+    // HPA 목표 CPU 사용률(%, requests 대비). maxReplicas > minReplicas일 때만 사용, null이면 플랫폼 기본값
+    private Integer targetCpuUtilization;
+
     @Builder
     public DeploymentConfig(SourceRepository sourceRepository, int minReplicas, int maxReplicas,
-                            Map<String, String> envVars, int containerPort, String domainUrl) {
+                            Map<String, String> envVars, int containerPort, String domainUrl,
+                            boolean buildCacheEnabled, BuildProfile buildProfile) {
         this.sourceRepository = sourceRepository;
         this.minReplicas = minReplicas;
         this.maxReplicas = maxReplicas;
         this.envVars = envVars != null ? envVars : new HashMap<>();
         this.containerPort = containerPort > 0 ? containerPort : 8080;
         this.domainUrl = domainUrl;
+        this.buildCacheEnabled = buildCacheEnabled;
+        this.buildProfile = buildProfile;
+    }
+
+    public void updateResources(String cpuRequest, String cpuLimit, String memoryRequest, String memoryLimit,
+                                Integer targetCpuUtilization) {
+        this.cpuRequest = cpuRequest;
+        this.cpuLimit = cpuLimit;
+        this.memoryRequest = memoryRequest;
+        this.memoryLimit = memoryLimit;
+        this.targetCpuUtilization = targetCpuUtilization;
+    }
+
+    /**
+     * maxReplicas가 minReplicas보다 크면 HPA로 부하에 따라 레플리카 수를 조정한다
+     */
+    public boolean isAutoscalingEnabled() {
+        return maxReplicas > minReplicas;
     }
 
-    public void updateConfig(int min, int max, Map<String, String> envVars, int containerPort, String domainUrl) {
+    public void updateConfig(int min, int max, Map<String, String> envVars, int containerPort, String domainUrl,
+                             boolean buildCacheEnabled, BuildProfile buildProfile) {
         this.minReplicas = min;
         this.maxReplicas = max;
         this.envVars = envVars != null ? envVars : new HashMap<>();
         this.containerPort = containerPort > 0 ? containerPort : 8080;
         this.domainUrl = domainUrl;
+        this.buildCacheEnabled = buildCacheEnabled;
+        this.buildProfile = buildProfile;
     }
 }
@@ -0,0 +1,63 @@
+package klepaas.backend.deployment.entity;
+
+import jakarta.persistence.*;
+import klepaas.backend.global.entity.BaseTimeEntity;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@Table(name = "deployment_stage_events", indexes = {
+        @Index(name = "idx_stage_events_deployment", columnList = "deployment_id"),
+        @Index(name = "idx_stage_events_finished_at", columnList = "finished_at")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DeploymentStageEvent extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "deployment_id", nullable = false)
+    private Deployment deployment;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(30)")
+    private PipelineStage stage;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime finishedAt;
+
+    @Column(nullable = false)
+    private long durationMs;
+
+    @Column(nullable = false)
+    private boolean succeeded;
+
+    // Kaniko 레이어 캐시 적중/미적중 수 (캐시를 켠 BUILD 단계만)
+    private Integer cacheHits;
+
+    private Integer cacheMisses;
+
+    @Builder
+    public DeploymentStageEvent(Deployment deployment, PipelineStage stage, LocalDateTime startedAt,
+                                LocalDateTime finishedAt, boolean succeeded, Integer cacheHits, Integer cacheMisses) {
+        this.deployment = deployment;
+        this.stage = stage;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.durationMs = Math.max(0, Duration.between(startedAt, finishedAt).toMillis());
+        this.succeeded = succeeded;
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+    }
+}
@@ -3,9 +3,11 @@ package klepaas.backend.deployment.entity;
 public enum DeploymentStatus {
     PENDING,          // 1. 배포 요청 접수
     UPLOADING_SOURCE, // 2. GitHub -> Object Storage 스트리밍 중 (New!)
+    QUEUED_FOR_BUILD, // 2-1. 빌드 슬롯 대기 중 (클러스터 동시 빌드 상한)
     BUILDING,         // 3. 클라우드 빌드 진행 중 (SourceBuild/CodeBuild)
     DEPLOYING,        // 4. Kubernetes 배포 중
     SUCCESS,          // 5. 완료
     FAILED,           // 6. 실패
-    CANCELED          // 7. 취소됨
+    CANCELED,         // 7. 취소됨
+    SUPERSEDED        // 8. 같은 브랜치의 최신 커밋 배포로 대체됨
 }
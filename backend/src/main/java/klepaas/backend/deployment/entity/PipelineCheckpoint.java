@@ -0,0 +1,11 @@
+package klepaas.backend.deployment.entity;
+
+/**
+ * 배포 파이프라인에서 마지막으로 완료된 단계 (선언 순서 = 진행 순서).
+ * 백엔드 재시작 시 이 체크포인트 다음 단계부터 파이프라인을 재개한다.
+ */
+public enum PipelineCheckpoint {
+    SOURCE_UPLOADED,  // 1. Object Storage 업로드 완료 (storageObjectKey 확정)
+    BUILD_TRIGGERED,  // 2. 빌드 Job 생성 완료 (externalBuildId, buildTrackingId 확정)
+    IMAGE_BUILT       // 3. 이미지 빌드 성공 (imageUri 확정)
+}
@@ -0,0 +1,19 @@
+package klepaas.backend.deployment.entity;
+
+/**
+ * 배포 타임라인에 기록되는 파이프라인 단계.
+ */
+public enum PipelineStage {
+    QUEUE,            // 스케줄러 대기
+    IMAGE_LOOKUP,     // 레지스트리 기존 이미지 확인
+    SOURCE_DOWNLOAD,  // GitHub 아카이브(zipball/tarball) 요청 (HEAD 해석, redirect, 응답 헤더 수신)
+    SOURCE_UPLOAD,    // 아카이브 스트리밍 수신 + repackaging + Object Storage 업로드
+    BUILD_ADMISSION,  // 빌드 슬롯 대기 (클러스터 동시 빌드 상한에 걸린 경우만)
+    BUILD_TRIGGER,    // Kaniko Job 생성
+    BUILD_QUEUE,      // Job 생성 → Pod 스케줄링/이미지 pull
+    BUILD_CONTEXT,    // initContainer의 빌드 컨텍스트 다운로드/해제 (zip context 모드만, tar.gz 모드는 BUILD에 포함)
+    BUILD,            // Kaniko 이미지 빌드/push
+    K8S_DEPLOY,       // Deployment/Service/Ingress apply
+    ROLLOUT,          // apply → 새 Pod 전체 available (observedGeneration/updatedReplicas/availableReplicas)
+    TOTAL             // 배포 생성 → 종료
+}
@@ -0,0 +1,8 @@
+package klepaas.backend.deployment.event;
+
+/**
+ * 배포 파이프라인 종료(성공/실패/대체) 이벤트.
+ * 스케줄러가 점유 슬롯을 반납하고 다음 배포를 시작하는 데 사용한다.
+ */
+public record DeploymentPipelineFinishedEvent(Long deploymentId) {
+}
@@ -0,0 +1,24 @@
+package klepaas.backend.deployment.event;
+
+import klepaas.backend.deployment.entity.PipelineStage;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파이프라인 단계 종료 이벤트.
+ * 인프라 계층(업로드/빌드)도 타임라인 저장소에 직접 의존하지 않고 단계 소요 시간을 남길 수 있도록 이벤트로 전달한다.
+ */
+public record PipelineStageCompletedEvent(
+        Long deploymentId,
+        PipelineStage stage,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        boolean succeeded,
+        Integer cacheHits,    // BUILD 단계의 Kaniko 레이어 캐시 적중 수 (캐시 미사용/미확인이면 null)
+        Integer cacheMisses
+) {
+    public PipelineStageCompletedEvent(Long deploymentId, PipelineStage stage, LocalDateTime startedAt,
+                                       LocalDateTime finishedAt, boolean succeeded) {
+        this(deploymentId, stage, startedAt, finishedAt, succeeded, null, null);
+    }
+}
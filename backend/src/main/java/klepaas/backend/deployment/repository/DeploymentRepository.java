@@ -1,6 +1,8 @@
 package klepaas.backend.deployment.repository;
 
 import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.DeploymentStatus;
+import klepaas.backend.infra.dto.BuildResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -8,6 +10,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface DeploymentRepository extends JpaRepository<Deployment, Long> {
@@ -26,4 +30,44 @@ public interface DeploymentRepository extends JpaRepository<Deployment, Long> {
 
     @Query("SELECT s.user.id FROM Deployment d JOIN d.sourceRepository s WHERE d.id = :id")
     Optional<Long> findUserIdByDeploymentId(@Param("id") Long id);
+
+    // 영속성 컨텍스트에 남은 엔티티가 아니라 커밋된 빌드 Job 정보를 읽기 위한 projection
+    @Query("SELECT new klepaas.backend.infra.dto.BuildResult(d.externalBuildId, d.buildTrackingId, d.imageUri) " +
+            "FROM Deployment d WHERE d.id = :id AND d.externalBuildId IS NOT NULL")
+    Optional<BuildResult> findBuildById(@Param("id") Long id);
+
+    // 같은 브랜치의 진행 중 배포 (최신 커밋 배포 시 대체 대상)
+    @EntityGraph(attributePaths = {"sourceRepository"})
+    List<Deployment> findBySourceRepositoryIdAndBranchNameAndStatusIn(Long sourceRepositoryId, String branchName,
+                                                                      Collection<DeploymentStatus> statuses);
+
+    // 롤백 후보: 저장소별 성공 배포 최신순
+    @EntityGraph(attributePaths = {"sourceRepository"})
+    Page<Deployment> findBySourceRepositoryIdAndStatusOrderByIdDesc(Long sourceRepositoryId, DeploymentStatus status,
+                                                                    Pageable pageable);
+
+    // short SHA가 가리키는 성공 배포 커밋 — 2개 이상이면 모호한 prefix (limit 2로 조회)
+    @Query("SELECT DISTINCT d.commitHash FROM Deployment d WHERE d.sourceRepository.id = :repositoryId " +
+            "AND d.status = :status AND d.imageUri IS NOT NULL AND d.commitHash LIKE CONCAT(:prefix, '%')")
+    List<String> findCommitHashesByPrefix(@Param("repositoryId") Long repositoryId,
+                                          @Param("status") DeploymentStatus status,
+                                          @Param("prefix") String prefix, Pageable pageable);
+
+    // 같은 커밋으로 성공한 최신 배포 — 이미지 재사용 대상
+    Optional<Deployment> findFirstBySourceRepositoryIdAndStatusAndCommitHashAndImageUriIsNotNullOrderByIdDesc(
+            Long sourceRepositoryId, DeploymentStatus status, String commitHash);
+
+    // 같은 build context로 성공한 최신 배포 — 커밋이 달라도 이미지 재사용 대상
+    Optional<Deployment> findFirstBySourceRepositoryIdAndStatusAndContextHashAndImageUriIsNotNullOrderByIdDesc(
+            Long sourceRepositoryId, DeploymentStatus status, String contextHash);
+
+    // 공유 소스 객체를 재사용한 경우 이전 업로드에서 계산된 context 해시 조회
+    Optional<Deployment> findFirstByStorageObjectKeyAndContextHashIsNotNullOrderByIdDesc(String storageObjectKey);
+
+    // 빌드 프로필 추천용 최신 context 크기
+    Optional<Deployment> findFirstBySourceRepositoryIdAndContextSizeBytesIsNotNullOrderByIdDesc(Long sourceRepositoryId);
+
+    // 재시작 복구 대상(진행 중 상태) 조회
+    @Query("SELECT d.id FROM Deployment d WHERE d.status IN :statuses ORDER BY d.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<DeploymentStatus> statuses);
 }
@@ -0,0 +1,37 @@
+package klepaas.backend.deployment.repository;
+
+import klepaas.backend.deployment.entity.DeploymentStageEvent;
+import klepaas.backend.deployment.entity.PipelineStage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DeploymentStageEventRepository extends JpaRepository<DeploymentStageEvent, Long> {
+
+    List<DeploymentStageEvent> findByDeploymentIdOrderByStartedAtAscIdAsc(Long deploymentId);
+
+    // 단계별 백분위 집계용 (성공한 단계만)
+    @Query("SELECT e.stage AS stage, e.durationMs AS durationMs FROM DeploymentStageEvent e " +
+            "WHERE e.finishedAt >= :since AND e.succeeded = true " +
+            "AND (:repositoryId IS NULL OR e.deployment.sourceRepository.id = :repositoryId)")
+    List<StageDuration> findSucceededDurationsSince(@Param("since") LocalDateTime since,
+                                                    @Param("repositoryId") Long repositoryId);
+
+    // 저장소의 최근 성공 단계 소요 시간 (빌드 프로필 추천용)
+    @Query("SELECT e.durationMs FROM DeploymentStageEvent e " +
+            "WHERE e.deployment.sourceRepository.id = :repositoryId AND e.stage = :stage AND e.succeeded = true " +
+            "ORDER BY e.finishedAt DESC")
+    List<Long> findRecentSucceededDurations(@Param("repositoryId") Long repositoryId,
+                                            @Param("stage") PipelineStage stage,
+                                            Pageable pageable);
+
+    interface StageDuration {
+        PipelineStage getStage();
+
+        long getDurationMs();
+    }
+}
@@ -0,0 +1,86 @@
+package klepaas.backend.deployment.service;
+
+import klepaas.backend.deployment.entity.BuildProfile;
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.PipelineStage;
+import klepaas.backend.deployment.repository.DeploymentRepository;
+import klepaas.backend.deployment.repository.DeploymentStageEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 저장소의 최근 빌드 소요 시간과 build context 크기로 빌드 리소스 프로필을 추천.
+ * 두 기준 중 더 큰 프로필을 택하고, 이력이 전혀 없으면 MEDIUM을 사용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BuildProfileAdvisor {
+
+    private static final int SAMPLE_SIZE = 10;
+    private static final long MB = 1024L * 1024L;
+
+    private final DeploymentRepository deploymentRepository;
+    private final DeploymentStageEventRepository stageEventRepository;
+
+    @Value("${deployment.build-profile.medium-build-ms:180000}")
+    private long mediumBuildMs;
+
+    @Value("${deployment.build-profile.large-build-ms:600000}")
+    private long largeBuildMs;
+
+    @Value("${deployment.build-profile.medium-context-mb:50}")
+    private long mediumContextMb;
+
+    @Value("${deployment.build-profile.large-context-mb:500}")
+    private long largeContextMb;
+
+    public record Recommendation(
+            BuildProfile profile,
+            int sampleCount,
+            Long medianBuildMs,
+            Long contextSizeBytes,
+            String reason
+    ) {}
+
+    @Transactional(readOnly = true)
+    public Recommendation recommend(Long repositoryId) {
+        List<Long> durations = stageEventRepository.findRecentSucceededDurations(
+                repositoryId, PipelineStage.BUILD, PageRequest.of(0, SAMPLE_SIZE));
+        Long contextSizeBytes = deploymentRepository
+                .findFirstBySourceRepositoryIdAndContextSizeBytesIsNotNullOrderByIdDesc(repositoryId)
+                .map(Deployment::getContextSizeBytes)
+                .orElse(null);
+
+        if (durations.isEmpty() && contextSizeBytes == null) {
+            return new Recommendation(BuildProfile.MEDIUM, 0, null, null, "빌드 이력이 없어 기본 프로필 사용");
+        }
+
+        Long medianBuildMs = durations.isEmpty() ? null : median(durations);
+        BuildProfile byDuration = medianBuildMs == null ? BuildProfile.SMALL
+                : medianBuildMs >= largeBuildMs ? BuildProfile.LARGE
+                : medianBuildMs >= mediumBuildMs ? BuildProfile.MEDIUM
+                : BuildProfile.SMALL;
+        BuildProfile bySize = contextSizeBytes == null ? BuildProfile.SMALL
+                : contextSizeBytes >= largeContextMb * MB ? BuildProfile.LARGE
+                : contextSizeBytes >= mediumContextMb * MB ? BuildProfile.MEDIUM
+                : BuildProfile.SMALL;
+
+        BuildProfile profile = byDuration.compareTo(bySize) >= 0 ? byDuration : bySize;
+        String reason = "최근 빌드 " + durations.size() + "건 중앙값 "
+                + (medianBuildMs != null ? medianBuildMs / 1000 + "s" : "-")
+                + ", context " + (contextSizeBytes != null ? contextSizeBytes / MB + "MB" : "-");
+        return new Recommendation(profile, durations.size(), medianBuildMs, contextSizeBytes, reason);
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.get((sorted.size() - 1) / 2);
+    }
+}
@@ -0,0 +1,192 @@
+package klepaas.backend.deployment.service;
+
+import jakarta.annotation.PreDestroy;
+import klepaas.backend.deployment.entity.BuildProfile;
+import klepaas.backend.deployment.event.DeploymentPipelineFinishedEvent;
+import klepaas.backend.infra.kubernetes.BuildNodeCapacity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 클러스터 전체 Kaniko 빌드 Job 동시 실행 제한 (빌드 admission).
+ * - 설정된 슬롯 수만큼만 빌드 Job을 생성하고, 나머지는 QUEUED_FOR_BUILD 상태로 FIFO 대기
+ * - resource-aware 모드에서는 빌드 노드 풀에 프로필 requests를 수용할 노드가 있을 때만 슬롯을 내준다
+ *   (여유분은 informer 캐시로 계산하므로 락 안에서 API 서버를 호출하지 않는다)
+ * 슬롯은 빌드 완료 시 반납하며, 파이프라인 종료 이벤트로도 한 번 더 반납해 누수를 막는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BuildSlotGovernor {
+
+    private final BuildNodeCapacity buildNodeCapacity;
+    private final TaskScheduler pipelineScheduler;
+
+    @Value("${deployment.build-slots.max:4}")
+    private int maxSlots;
+
+    @Value("${deployment.build-slots.resource-aware:false}")
+    private boolean resourceAware;
+
+    // resource-aware 모드에서 다른 워크로드가 리소스를 반납했는지 재확인하는 주기
+    @Value("${deployment.build-slots.recheck-interval:15000}")
+    private long recheckInterval;
+
+    /** 빌드 슬롯을 점유 중인 배포 → 빌드 프로필 (재연결로 점유한 경우 null) */
+    private final Map<Long, BuildProfile> active = new LinkedHashMap<>();
+    /** 슬롯 대기 중 배포 (요청 순서) */
+    private final Deque<Waiting> waiting = new ArrayDeque<>();
+
+    private ScheduledFuture<?> recheck;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (resourceAware) {
+            recheck = pipelineScheduler.scheduleWithFixedDelay(this::dispatch,
+                    Instant.now().plusMillis(recheckInterval), Duration.ofMillis(recheckInterval));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recheck != null) {
+            recheck.cancel(false);
+        }
+    }
+
+    /**
+     * 대기열이 비어 있고 슬롯이 남아 있으면 즉시 점유.
+     */
+    public synchronized boolean tryAcquire(Long deploymentId, BuildProfile profile) {
+        if (active.containsKey(deploymentId)) {
+            return true;
+        }
+        if (!waiting.isEmpty() || !hasCapacity(profile)) {
+            return false;
+        }
+        active.put(deploymentId, profile);
+        log.info("Build slot acquired: deploymentId={}, active={}/{}", deploymentId, active.size(), maxSlots);
+        return true;
+    }
+
+    /**
+     * 슬롯 대기열에 등록. 슬롯을 얻으면 onGranted를 호출한다 (호출 스레드는 슬롯을 반납한 쪽이므로 onGranted는 오래 블로킹하지 않아야 한다).
+     */
+    public void enqueue(Long deploymentId, BuildProfile profile, Runnable onGranted) {
+        synchronized (this) {
+            waiting.addLast(new Waiting(deploymentId, profile, onGranted));
+            log.info("Build queued for slot: deploymentId={}, position={}, active={}/{}",
+                    deploymentId, waiting.size(), active.size(), maxSlots);
+        }
+        dispatch();
+    }
+
+    /**
+     * 재시작 후 이미 생성된 빌드 Job에 재연결하는 경우. 제한과 무관하게 슬롯을 점유한 것으로 기록한다.
+     */
+    public synchronized void occupy(Long deploymentId) {
+        active.putIfAbsent(deploymentId, null);
+    }
+
+    /**
+     * 대기 중인 배포를 슬롯 없이 대기열에서 꺼내 콜백을 실행 (대체된 배포가 자기 차례를 기다리지 않고 바로 종료되도록).
+     */
+    public void withdraw(Long deploymentId) {
+        Waiting withdrawn = null;
+        synchronized (this) {
+            Iterator<Waiting> it = waiting.iterator();
+            while (it.hasNext()) {
+                Waiting w = it.next();
+                if (w.deploymentId().equals(deploymentId)) {
+                    it.remove();
+                    withdrawn = w;
+                    break;
+                }
+            }
+        }
+        if (withdrawn != null) {
+            log.info("Build slot wait withdrawn: deploymentId={}", deploymentId);
+            run(withdrawn);
+        }
+    }
+
+    public void release(Long deploymentId) {
+        synchronized (this) {
+            if (!active.containsKey(deploymentId)) {
+                return;
+            }
+            active.remove(deploymentId);
+            log.info("Build slot released: deploymentId={}, active={}/{}", deploymentId, active.size(), maxSlots);
+        }
+        dispatch();
+    }
+
+    @EventListener
+    public void onPipelineFinished(DeploymentPipelineFinishedEvent event) {
+        release(event.deploymentId());
+    }
+
+    /**
+     * 대기 순서 (1부터 시작). 대기 중이 아니면 null.
+     */
+    public synchronized Integer getQueuePosition(Long deploymentId) {
+        int position = 1;
+        for (Waiting w : waiting) {
+            if (w.deploymentId().equals(deploymentId)) {
+                return position;
+            }
+            position++;
+        }
+        return null;
+    }
+
+    private void dispatch() {
+        List<Waiting> granted = new ArrayList<>();
+        synchronized (this) {
+            // 앞선 대형 빌드가 계속 밀리지 않도록 순서를 건너뛰지 않는다 (FIFO)
+            while (!waiting.isEmpty() && hasCapacity(waiting.peekFirst().profile())) {
+                Waiting next = waiting.pollFirst();
+                active.put(next.deploymentId(), next.profile());
+                granted.add(next);
+                log.info("Build slot granted: deploymentId={}, active={}/{}, waiting={}",
+                        next.deploymentId(), active.size(), maxSlots, waiting.size());
+            }
+        }
+        granted.forEach(this::run);
+    }
+
+    private boolean hasCapacity(BuildProfile profile) {
+        if (active.size() >= maxSlots) {
+            return false;
+        }
+        return !resourceAware || buildNodeCapacity.fits(profile, active);
+    }
+
+    private void run(Waiting waiting) {
+        try {
+            waiting.onGranted().run();
+        } catch (Exception e) {
+            log.error("Build slot callback failed: deploymentId={}, error={}", waiting.deploymentId(), e.getMessage(), e);
+            release(waiting.deploymentId());
+        }
+    }
+
+    private record Waiting(Long deploymentId, BuildProfile profile, Runnable onGranted) {
+    }
+}
@@ -0,0 +1,460 @@
+package klepaas.backend.deployment.service;
+
+import jakarta.annotation.PreDestroy;
+import klepaas.backend.deployment.dto.DeploymentLogResponse;
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.event.DeploymentPipelineFinishedEvent;
+import klepaas.backend.global.websocket.WebSocketNotificationService;
+import klepaas.backend.infra.CloudInfraProvider;
+import klepaas.backend.infra.CloudInfraProviderFactory;
+import klepaas.backend.infra.dto.BuildLogLine;
+import klepaas.backend.infra.dto.BuildResult;
+import klepaas.backend.infra.storage.LogArchiveStore;
+import klepaas.backend.infra.storage.LogArchiveStore.Chunk;
+import klepaas.backend.infra.storage.LogArchiveStore.Index;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 빌드/롤아웃 로그 라이브 스트리밍과 아카이브.
+ * - 빌드 Pod 컨테이너 로그와 롤아웃 진행 줄을 배포별 버퍼에 offset(0부터 증가하는 줄 번호)과 함께 보관
+ * - flush 주기마다 새 줄을 한 번에 묶어 deployment_log WebSocket 프레임으로 전송 (느린 클라이언트는 최신 줄만 받고 누락 수를 전달)
+ * - 일정 줄 수마다 gzip 청크로 Object Storage에 올리고, 파이프라인이 끝나면 청크 인덱스를 기록
+ * - REST 조회는 같은 offset 기준으로 메모리 버퍼 → 아카이브 청크 → 빌드 Pod 순으로 필요한 범위만 읽는다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeploymentLogService {
+
+    private final CloudInfraProviderFactory infraProviderFactory;
+    private final WebSocketNotificationService wsNotificationService;
+    private final LogArchiveStore logArchiveStore;
+    private final TaskScheduler pipelineScheduler;
+
+    @Qualifier("buildLogExecutor")
+    private final Executor buildLogExecutor;
+
+    // 배포별 메모리 보관 줄 수 (아카이브된 줄부터 버림)
+    @Value("${deployment.logs.buffer-lines:10000}")
+    private int bufferLines;
+
+    @Value("${deployment.logs.ws-flush-interval:500}")
+    private long flushInterval;
+
+    // flush 한 번에 보내는 최대 줄 수. 더 쌓였으면 최신 줄만 보내고 나머지는 dropped로 알린다
+    @Value("${deployment.logs.ws-max-batch-lines:500}")
+    private int maxBatchLines;
+
+    // 빌드가 끝난 뒤 Job 완료 이벤트보다 늦게 도착하는 로그를 기다리는 시간
+    @Value("${deployment.logs.drain-timeout:10000}")
+    private long drainTimeout;
+
+    // 아카이브 후 버퍼 보관 시간 (이후에는 아카이브에서 조회)
+    @Value("${deployment.logs.retention:1800000}")
+    private long retention;
+
+    // REST 조회 한 번에 반환하는 최대 줄 수
+    @Value("${deployment.logs.max-read-lines:5000}")
+    private int maxReadLines;
+
+    @Value("${deployment.logs.archive.enabled:true}")
+    private boolean archiveEnabled;
+
+    // 청크 하나의 최대 줄 수 / 압축 전 크기
+    @Value("${deployment.logs.archive.chunk-lines:2000}")
+    private int chunkLines;
+
+    @Value("${deployment.logs.archive.chunk-bytes:1048576}")
+    private long chunkBytes;
+
+    private static final int DEFAULT_READ_LINES = 1000;
+
+    private final Map<Long, LogBuffer> buffers = new ConcurrentHashMap<>();
+
+    private ScheduledFuture<?> flusher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flusher = pipelineScheduler.scheduleWithFixedDelay(this::flushAll, Duration.ofMillis(flushInterval));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.cancel(false);
+        }
+        buffers.values().forEach(LogBuffer::close);
+    }
+
+    /**
+     * 빌드 로그 구독 시작 (재시작 후 재연결 시에는 처음부터 다시 받고 아카이브 청크도 다시 쓴다)
+     */
+    public void follow(Long deploymentId, Long userId, CloudInfraProvider provider, BuildResult buildResult) {
+        LogBuffer buffer = new LogBuffer(deploymentId, userId, false);
+        LogBuffer previous = buffers.put(deploymentId, buffer);
+        if (previous != null) {
+            previous.close();
+        }
+
+        try {
+            buffer.attach(provider.followBuildLogs(buildResult.trackingUrl(), buildResult.externalBuildId(),
+                    line -> buffer.append(format(line)),
+                    () -> streamFinished(buffer)));
+        } catch (Exception e) {
+            // 로그 스트림 실패는 빌드 진행에 영향을 주지 않는다 (REST 조회는 빌드 Pod에서 직접 읽는다)
+            log.warn("Build log streaming unavailable: deploymentId={}, error={}", deploymentId, e.getMessage());
+            buffers.remove(deploymentId, buffer);
+        }
+    }
+
+    /**
+     * 파이프라인이 직접 남기는 로그 한 줄 (롤아웃 진행 등). 빌드 로그 버퍼가 없으면(빌드 생략) 새로 만든다
+     */
+    public void append(Long deploymentId, Long userId, String source, String line) {
+        LogBuffer buffer = buffers.computeIfAbsent(deploymentId, id -> new LogBuffer(id, userId, true));
+        buffer.append(format(new BuildLogLine(source, line)));
+    }
+
+    /**
+     * 빌드 완료 후 호출. 남은 로그를 잠시 더 받은 뒤 스트림을 닫는다 (정상 종료된 스트림에는 영향 없음)
+     */
+    public void finishFollowing(Long deploymentId) {
+        LogBuffer buffer = buffers.get(deploymentId);
+        if (buffer != null) {
+            pipelineScheduler.schedule(buffer::close, Instant.now().plusMillis(drainTimeout));
+        }
+    }
+
+    @EventListener
+    public void onPipelineFinished(DeploymentPipelineFinishedEvent event) {
+        LogBuffer buffer = buffers.get(event.deploymentId());
+        if (buffer != null && buffer.markPipelineDone()) {
+            archive(buffer);
+        }
+    }
+
+    /**
+     * @param offset 첫 줄 offset (이전 응답의 nextOffset을 넘기면 이어서 받는다)
+     * @param limit  최대 줄 수
+     * @param tail   지정하면 offset 대신 마지막 tail줄
+     */
+    public DeploymentLogResponse getLogs(Deployment deployment, Long offset, Integer limit, Integer tail) {
+        int max = Math.clamp(limit != null ? limit : DEFAULT_READ_LINES, 1, maxReadLines);
+        Integer tailLines = tail != null ? Math.clamp(tail, 0, maxReadLines) : null;
+        long from = offset != null ? Math.max(0, offset) : 0;
+
+        LogBuffer buffer = buffers.get(deployment.getId());
+        if (buffer != null) {
+            return buffer.read(from, max, tailLines);
+        }
+
+        Optional<Index> index = readArchiveIndex(deployment.getId());
+        if (index.isPresent()) {
+            long total = index.get().totalLines();
+            long[] range = range(total, from, max, tailLines);
+            List<String> lines = logArchiveStore.readLines(index.get(), range[0], range[1]);
+            return new DeploymentLogResponse(deployment.getId(), lines, range[0], range[1], total, false);
+        }
+
+        // 아카이브가 없으면 (아카이브 이전 배포, 아카이브 실패) 빌드 Pod에서 같은 순서로 다시 읽어 offset을 맞춘다
+        if (deployment.getExternalBuildId() == null) {
+            return new DeploymentLogResponse(deployment.getId(), List.of(), 0, 0, 0, false);
+        }
+        CloudInfraProvider provider = infraProviderFactory.getProvider(
+                deployment.getSourceRepository().getCloudVendor());
+        List<String> lines = provider.getBuildLogs(deployment.getBuildTrackingId(), deployment.getExternalBuildId())
+                .stream()
+                .map(DeploymentLogService::format)
+                .toList();
+        long[] range = range(lines.size(), from, max, tailLines);
+        return new DeploymentLogResponse(deployment.getId(), lines.subList((int) range[0], (int) range[1]),
+                range[0], range[1], lines.size(), false);
+    }
+
+    void flushAll() {
+        for (LogBuffer buffer : buffers.values()) {
+            try {
+                buffer.flush();
+            } catch (Exception e) {
+                log.warn("Build log flush failed: deploymentId={}, error={}", buffer.deploymentId, e.getMessage());
+            }
+        }
+    }
+
+    private void streamFinished(LogBuffer buffer) {
+        if (buffer.markStreamDone()) {
+            archive(buffer);
+        }
+    }
+
+    /**
+     * 스트림과 파이프라인이 모두 끝나면 남은 줄을 마지막 청크로 올리고 인덱스를 기록한 뒤 보관 기간 후 버퍼를 비운다
+     */
+    private void archive(LogBuffer buffer) {
+        try {
+            buildLogExecutor.execute(() -> {
+                if (archiveEnabled) {
+                    buffer.archiveRemaining();
+                }
+                scheduleRemoval(buffer);
+            });
+        } catch (RejectedExecutionException e) {
+            // 파이프라인 종료 이벤트 리스너에서 호출되므로 예외를 넘기지 않는다 (뒤 리스너의 슬롯 반환이 건너뛰어짐).
+            // 아카이브는 생략하고 보관 기간 동안 버퍼에서, 이후에는 빌드 Pod에서 조회한다
+            log.warn("Build log archive skipped (executor saturated): deploymentId={}", buffer.deploymentId);
+            scheduleRemoval(buffer);
+        }
+    }
+
+    private void scheduleRemoval(LogBuffer buffer) {
+        pipelineScheduler.schedule(() -> buffers.remove(buffer.deploymentId, buffer),
+                Instant.now().plusMillis(retention));
+    }
+
+    private Optional<Index> readArchiveIndex(Long deploymentId) {
+        if (!archiveEnabled) {
+            return Optional.empty();
+        }
+        try {
+            return logArchiveStore.readIndex(deploymentId);
+        } catch (Exception e) {
+            log.warn("Log archive index unavailable: deploymentId={}, error={}", deploymentId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 조회 범위 [from, to)
+     */
+    private static long[] range(long total, long offset, int limit, Integer tail) {
+        if (tail != null) {
+            return new long[]{Math.max(0, total - tail), total};
+        }
+        long from = Math.min(offset, total);
+        return new long[]{from, Math.min(total, from + limit)};
+    }
+
+    private static String format(BuildLogLine line) {
+        return "[" + line.container() + "] " + line.line();
+    }
+
+    private final class LogBuffer {
+
+        private final Long deploymentId;
+        private final Long userId;
+        private final Deque<String> lines = new ArrayDeque<>();
+
+        /** lines 첫 줄의 offset */
+        private long firstOffset;
+        /** 다음에 추가될 줄의 offset */
+        private long nextOffset;
+        /** WebSocket으로 보냈거나 건너뛴 마지막 offset 다음 */
+        private long sentOffset;
+        /** 아카이브 청크로 올라간 마지막 offset 다음 */
+        private long archivedOffset;
+        /** 아직 청크로 올리지 않은 줄의 압축 전 크기 */
+        private long pendingBytes;
+        private final List<Chunk> chunks = new ArrayList<>();
+        /** 청크 업로드 직렬화 (빌드 로그 스트림과 파이프라인 스레드가 함께 쓸 수 있음) */
+        private final Object archiveLock = new Object();
+        private boolean archiveFailed;
+        private boolean streamDone;
+        private boolean pipelineDone;
+
+        private volatile AutoCloseable stream;
+        private volatile boolean closed;
+
+        private LogBuffer(Long deploymentId, Long userId, boolean streamDone) {
+            this.deploymentId = deploymentId;
+            this.userId = userId;
+            this.streamDone = streamDone;
+        }
+
+        /**
+         * 청크 업로드는 줄을 추가한 스레드에서 진행한다 (빌드 로그 스트림 또는 파이프라인)
+         */
+        private void append(String line) {
+            boolean chunkFull;
+            synchronized (this) {
+                lines.addLast(line);
+                nextOffset++;
+                pendingBytes += line.length() + 1;
+                chunkFull = archiveEnabled && !archiveFailed
+                        && (nextOffset - archivedOffset >= chunkLines || pendingBytes >= chunkBytes);
+                trim();
+            }
+            if (chunkFull) {
+                archivePending();
+            }
+        }
+
+        /**
+         * 아카이브된 줄만 메모리에서 버린다 (아카이브를 쓰지 않으면 오래된 줄부터)
+         */
+        private void trim() {
+            boolean archiving = archiveEnabled && !archiveFailed;
+            while (lines.size() > bufferLines && (!archiving || firstOffset < archivedOffset)) {
+                lines.pollFirst();
+                firstOffset++;
+            }
+        }
+
+        private void archivePending() {
+            synchronized (archiveLock) {
+                long from;
+                List<String> pending;
+                int chunkNo;
+                synchronized (this) {
+                    from = archivedOffset;
+                    if (archiveFailed || from >= nextOffset) {
+                        return;
+                    }
+                    pending = lines.stream().skip(from - firstOffset).toList();
+                    chunkNo = chunks.size();
+                }
+                try {
+                    Chunk chunk = logArchiveStore.writeChunk(deploymentId, chunkNo, from, pending);
+                    synchronized (this) {
+                        chunks.add(chunk);
+                        archivedOffset = chunk.endOffset();
+                        pendingBytes = 0;
+                        trim();
+                    }
+                } catch (Exception e) {
+                    log.warn("Log archive chunk upload failed, archiving disabled for deployment: deploymentId={}, error={}",
+                            deploymentId, e.getMessage());
+                    synchronized (this) {
+                        archiveFailed = true;
+                        trim();
+                    }
+                }
+            }
+        }
+
+        private void archiveRemaining() {
+            archivePending();
+            Index index;
+            synchronized (this) {
+                if (archiveFailed) {
+                    return;
+                }
+                index = new Index(deploymentId, archivedOffset, List.copyOf(chunks));
+            }
+            try {
+                logArchiveStore.writeIndex(index);
+                log.info("Deployment logs archived: deploymentId={}, lines={}, chunks={}",
+                        deploymentId, index.totalLines(), index.chunks().size());
+            } catch (Exception e) {
+                log.warn("Log archive index upload failed: deploymentId={}, error={}", deploymentId, e.getMessage());
+            }
+        }
+
+        private void flush() {
+            long from;
+            long to;
+            long dropped;
+            List<String> batch;
+            synchronized (this) {
+                if (sentOffset >= nextOffset) {
+                    return;
+                }
+                from = Math.max(sentOffset, firstOffset);
+                to = nextOffset;
+                if (to - from > maxBatchLines) {
+                    from = to - maxBatchLines;
+                }
+                dropped = from - sentOffset;
+                batch = lines.stream().skip(from - firstOffset).toList();
+                sentOffset = to;
+            }
+            wsNotificationService.sendDeploymentLog(deploymentId, userId, from, to, batch, dropped);
+        }
+
+        private DeploymentLogResponse read(long offset, int limit, Integer tail) {
+            long from;
+            long to;
+            long total;
+            Index archived;
+            List<String> memory;
+            boolean streaming;
+            synchronized (this) {
+                total = nextOffset;
+                long[] range = range(total, offset, limit, tail);
+                from = range[0];
+                to = range[1];
+                // 메모리에서 버려진 앞부분은 이미 올라간 청크에서 읽는다
+                boolean fromArchive = from < firstOffset && !archiveFailed && !chunks.isEmpty();
+                if (!fromArchive && from < firstOffset) {
+                    from = firstOffset;
+                    to = tail != null ? total : Math.min(total, from + limit);
+                }
+                archived = fromArchive ? new Index(deploymentId, archivedOffset, List.copyOf(chunks)) : null;
+                long memoryFrom = fromArchive ? Math.max(firstOffset, Math.min(to, archivedOffset)) : from;
+                memory = lines.stream().skip(memoryFrom - firstOffset).limit(Math.max(0, to - memoryFrom)).toList();
+                streaming = !streamDone;
+            }
+
+            List<String> result = memory;
+            if (archived != null) {
+                result = new ArrayList<>(logArchiveStore.readLines(archived, from, Math.min(to, archived.totalLines())));
+                result.addAll(memory);
+            }
+            return new DeploymentLogResponse(deploymentId, result, from, to, total, streaming);
+        }
+
+        /**
+         * @return 파이프라인도 이미 끝나 아카이브할 차례면 true
+         */
+        private synchronized boolean markStreamDone() {
+            streamDone = true;
+            return pipelineDone;
+        }
+
+        /**
+         * @return 스트림도 이미 끝나 아카이브할 차례면 true
+         */
+        private synchronized boolean markPipelineDone() {
+            pipelineDone = true;
+            return streamDone;
+        }
+
+        private void attach(AutoCloseable stream) {
+            this.stream = stream;
+            if (closed) {
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            AutoCloseable current = stream;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (Exception e) {
+                    log.debug("Build log stream close failed: deploymentId={}, error={}", deploymentId, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -1,20 +1,47 @@
 package klepaas.backend.deployment.service;
 
+import klepaas.backend.deployment.entity.BuildProfile;
 import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.PipelineCheckpoint;
+import klepaas.backend.deployment.entity.PipelineStage;
+import klepaas.backend.deployment.event.DeploymentPipelineFinishedEvent;
+import klepaas.backend.deployment.event.PipelineStageCompletedEvent;
 import klepaas.backend.deployment.repository.DeploymentRepository;
 import klepaas.backend.global.exception.BusinessException;
 import klepaas.backend.global.exception.ErrorCode;
 import klepaas.backend.global.websocket.WebSocketNotificationService;
 import klepaas.backend.infra.CloudInfraProvider;
 import klepaas.backend.infra.CloudInfraProviderFactory;
+import klepaas.backend.infra.dto.BuildCacheStats;
 import klepaas.backend.infra.dto.BuildResult;
 import klepaas.backend.infra.dto.BuildStatusResult;
+import klepaas.backend.infra.dto.BuildTimings;
+import klepaas.backend.infra.dto.RolloutProgress;
+import klepaas.backend.infra.dto.RolloutTarget;
+import klepaas.backend.infra.kubernetes.RolloutWatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -24,88 +51,424 @@ public class DeploymentPipelineService {
     private final DeploymentRepository deploymentRepository;
     private final CloudInfraProviderFactory infraProviderFactory;
     private final WebSocketNotificationService wsNotificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BuildSlotGovernor buildSlotGovernor;
+    private final DeploymentLogService deploymentLogService;
+    private final RolloutWatcher rolloutWatcher;
 
-    @Value("${deployment.pipeline.poll-initial-interval:10000}")
-    private long pollInitialInterval;
+    @Qualifier("deployExecutor")
+    private final Executor deployExecutor;
+    private final TaskScheduler pipelineScheduler;
 
-    @Value("${deployment.pipeline.poll-max-interval:60000}")
-    private long pollMaxInterval;
+    @Value("${deployment.pipeline.build-reconcile-interval:60000}")
+    private long buildReconcileInterval;
 
     @Value("${deployment.pipeline.build-timeout:1800000}")
     private long buildTimeout;
 
+    // Deployment progressDeadlineSeconds 초과가 감지되지 않을 때(informer 장애 등)를 대비한 롤아웃 대기 상한
+    @Value("${deployment.pipeline.rollout-timeout:900000}")
+    private long rolloutTimeout;
+
     /**
      * 비동기 배포 파이프라인 실행.
+     * 빌드 트리거 후 스레드를 반환하고, 빌드 완료 이벤트(Job watch) 콜백에서 K8s 배포를 이어서 진행.
      * WS 알림은 트랜잭션 외부에서 전송 (각 step 메서드 호출 전/후).
      */
     @Async("deployExecutor")
     public void executePipeline(Long deploymentId) {
         log.info("Pipeline started: deploymentId={}", deploymentId);
+        runPipeline(deploymentId, true);
+    }
+
+    /**
+     * 백엔드 재시작 후 진행 중이던 배포 재개.
+     * 저장된 체크포인트 이후 단계부터 실행하며, 이미 생성된 빌드 Job은 재빌드 없이 다시 구독한다.
+     */
+    @Async("deployExecutor")
+    public void resumePipeline(Long deploymentId) {
+        log.info("Pipeline resuming: deploymentId={}", deploymentId);
+        runPipeline(deploymentId, false);
+    }
+
+    private void runPipeline(Long deploymentId, boolean recordQueueWait) {
         Long userId = deploymentRepository.findUserIdByDeploymentId(deploymentId).orElse(null);
 
         try {
-            // 1. 소스 업로드
-            notifyWs(deploymentId, userId, "UPLOADING", "in_progress", 10, "소스 코드 업로드 중...");
-            String storageKey = stepService.executeUpload(deploymentId);
+            Deployment deployment = getDeployment(deploymentId);
+            if (recordQueueWait) {
+                publishStage(deploymentId, PipelineStage.QUEUE, deployment.getStartedAt(), LocalDateTime.now(), true);
+            }
 
-            // 2. 빌드 트리거
-            notifyWs(deploymentId, userId, "BUILDING", "in_progress", 30, "컨테이너 이미지 빌드 중...");
-            BuildResult buildResult = stepService.executeBuildTrigger(deploymentId, storageKey);
+            if (deployment.hasPassed(PipelineCheckpoint.IMAGE_BUILT)) {
+                log.info("Build skipped, deploying stored image: deploymentId={}, imageUri={}",
+                        deploymentId, deployment.getImageUri());
+                deployAndComplete(deploymentId, userId, deployment.getImageUri());
+                return;
+            }
 
-            // 3. 빌드 폴링
-            BuildStatusResult statusResult = pollBuildStatus(deploymentId, buildResult);
+            // 1. 소스 업로드 (레지스트리에 같은 커밋 이미지가 있으면 업로드/빌드 생략)
+            String storageKey = deployment.getStorageObjectKey();
+            if (!deployment.hasPassed(PipelineCheckpoint.SOURCE_UPLOADED)) {
+                Optional<String> existingImage = timed(deploymentId, PipelineStage.IMAGE_LOOKUP,
+                        () -> stepService.findExistingImage(deploymentId));
+                if (existingImage.isPresent()) {
+                    deployAndComplete(deploymentId, userId, existingImage.get());
+                    return;
+                }
 
-            // 4. K8s 배포
-            notifyWs(deploymentId, userId, "DEPLOYING", "in_progress", 70, "Kubernetes에 배포 중...");
-            stepService.executeK8sDeploy(deploymentId, statusResult.imageUri());
+                notifyWs(deploymentId, userId, "UPLOADING", "in_progress", 10, "소스 코드 업로드 중...");
+                storageKey = stepService.executeUpload(deploymentId);
+            }
+
+            // 2. 빌드 트리거 (이미 생성된 Job이 있으면 재연결)
+            BuildResult buildResult = null;
+            if (deployment.hasPassed(PipelineCheckpoint.BUILD_TRIGGERED)) {
+                buildResult = reattachBuild(deployment);
+            } else {
+                // build context가 이전 성공 배포와 같으면 빌드 없이 그 이미지를 재사용
+                Optional<String> sameContextImage = stepService.findImageByContextHash(deploymentId);
+                if (sameContextImage.isPresent()) {
+                    deployAndComplete(deploymentId, userId, sameContextImage.get());
+                    return;
+                }
+            }
+            if (buildResult != null) {
+                // 재연결한 Job은 이미 실행 중이므로 admission 없이 슬롯 점유로 기록
+                buildSlotGovernor.occupy(deploymentId);
+                awaitBuildCompletion(deploymentId, userId, buildResult);
+                return;
+            }
 
-            // 5. 성공 처리
-            stepService.markSuccess(deploymentId);
-            notifyWs(deploymentId, userId, "SUCCESS", "completed", 100, "배포가 완료되었습니다.");
-            log.info("Pipeline completed successfully: deploymentId={}", deploymentId);
+            // 3. 빌드 슬롯 확보 후 빌드 트리거 (슬롯이 없으면 QUEUED_FOR_BUILD로 대기하고 스레드 반환)
+            admitBuild(deploymentId, userId, storageKey);
 
         } catch (Exception e) {
-            log.error("Pipeline failed: deploymentId={}, error={}", deploymentId, e.getMessage(), e);
-            stepService.markFailed(deploymentId, e.getMessage());
-            notifyWs(deploymentId, userId, "FAILED", "failed", 0, "배포 실패: " + e.getMessage());
+            handleFailure(deploymentId, userId, e);
         }
     }
 
-    private BuildStatusResult pollBuildStatus(Long deploymentId, BuildResult buildResult) {
-        Deployment deployment = deploymentRepository.findById(deploymentId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.DEPLOYMENT_NOT_FOUND));
-        CloudInfraProvider provider = infraProviderFactory.getProvider(
-                deployment.getSourceRepository().getCloudVendor());
-
-        long interval = pollInitialInterval;
-        long elapsed = 0;
+    private void admitBuild(Long deploymentId, Long userId, String storageKey) {
+        BuildProfile profile = stepService.resolveBuildProfile(deploymentId);
+        if (buildSlotGovernor.tryAcquire(deploymentId, profile)) {
+            startBuild(deploymentId, userId, storageKey);
+            return;
+        }
 
-        while (elapsed < buildTimeout) {
+        LocalDateTime queuedAt = LocalDateTime.now();
+        stepService.markQueuedForBuild(deploymentId);
+        buildSlotGovernor.enqueue(deploymentId, profile, () -> {
+            Runnable resume = () -> {
+                try {
+                    publishStage(deploymentId, PipelineStage.BUILD_ADMISSION, queuedAt, LocalDateTime.now(), true);
+                    startBuild(deploymentId, userId, storageKey);
+                } catch (Exception e) {
+                    handleFailure(deploymentId, userId, e);
+                }
+            };
             try {
-                Thread.sleep(interval);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new BusinessException(ErrorCode.BUILD_FAILED, "빌드 폴링 중단됨");
+                deployExecutor.execute(resume);
+            } catch (RejectedExecutionException e) {
+                handleFailure(deploymentId, userId, e);
             }
+        });
+
+        Integer position = buildSlotGovernor.getQueuePosition(deploymentId);
+        if (position != null) {
+            notifyWs(deploymentId, userId, "QUEUED_FOR_BUILD", "in_progress", 25,
+                    "빌드 슬롯 대기 중... (대기 순서 " + position + ")");
+        }
+    }
+
+    private void startBuild(Long deploymentId, Long userId, String storageKey) {
+        notifyWs(deploymentId, userId, "BUILDING", "in_progress", 30, "컨테이너 이미지 빌드 중...");
+        BuildResult buildResult = timed(deploymentId, PipelineStage.BUILD_TRIGGER,
+                () -> stepService.executeBuildTrigger(deploymentId, storageKey));
 
-            elapsed += interval;
+        // 빌드 트리거 커밋 전에 대체됐으면 대체 처리 쪽은 Job을 알 수 없었으므로 여기서 취소 (완료 구독이 대체 종료로 정리)
+        if (stepService.isSuperseded(deploymentId)) {
+            log.info("Build superseded while triggering, canceling: deploymentId={}, buildId={}",
+                    deploymentId, buildResult.externalBuildId());
+            Deployment deployment = getDeployment(deploymentId);
+            cancelBuild(deploymentId, infraProviderFactory.getProvider(
+                    deployment.getSourceRepository().getCloudVendor()), buildResult);
+        }
+
+        // 4. 빌드 완료 구독 — 완료 시 deployExecutor에서 이어서 실행
+        awaitBuildCompletion(deploymentId, userId, buildResult);
+    }
+
+    /**
+     * 체크포인트에 기록된 빌드 Job 재연결. Job이 사라졌으면 null을 반환해 업로드된 소스로 다시 빌드한다.
+     */
+    private BuildResult reattachBuild(Deployment deployment) {
+        BuildResult buildResult = new BuildResult(
+                deployment.getExternalBuildId(), deployment.getBuildTrackingId(), deployment.getImageUri());
+        CloudInfraProvider provider = infraProviderFactory.getProvider(
+                deployment.getSourceRepository().getCloudVendor());
+
+        try {
             BuildStatusResult status = provider.getBuildStatus(buildResult.trackingUrl(), buildResult.externalBuildId());
+            log.info("Re-attached to build: deploymentId={}, buildId={}, status={}",
+                    deployment.getId(), buildResult.externalBuildId(), status.message());
+            return buildResult;
+        } catch (BusinessException e) {
+            log.warn("Build not found on resume, rebuilding from stored source: deploymentId={}, buildId={}, reason={}",
+                    deployment.getId(), buildResult.externalBuildId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void awaitBuildCompletion(Long deploymentId, Long userId, BuildResult buildResult) {
+        Deployment deployment = getDeployment(deploymentId);
+        CloudInfraProvider provider = infraProviderFactory.getProvider(
+                deployment.getSourceRepository().getCloudVendor());
 
-            log.debug("Build polling: deploymentId={}, elapsed={}ms, status={}", deploymentId, elapsed, status.message());
+        LocalDateTime watchStartedAt = LocalDateTime.now();
+        deploymentLogService.follow(deploymentId, userId, provider, buildResult);
+        CompletableFuture<BuildStatusResult> completion = provider
+                .watchBuildCompletion(buildResult.trackingUrl(), buildResult.externalBuildId())
+                .orTimeout(buildTimeout, TimeUnit.MILLISECONDS);
 
-            if (status.completed()) {
-                if (status.success()) {
-                    log.info("Build succeeded: deploymentId={}, imageUri={}", deploymentId, buildResult.imageUri());
-                    return new BuildStatusResult(true, true, buildResult.imageUri(), status.message());
+        // Pod 조기 실패는 informer가 즉시 감지하므로, watch 이벤트 유실 대비 저빈도 재확인만 수행
+        ScheduledFuture<?> reconcile = pipelineScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                BuildStatusResult status = provider.getBuildStatus(
+                        buildResult.trackingUrl(), buildResult.externalBuildId());
+                if (status.completed()) {
+                    completion.complete(status);
                 }
-                throw new BusinessException(ErrorCode.BUILD_FAILED, "빌드 실패: " + status.message());
+            } catch (Exception e) {
+                completion.completeExceptionally(e);
+            }
+        }, Instant.now().plusMillis(buildReconcileInterval), Duration.ofMillis(buildReconcileInterval));
+
+        // whenCompleteAsync는 executor 거절 시 콜백을 조용히 버리므로 직접 넘기고, 거절되면 슬롯·Job을 정리해 실패 처리
+        completion.whenComplete((status, error) -> {
+            reconcile.cancel(false);
+            try {
+                deployExecutor.execute(() -> onBuildCompleted(
+                        deploymentId, userId, provider, buildResult, watchStartedAt, status, error));
+            } catch (RejectedExecutionException e) {
+                deploymentLogService.finishFollowing(deploymentId);
+                cancelBuild(deploymentId, provider, buildResult);
+                buildSlotGovernor.release(deploymentId);
+                handleFailure(deploymentId, userId, e);
             }
+        });
 
-            // Exponential backoff: 10s → 20s → 40s → 60s (cap)
-            interval = Math.min(interval * 2, pollMaxInterval);
+        log.info("Awaiting build completion: deploymentId={}, buildId={}",
+                deploymentId, buildResult.externalBuildId());
+    }
+
+    private void onBuildCompleted(Long deploymentId, Long userId, CloudInfraProvider provider, BuildResult buildResult,
+                                  LocalDateTime watchStartedAt, BuildStatusResult status, Throwable error) {
+        boolean succeeded = error == null && status != null && status.success();
+        deploymentLogService.finishFollowing(deploymentId);
+        recordBuildStages(deploymentId, provider, buildResult, watchStartedAt, succeeded);
+        if (!succeeded) {
+            // 타임아웃·조회 오류로 끝났어도 Job이 계속 돌며 노드 자원을 쓰지 않도록 정리한 뒤 슬롯 반환
+            cancelBuild(deploymentId, provider, buildResult);
         }
+        buildSlotGovernor.release(deploymentId);
+        resumeAfterBuild(deploymentId, userId, buildResult, status, error);
+    }
 
-        throw new BusinessException(ErrorCode.BUILD_TIMEOUT, "빌드 타임아웃: " + buildTimeout + "ms 초과");
+    private void cancelBuild(Long deploymentId, CloudInfraProvider provider, BuildResult buildResult) {
+        try {
+            provider.cancelBuild(buildResult.trackingUrl(), buildResult.externalBuildId());
+        } catch (Exception e) {
+            log.warn("Failed to cancel build: deploymentId={}, buildId={}, error={}",
+                    deploymentId, buildResult.externalBuildId(), e.getMessage());
+        }
+    }
+
+    private void resumeAfterBuild(Long deploymentId, Long userId, BuildResult buildResult,
+                                  BuildStatusResult status, Throwable error) {
+        try {
+            String imageUri = resolveBuiltImage(deploymentId, buildResult, status, error);
+            stepService.markImageBuilt(deploymentId, imageUri);
+            deployAndComplete(deploymentId, userId, imageUri);
+        } catch (Exception e) {
+            handleFailure(deploymentId, userId, e);
+        }
+    }
+
+    private void deployAndComplete(Long deploymentId, Long userId, String imageUri) {
+        // 5. K8s 배포
+        notifyWs(deploymentId, userId, "DEPLOYING", "in_progress", 70, "Kubernetes에 배포 중...");
+        RolloutTarget target = timed(deploymentId, PipelineStage.K8S_DEPLOY,
+                () -> stepService.executeK8sDeploy(deploymentId, imageUri));
+
+        // 6. 롤아웃 완료 구독 — 새 Pod가 모두 준비되면 deployExecutor에서 성공 처리
+        notifyWs(deploymentId, userId, "ROLLING_OUT", "in_progress", 80, "새 Pod 준비 대기 중...");
+        LocalDateTime rolloutStartedAt = LocalDateTime.now();
+        rolloutWatcher.watch(target, progress -> notifyRollout(deploymentId, userId, progress))
+                .orTimeout(rolloutTimeout, TimeUnit.MILLISECONDS)
+                .whenComplete((progress, error) -> {
+                    try {
+                        deployExecutor.execute(() -> onRolloutCompleted(deploymentId, userId, rolloutStartedAt, error));
+                    } catch (RejectedExecutionException e) {
+                        // 거절된 콜백이 버려지면 DEPLOYING에 머물고 완료 이벤트도 없어 스케줄러 슬롯이 풀리지 않는다
+                        handleFailure(deploymentId, userId, e);
+                    }
+                });
+
+        log.info("Awaiting rollout: deploymentId={}, app={}, generation={}",
+                deploymentId, target.appName(), target.generation());
+    }
+
+    private void onRolloutCompleted(Long deploymentId, Long userId, LocalDateTime rolloutStartedAt, Throwable error) {
+        publishStage(deploymentId, PipelineStage.ROLLOUT, rolloutStartedAt, LocalDateTime.now(), error == null);
+        if (error != null) {
+            handleFailure(deploymentId, userId, toRolloutFailure(error));
+            return;
+        }
+        try {
+            completeSuccess(deploymentId, userId);
+        } catch (Exception e) {
+            handleFailure(deploymentId, userId, e);
+        }
+    }
+
+    private void completeSuccess(Long deploymentId, Long userId) {
+        // 7. 성공 처리
+        stepService.markSuccess(deploymentId);
+        recordTotal(deploymentId, true);
+        notifyWs(deploymentId, userId, "SUCCESS", "completed", 100, "배포가 완료되었습니다.");
+        log.info("Pipeline completed successfully: deploymentId={}", deploymentId);
+        eventPublisher.publishEvent(new DeploymentPipelineFinishedEvent(deploymentId));
+    }
+
+    /**
+     * 롤아웃 진행 상황을 WS로 알리고 배포 로그에도 남긴다 (진행률 80~99%)
+     */
+    private void notifyRollout(Long deploymentId, Long userId, RolloutProgress progress) {
+        String message = "롤아웃 진행 중... (업데이트 " + progress.updatedReplicas() + "/" + progress.desiredReplicas()
+                + ", 준비 " + progress.readyReplicas() + "/" + progress.desiredReplicas()
+                + ", 사용 가능 " + progress.availableReplicas() + "/" + progress.desiredReplicas() + ")";
+        int percent = progress.desiredReplicas() > 0
+                ? 80 + 19 * Math.min(progress.availableReplicas(), progress.desiredReplicas()) / progress.desiredReplicas()
+                : 99;
+        notifyWs(deploymentId, userId, "ROLLING_OUT", "in_progress", percent, message);
+        try {
+            deploymentLogService.append(deploymentId, userId, "rollout", message);
+        } catch (Exception e) {
+            log.warn("Rollout log append failed: deploymentId={}, error={}", deploymentId, e.getMessage());
+        }
+    }
+
+    private Exception toRolloutFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return new BusinessException(ErrorCode.DEPLOY_FAILED, "롤아웃 타임아웃: " + rolloutTimeout + "ms 초과");
+        }
+        if (cause instanceof Exception e) {
+            return e;
+        }
+        return new BusinessException(ErrorCode.DEPLOY_FAILED, "롤아웃 확인 실패: " + cause.getMessage());
+    }
+
+    private String resolveBuiltImage(Long deploymentId, BuildResult buildResult,
+                                     BuildStatusResult status, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+
+        if (cause instanceof TimeoutException) {
+            throw new BusinessException(ErrorCode.BUILD_TIMEOUT, "빌드 타임아웃: " + buildTimeout + "ms 초과");
+        }
+        if (cause instanceof BusinessException be) {
+            throw be;
+        }
+        if (cause != null) {
+            throw new BusinessException(ErrorCode.BUILD_FAILED, "빌드 상태 확인 실패: " + cause.getMessage());
+        }
+        if (!status.success()) {
+            throw new BusinessException(ErrorCode.BUILD_FAILED, "빌드 실패: " + status.message());
+        }
+
+        log.info("Build succeeded: deploymentId={}, imageUri={}", deploymentId, buildResult.imageUri());
+        return buildResult.imageUri();
+    }
+
+    private void handleFailure(Long deploymentId, Long userId, Exception e) {
+        if (stepService.isSuperseded(deploymentId)) {
+            log.info("Pipeline stopped (superseded): deploymentId={}, reason={}", deploymentId, e.getMessage());
+            stepService.markFailed(deploymentId, e.getMessage());
+            notifyWs(deploymentId, userId, "SUPERSEDED", "canceled", 0, "최신 커밋 배포로 대체되어 중단되었습니다.");
+        } else {
+            log.error("Pipeline failed: deploymentId={}, error={}", deploymentId, e.getMessage(), e);
+            stepService.markFailed(deploymentId, e.getMessage());
+            recordTotal(deploymentId, false);
+            notifyWs(deploymentId, userId, "FAILED", "failed", 0, "배포 실패: " + e.getMessage());
+        }
+        eventPublisher.publishEvent(new DeploymentPipelineFinishedEvent(deploymentId));
+    }
+
+    /**
+     * 빌드 Pod 타임스탬프로 빌드 대기/컨텍스트 다운로드/빌드 시간을 구분해 기록.
+     * Pod 정보를 얻을 수 없으면 완료 구독 시작부터 완료까지를 BUILD로 기록한다.
+     * 레이어 캐시를 켠 빌드는 BUILD 단계에 캐시 적중/미적중 수를 함께 남긴다.
+     */
+    private void recordBuildStages(Long deploymentId, CloudInfraProvider provider, BuildResult buildResult,
+                                   LocalDateTime watchStartedAt, boolean succeeded) {
+        Optional<BuildTimings> timings = provider.getBuildTimings(
+                buildResult.trackingUrl(), buildResult.externalBuildId());
+        BuildCacheStats cache = provider.getBuildCacheStats(
+                buildResult.trackingUrl(), buildResult.externalBuildId()).orElse(null);
+        Integer cacheHits = cache != null ? cache.hits() : null;
+        Integer cacheMisses = cache != null ? cache.misses() : null;
+
+        if (timings.isEmpty()) {
+            eventPublisher.publishEvent(new PipelineStageCompletedEvent(deploymentId, PipelineStage.BUILD,
+                    watchStartedAt, LocalDateTime.now(), succeeded, cacheHits, cacheMisses));
+            return;
+        }
+
+        BuildTimings t = timings.get();
+        Instant queueEndedAt = t.contextStartedAt() != null ? t.contextStartedAt() : t.buildStartedAt();
+        publishStage(deploymentId, PipelineStage.BUILD_QUEUE,
+                toLocalDateTime(t.jobCreatedAt()), toLocalDateTime(queueEndedAt), true);
+        if (t.contextStartedAt() != null) {
+            publishStage(deploymentId, PipelineStage.BUILD_CONTEXT,
+                    toLocalDateTime(t.contextStartedAt()), toLocalDateTime(t.contextFinishedAt()), true);
+        }
+        eventPublisher.publishEvent(new PipelineStageCompletedEvent(deploymentId, PipelineStage.BUILD,
+                toLocalDateTime(t.buildStartedAt()), toLocalDateTime(t.buildFinishedAt()), succeeded,
+                cacheHits, cacheMisses));
+    }
+
+    private void recordTotal(Long deploymentId, boolean succeeded) {
+        deploymentRepository.findById(deploymentId).ifPresent(deployment -> publishStage(
+                deploymentId, PipelineStage.TOTAL, deployment.getStartedAt(), LocalDateTime.now(), succeeded));
+    }
+
+    private <T> T timed(Long deploymentId, PipelineStage stage, Supplier<T> step) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        boolean succeeded = false;
+        try {
+            T result = step.get();
+            succeeded = true;
+            return result;
+        } finally {
+            publishStage(deploymentId, stage, startedAt, LocalDateTime.now(), succeeded);
+        }
+    }
+
+    private void publishStage(Long deploymentId, PipelineStage stage, LocalDateTime startedAt,
+                              LocalDateTime finishedAt, boolean succeeded) {
+        eventPublisher.publishEvent(
+                new PipelineStageCompletedEvent(deploymentId, stage, startedAt, finishedAt, succeeded));
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private Deployment getDeployment(Long deploymentId) {
+        return deploymentRepository.findById(deploymentId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.DEPLOYMENT_NOT_FOUND));
     }
 
     private void notifyWs(Long deploymentId, Long userId, String stage, String status, int progress, String message) {
@@ -1,8 +1,10 @@
 package klepaas.backend.deployment.service;
 
 import klepaas.backend.auth.service.GitHubInstallationTokenService;
+import klepaas.backend.deployment.entity.BuildProfile;
 import klepaas.backend.deployment.entity.Deployment;
 import klepaas.backend.deployment.entity.DeploymentConfig;
+import klepaas.backend.deployment.entity.DeploymentStatus;
 import klepaas.backend.deployment.entity.SourceRepository;
 import klepaas.backend.deployment.repository.DeploymentConfigRepository;
 import klepaas.backend.deployment.repository.DeploymentRepository;
@@ -12,7 +14,10 @@ import klepaas.backend.global.exception.ErrorCode;
 import klepaas.backend.global.service.NotificationService;
 import klepaas.backend.infra.CloudInfraProvider;
 import klepaas.backend.infra.CloudInfraProviderFactory;
+import klepaas.backend.infra.dto.BuildOptions;
 import klepaas.backend.infra.dto.BuildResult;
+import klepaas.backend.infra.dto.RolloutTarget;
+import klepaas.backend.infra.dto.SourceUploadResult;
 import klepaas.backend.infra.kubernetes.KubernetesManifestGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +25,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -32,10 +40,29 @@ public class DeploymentPipelineStepService {
     private final KubernetesManifestGenerator k8sGenerator;
     private final GitHubInstallationTokenService installationTokenService;
     private final NotificationService notificationService;
+    private final BuildProfileAdvisor buildProfileAdvisor;
+
+    /**
+     * 레지스트리에 같은 커밋 이미지가 이미 있으면 IMAGE_BUILT 체크포인트로 이동시켜 업로드/빌드를 생략.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<String> findExistingImage(Long deploymentId) {
+        Deployment deployment = getActiveDeployment(deploymentId);
+        SourceRepository repo = deployment.getSourceRepository();
+        String installationToken = installationTokenService.getInstallationToken(
+                repo.getOwner(), repo.getRepoName());
+
+        CloudInfraProvider provider = infraProviderFactory.getProvider(repo.getCloudVendor());
+        Optional<String> existingImage = provider.findExistingImage(installationToken, deployment);
+        existingImage.ifPresent(imageUri -> deployment.reuseImage(deployment.getCommitHash(), imageUri));
+        // HEAD가 실제 커밋으로 해석됐을 수 있으므로 결과와 무관하게 저장
+        deploymentRepository.save(deployment);
+        return existingImage;
+    }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public String executeUpload(Long deploymentId) {
-        Deployment deployment = getDeployment(deploymentId);
+        Deployment deployment = getActiveDeployment(deploymentId);
         notificationService.notifyDeploymentStarted(deployment);
         deployment.startUpload();
         deploymentRepository.save(deployment);
@@ -46,34 +73,112 @@ public class DeploymentPipelineStepService {
 
         CloudInfraProvider provider = infraProviderFactory.getProvider(repo.getCloudVendor());
 
-        String storageKey = provider.uploadSourceToStorage(installationToken, deployment);
-        deployment.markAsUploaded(storageKey);
+        SourceUploadResult upload = provider.uploadSourceToStorage(installationToken, deployment);
+        // 캐시된 소스를 재사용했으면 같은 소스 객체를 처음 업로드한 배포의 분석 결과를 이어받는다
+        Optional<Deployment> ledger = upload.contextHash() != null
+                ? Optional.empty()
+                : deploymentRepository.findFirstByStorageObjectKeyAndContextHashIsNotNullOrderByIdDesc(upload.storageKey());
+        String contextHash = upload.contextHash() != null
+                ? upload.contextHash()
+                : ledger.map(Deployment::getContextHash).orElse(null);
+        List<String> baseImages = upload.baseImages() != null
+                ? upload.baseImages()
+                : ledger.map(Deployment::getBaseImageList).orElse(List.of());
+        deployment.markAsUploaded(upload.storageKey(), contextHash, upload.contextSizeBytes(), baseImages);
+        deploymentRepository.save(deployment);
+
+        log.info("Upload completed: deploymentId={}, storageKey={}, contextHash={}",
+                deploymentId, upload.storageKey(), contextHash);
+        return upload.storageKey();
+    }
+
+    /**
+     * 같은 build context로 성공한 배포가 있으면 그 이미지를 이 커밋 태그로 재태깅해 IMAGE_BUILT로 이동 (Kaniko 빌드 생략).
+     * 문서/CI 파일처럼 .dockerignore로 제외되는 파일만 바뀐 커밋이 대상이다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<String> findImageByContextHash(Long deploymentId) {
+        Deployment deployment = getActiveDeployment(deploymentId);
+        if (deployment.getContextHash() == null) {
+            return Optional.empty();
+        }
+
+        Optional<Deployment> previous = deploymentRepository
+                .findFirstBySourceRepositoryIdAndStatusAndContextHashAndImageUriIsNotNullOrderByIdDesc(
+                        deployment.getSourceRepository().getId(), DeploymentStatus.SUCCESS, deployment.getContextHash());
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+
+        CloudInfraProvider provider = infraProviderFactory.getProvider(
+                deployment.getSourceRepository().getCloudVendor());
+        String imageUri = provider.retagImage(previous.get().getImageUri(), deployment);
+        deployment.reuseImage(deployment.getCommitHash(), imageUri);
+        deploymentRepository.save(deployment);
+
+        log.info("Build context unchanged, reusing image: deploymentId={}, fromDeploymentId={}, imageUri={}",
+                deploymentId, previous.get().getId(), imageUri);
+        return Optional.of(imageUri);
+    }
+
+    /**
+     * 빌드 리소스 프로필 확정 (빌드 슬롯 admission 판단에도 사용).
+     * 저장소에 지정된 프로필이 없으면 빌드 이력/context 크기 기반 추천 프로필 사용.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BuildProfile resolveBuildProfile(Long deploymentId) {
+        Deployment deployment = getActiveDeployment(deploymentId);
+        DeploymentConfig config = getConfig(deployment);
+
+        BuildProfile profile = config.getBuildProfile() != null
+                ? config.getBuildProfile()
+                : buildProfileAdvisor.recommend(deployment.getSourceRepository().getId()).profile();
+        deployment.assignBuildProfile(profile);
         deploymentRepository.save(deployment);
+        return profile;
+    }
 
-        log.info("Upload completed: deploymentId={}, storageKey={}", deploymentId, storageKey);
-        return storageKey;
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markQueuedForBuild(Long deploymentId) {
+        Deployment deployment = getActiveDeployment(deploymentId);
+        deployment.queueForBuild();
+        deploymentRepository.save(deployment);
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public BuildResult executeBuildTrigger(Long deploymentId, String storageKey) {
-        Deployment deployment = getDeployment(deploymentId);
+        Deployment deployment = getActiveDeployment(deploymentId);
         CloudInfraProvider provider = infraProviderFactory.getProvider(
                 deployment.getSourceRepository().getCloudVendor());
 
-        BuildResult buildResult = provider.triggerBuild(storageKey, deployment);
-        deployment.markAsBuilding(buildResult.externalBuildId());
+        DeploymentConfig config = getConfig(deployment);
+        BuildProfile profile = deployment.getBuildProfile() != null
+                ? deployment.getBuildProfile()
+                : BuildProfile.MEDIUM;
+
+        BuildResult buildResult = provider.triggerBuild(storageKey, deployment,
+                new BuildOptions(config.isBuildCacheEnabled(), profile));
+        deployment.markAsBuilding(buildResult.externalBuildId(), buildResult.trackingUrl(), buildResult.imageUri());
         deploymentRepository.save(deployment);
 
         // SourceRepository에 projectId 캐싱 (triggerBuild에서 설정됨)
         sourceRepositoryRepository.save(deployment.getSourceRepository());
 
-        log.info("Build triggered: deploymentId={}, buildId={}", deploymentId, buildResult.externalBuildId());
+        log.info("Build triggered: deploymentId={}, buildId={}, profile={}",
+                deploymentId, buildResult.externalBuildId(), profile);
         return buildResult;
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void executeK8sDeploy(Long deploymentId, String imageUri) {
-        Deployment deployment = getDeployment(deploymentId);
+    public void markImageBuilt(Long deploymentId, String imageUri) {
+        Deployment deployment = getActiveDeployment(deploymentId);
+        deployment.markImageBuilt(imageUri);
+        deploymentRepository.save(deployment);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public RolloutTarget executeK8sDeploy(Long deploymentId, String imageUri) {
+        Deployment deployment = getActiveDeployment(deploymentId);
         deployment.startDeploying();
         deployment.setImageUri(imageUri);
         deploymentRepository.save(deployment);
@@ -81,11 +186,12 @@ public class DeploymentPipelineStepService {
         SourceRepository repo = deployment.getSourceRepository();
         String appName = repo.getOwner() + "-" + repo.getRepoName();
 
-        DeploymentConfig config = deploymentConfigRepository.findBySourceRepositoryId(repo.getId())
-                .orElseThrow(() -> new BusinessException(ErrorCode.DEPLOYMENT_CONFIG_NOT_FOUND));
+        DeploymentConfig config = getConfig(deployment);
 
-        k8sGenerator.deploy(appName, imageUri, config, repo.getId());
-        log.info("K8s deploy completed: deploymentId={}, app={}", deploymentId, appName);
+        RolloutTarget target = k8sGenerator.deploy(appName, imageUri, config, repo.getId());
+        log.info("K8s manifests applied: deploymentId={}, app={}, generation={}",
+                deploymentId, appName, target.generation());
+        return target;
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -100,6 +206,12 @@ public class DeploymentPipelineStepService {
     public void markFailed(Long deploymentId, String reason) {
         try {
             Deployment deployment = getDeployment(deploymentId);
+            if (deployment.isSuperseded()) {
+                // Job 삭제로 인한 빌드 실패 등은 대체된 배포의 정상 종료로 취급
+                deployment.markSuperseded();
+                deploymentRepository.save(deployment);
+                return;
+            }
             notificationService.notifyDeploymentFailed(deployment, reason);
             deployment.fail(reason);
             deploymentRepository.save(deployment);
@@ -108,6 +220,30 @@ public class DeploymentPipelineStepService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public boolean isSuperseded(Long deploymentId) {
+        return deploymentRepository.findById(deploymentId)
+                .map(Deployment::isSuperseded)
+                .orElse(false);
+    }
+
+    /**
+     * 최신 커밋 배포로 대체된 배포는 다음 단계로 진행하지 않는다.
+     */
+    private Deployment getActiveDeployment(Long deploymentId) {
+        Deployment deployment = getDeployment(deploymentId);
+        if (deployment.isSuperseded()) {
+            throw new BusinessException(ErrorCode.DEPLOYMENT_SUPERSEDED,
+                    "최신 배포 #" + deployment.getSupersededById() + "로 대체되어 중단됨");
+        }
+        return deployment;
+    }
+
+    private DeploymentConfig getConfig(Deployment deployment) {
+        return deploymentConfigRepository.findBySourceRepositoryId(deployment.getSourceRepository().getId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.DEPLOYMENT_CONFIG_NOT_FOUND));
+    }
+
     private Deployment getDeployment(Long deploymentId) {
         return deploymentRepository.findById(deploymentId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.DEPLOYMENT_NOT_FOUND));
@@ -0,0 +1,57 @@
+package klepaas.backend.deployment.service;
+
+import klepaas.backend.deployment.entity.DeploymentStatus;
+import klepaas.backend.deployment.repository.DeploymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 기동 시 진행 중 상태로 남아 있는 배포를 찾아 마지막 체크포인트부터 재개.
+ * 파이프라인 진행 상황이 스레드 스택에만 있던 시절 재시작 시 BUILDING에 멈춰 있던 문제를 해결한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeploymentRecoveryService {
+
+    private static final List<DeploymentStatus> IN_FLIGHT_STATUSES = List.of(
+            DeploymentStatus.PENDING,
+            DeploymentStatus.UPLOADING_SOURCE,
+            DeploymentStatus.QUEUED_FOR_BUILD,
+            DeploymentStatus.BUILDING,
+            DeploymentStatus.DEPLOYING
+    );
+
+    private final DeploymentRepository deploymentRepository;
+    private final DeploymentScheduler deploymentScheduler;
+
+    @Value("${deployment.pipeline.recovery-enabled:true}")
+    private boolean recoveryEnabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInFlightDeployments() {
+        if (!recoveryEnabled) {
+            return;
+        }
+
+        List<Long> deploymentIds = deploymentRepository.findIdsByStatusIn(IN_FLIGHT_STATUSES);
+        if (deploymentIds.isEmpty()) {
+            return;
+        }
+
+        log.info("Recovering in-flight deployments: count={}, ids={}", deploymentIds.size(), deploymentIds);
+        for (Long deploymentId : deploymentIds) {
+            deploymentRepository.findById(deploymentId).ifPresent(deployment -> deploymentScheduler.submit(
+                    deploymentId,
+                    deployment.getSourceRepository().getId(),
+                    deploymentRepository.findUserIdByDeploymentId(deploymentId).orElse(null),
+                    DeploymentScheduler.Priority.RECOVERY));
+        }
+    }
+}
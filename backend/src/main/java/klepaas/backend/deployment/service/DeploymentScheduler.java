@@ -0,0 +1,182 @@
+package klepaas.backend.deployment.service;
+
+import klepaas.backend.deployment.event.DeploymentPipelineFinishedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 배포 파이프라인 앞단의 공정 스케줄러.
+ * - 저장소별 직렬화: 같은 저장소의 파이프라인은 동시에 1개만 실행
+ * - 사용자별 동시 실행 상한
+ * - 사용자 간 라운드 로빈
+ * - 우선순위: 재시작 복구 > 사용자 요청(API/NLP) > webhook
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeploymentScheduler {
+
+    public enum Priority {
+        RECOVERY, // 선언 순서 = 우선순위
+        USER,
+        WEBHOOK
+    }
+
+    private static final Long UNKNOWN_USER = -1L;
+
+    private final DeploymentPipelineService pipelineService;
+    private final DeploymentPipelineStepService stepService;
+
+    @Value("${deployment.scheduler.max-active:10}")
+    private int maxActive;
+
+    @Value("${deployment.scheduler.max-active-per-user:2}")
+    private int maxActivePerUser;
+
+    /** userId → 대기 중 배포 (제출 순서) */
+    private final Map<Long, List<QueuedDeployment>> queuesByUser = new LinkedHashMap<>();
+    /** 대기 배포가 있는 사용자의 라운드 로빈 순서 */
+    private final Deque<Long> rotation = new ArrayDeque<>();
+    /** deploymentId → 실행 중 배포 */
+    private final Map<Long, QueuedDeployment> running = new HashMap<>();
+
+    private long sequence = 0;
+
+    public void submit(Long deploymentId, Long repositoryId, Long userId, Priority priority) {
+        synchronized (this) {
+            Long userKey = userId != null ? userId : UNKNOWN_USER;
+            QueuedDeployment queued = new QueuedDeployment(deploymentId, repositoryId, userKey, priority, sequence++);
+            queuesByUser.computeIfAbsent(userKey, k -> new ArrayList<>()).add(queued);
+            if (!rotation.contains(userKey)) {
+                rotation.addLast(userKey);
+            }
+            log.info("Deployment queued: deploymentId={}, repositoryId={}, userId={}, priority={}",
+                    deploymentId, repositoryId, userKey, priority);
+        }
+        dispatch();
+    }
+
+    /**
+     * 대기열 내 예상 실행 순서 (1부터 시작). 대기 중이 아니면 null.
+     * 현재 라운드 로빈 위치와 우선순위 기준이며, 사용자/저장소 상한으로 인한 지연은 반영하지 않는다.
+     */
+    public synchronized Integer getQueuePosition(Long deploymentId) {
+        Deque<Long> simulatedRotation = new ArrayDeque<>(rotation);
+        Map<Long, List<QueuedDeployment>> simulatedQueues = new LinkedHashMap<>();
+        queuesByUser.forEach((user, queue) -> simulatedQueues.put(user, new ArrayList<>(queue)));
+
+        int position = 1;
+        QueuedDeployment next;
+        while ((next = selectNext(simulatedRotation, simulatedQueues, false)) != null) {
+            if (next.deploymentId().equals(deploymentId)) {
+                return position;
+            }
+            removeQueued(simulatedRotation, simulatedQueues, next);
+            position++;
+        }
+        return null;
+    }
+
+    @EventListener
+    public void onPipelineFinished(DeploymentPipelineFinishedEvent event) {
+        synchronized (this) {
+            if (running.remove(event.deploymentId()) == null) {
+                return;
+            }
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        List<QueuedDeployment> toStart = new ArrayList<>();
+        synchronized (this) {
+            QueuedDeployment next;
+            while (running.size() < maxActive
+                    && (next = selectNext(rotation, queuesByUser, true)) != null) {
+                removeQueued(rotation, queuesByUser, next);
+                running.put(next.deploymentId(), next);
+                toStart.add(next);
+            }
+        }
+
+        for (QueuedDeployment queued : toStart) {
+            start(queued);
+        }
+    }
+
+    private void start(QueuedDeployment queued) {
+        try {
+            if (queued.priority() == Priority.RECOVERY) {
+                pipelineService.resumePipeline(queued.deploymentId());
+            } else {
+                pipelineService.executePipeline(queued.deploymentId());
+            }
+        } catch (Exception e) {
+            log.error("Pipeline dispatch failed: deploymentId={}, error={}", queued.deploymentId(), e.getMessage(), e);
+            stepService.markFailed(queued.deploymentId(), "파이프라인 시작 실패: " + e.getMessage());
+            onPipelineFinished(new DeploymentPipelineFinishedEvent(queued.deploymentId()));
+        }
+    }
+
+    /**
+     * 우선순위가 높은 배포부터, 라운드 로빈 순서로 사용자를 돌며 실행 가능한 첫 배포를 선택.
+     * 선택된 사용자는 라운드 로빈의 맨 뒤로 이동한다.
+     */
+    private QueuedDeployment selectNext(Deque<Long> userOrder, Map<Long, List<QueuedDeployment>> queues,
+                                        boolean enforceLimits) {
+        for (Priority priority : Priority.values()) {
+            for (Long userKey : List.copyOf(userOrder)) {
+                if (enforceLimits && activeCount(userKey) >= maxActivePerUser) {
+                    continue;
+                }
+
+                QueuedDeployment candidate = queues.getOrDefault(userKey, List.of()).stream()
+                        .filter(q -> q.priority() == priority)
+                        .filter(q -> !enforceLimits || !isRepositoryActive(q.repositoryId()))
+                        .findFirst()
+                        .orElse(null);
+
+                if (candidate != null) {
+                    userOrder.remove(userKey);
+                    userOrder.addLast(userKey);
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void removeQueued(Deque<Long> userOrder, Map<Long, List<QueuedDeployment>> queues,
+                              QueuedDeployment queued) {
+        List<QueuedDeployment> queue = queues.get(queued.userId());
+        queue.remove(queued);
+        if (queue.isEmpty()) {
+            queues.remove(queued.userId());
+            userOrder.remove(queued.userId());
+        }
+    }
+
+    private long activeCount(Long userKey) {
+        return running.values().stream().filter(q -> q.userId().equals(userKey)).count();
+    }
+
+    private boolean isRepositoryActive(Long repositoryId) {
+        return running.values().stream().anyMatch(q -> Objects.equals(q.repositoryId(), repositoryId));
+    }
+
+    private record QueuedDeployment(Long deploymentId, Long repositoryId, Long userId,
+                                    Priority priority, long sequence) {
+    }
+}
@@ -3,26 +3,40 @@ package klepaas.backend.deployment.service;
 import klepaas.backend.deployment.dto.*;
 import klepaas.backend.deployment.entity.Deployment;
 import klepaas.backend.deployment.entity.DeploymentConfig;
+import klepaas.backend.deployment.entity.DeploymentStatus;
 import klepaas.backend.deployment.entity.ScalingHistory;
 import klepaas.backend.deployment.entity.SourceRepository;
 import klepaas.backend.deployment.repository.DeploymentConfigRepository;
 import klepaas.backend.deployment.repository.DeploymentRepository;
 import klepaas.backend.deployment.repository.ScalingHistoryRepository;
 import klepaas.backend.deployment.repository.SourceRepositoryRepository;
+import klepaas.backend.global.exception.BusinessException;
 import klepaas.backend.global.exception.EntityNotFoundException;
 import klepaas.backend.global.exception.ErrorCode;
 import klepaas.backend.infra.CloudInfraProviderFactory;
+import klepaas.backend.infra.dto.BuildResult;
+import klepaas.backend.infra.dto.RolloutProgress;
+import klepaas.backend.infra.dto.RolloutTarget;
 import klepaas.backend.infra.kubernetes.KubernetesManifestGenerator;
+import klepaas.backend.infra.kubernetes.RolloutWatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
@@ -30,13 +44,30 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class DeploymentService {
 
+    private static final List<DeploymentStatus> SUPERSEDABLE_STATUSES = List.of(
+            DeploymentStatus.PENDING,
+            DeploymentStatus.UPLOADING_SOURCE,
+            DeploymentStatus.QUEUED_FOR_BUILD,
+            DeploymentStatus.BUILDING
+    );
+
+    // 이미지 재사용 조회는 전체/short SHA 형태일 때만 (브랜치명, HEAD 등은 prefix 검색하지 않음)
+    private static final Pattern COMMIT_SHA = Pattern.compile("[0-9a-f]{7,40}");
+
     private final DeploymentRepository deploymentRepository;
     private final SourceRepositoryRepository sourceRepositoryRepository;
     private final DeploymentConfigRepository deploymentConfigRepository;
     private final ScalingHistoryRepository scalingHistoryRepository;
-    private final DeploymentPipelineService pipelineService;
+    private final DeploymentScheduler deploymentScheduler;
+    private final BuildSlotGovernor buildSlotGovernor;
+    private final DeploymentLogService deploymentLogService;
     private final CloudInfraProviderFactory infraProviderFactory;
     private final KubernetesManifestGenerator k8sGenerator;
+    private final RolloutWatcher rolloutWatcher;
+
+    // 롤링 재시작 후 새 Pod 준비를 기다리는 상한
+    @Value("${deployment.restart-timeout:300000}")
+    private long restartTimeout;
 
     @Transactional
     public DeploymentResponse createDeployment(CreateDeploymentRequest request) {
@@ -53,22 +84,104 @@ public class DeploymentService {
                 .branchName(request.branchName())
                 .commitHash(request.commitHash())
                 .build();
+        reuseKnownGoodImage(deployment);
         deploymentRepository.save(deployment);
 
         log.info("Deployment created: id={}, repo={}/{}, branch={}", deployment.getId(),
                 repository.getOwner(), repository.getRepoName(), request.branchName());
 
+        List<Deployment> superseded = supersedeOlderDeployments(deployment);
+
+        // userId가 있으면 API/NLP를 통한 사용자 요청, 없으면 webhook 트리거
+        DeploymentScheduler.Priority priority = userId != null
+                ? DeploymentScheduler.Priority.USER : DeploymentScheduler.Priority.WEBHOOK;
+        Long ownerId = repository.getUser() != null ? repository.getUser().getId() : null;
+
         Long deploymentId = deployment.getId();
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
-                pipelineService.executePipeline(deploymentId);
+                cancelSupersededBuilds(superseded);
+                deploymentScheduler.submit(deploymentId, repository.getId(), ownerId, priority);
             }
         });
 
         return DeploymentResponse.from(deployment);
     }
 
+    /**
+     * 같은 커밋으로 성공한 배포가 있으면 저장된 이미지를 재사용.
+     * 롤백이나 동일 커밋 재배포가 소스 업로드/Kaniko 빌드 없이 K8s 배포만으로 끝나도록 한다.
+     */
+    private void reuseKnownGoodImage(Deployment deployment) {
+        findKnownGoodDeployment(deployment.getSourceRepository().getId(), deployment.getCommitHash())
+                .ifPresent(knownGood -> {
+                    deployment.reuseImage(knownGood.getCommitHash(), knownGood.getImageUri());
+                    log.info("Reusing image from deployment #{}: commit={}, imageUri={}",
+                            knownGood.getId(), knownGood.getCommitHash(), knownGood.getImageUri());
+                });
+    }
+
+    /**
+     * 커밋(short SHA 허용)으로 성공한 최신 배포.
+     * short SHA는 성공 배포 중 한 커밋만 가리킬 때만 인정하고, 여러 커밋에 걸리면 찾지 못한 것으로 본다.
+     */
+    public Optional<Deployment> findKnownGoodDeployment(Long repositoryId, String commitHash) {
+        if (commitHash == null || !COMMIT_SHA.matcher(commitHash).matches()) {
+            return Optional.empty();
+        }
+
+        List<String> matched = deploymentRepository.findCommitHashesByPrefix(
+                repositoryId, DeploymentStatus.SUCCESS, commitHash, PageRequest.of(0, 2));
+        if (matched.size() > 1) {
+            log.warn("Ambiguous commit prefix, skipping image reuse: repositoryId={}, prefix={}, matches={}",
+                    repositoryId, commitHash, matched);
+        }
+        if (matched.size() != 1) {
+            return Optional.empty();
+        }
+        return deploymentRepository
+                .findFirstBySourceRepositoryIdAndStatusAndCommitHashAndImageUriIsNotNullOrderByIdDesc(
+                        repositoryId, DeploymentStatus.SUCCESS, matched.getFirst());
+    }
+
+    /**
+     * 같은 (저장소, 브랜치)에서 아직 대기/빌드 중인 이전 배포를 SUPERSEDED 처리.
+     * push burst 시 실제로 서비스될 최신 커밋에만 빌드 자원을 쓰기 위함.
+     */
+    private List<Deployment> supersedeOlderDeployments(Deployment latest) {
+        List<Deployment> candidates = deploymentRepository.findBySourceRepositoryIdAndBranchNameAndStatusIn(
+                latest.getSourceRepository().getId(), latest.getBranchName(), SUPERSEDABLE_STATUSES);
+
+        List<Deployment> superseded = candidates.stream()
+                .filter(d -> !d.getId().equals(latest.getId()))
+                .toList();
+        for (Deployment older : superseded) {
+            older.supersede(latest.getId());
+            log.info("Deployment superseded: id={}, supersededBy={}, branch={}",
+                    older.getId(), latest.getId(), latest.getBranchName());
+        }
+        return superseded;
+    }
+
+    private void cancelSupersededBuilds(List<Deployment> superseded) {
+        for (Deployment older : superseded) {
+            // 대체 처리 전에 읽은 스냅샷 이후 파이프라인이 빌드 Job을 커밋했을 수 있으므로 커밋된 값으로 다시 확인
+            Optional<BuildResult> build = deploymentRepository.findBuildById(older.getId());
+            if (build.isEmpty()) {
+                // 빌드 전 단계 — 파이프라인이 다음 단계 진입 시 중단. 빌드 슬롯 대기 중이면 차례를 기다리지 않고 바로 중단
+                buildSlotGovernor.withdraw(older.getId());
+                continue;
+            }
+            try {
+                infraProviderFactory.getProvider(older.getSourceRepository().getCloudVendor())
+                        .cancelBuild(build.get().trackingUrl(), build.get().externalBuildId());
+            } catch (Exception e) {
+                log.warn("Failed to cancel superseded build: deploymentId={}, error={}", older.getId(), e.getMessage());
+            }
+        }
+    }
+
     public Page<DeploymentResponse> getDeployments(Long repositoryId, Pageable pageable) {
         return deploymentRepository.findBySourceRepositoryId(repositoryId, pageable)
                 .map(DeploymentResponse::from);
@@ -83,15 +196,19 @@ public class DeploymentService {
     public DeploymentStatusResponse getDeploymentStatus(Long deploymentId) {
         Deployment deployment = deploymentRepository.findById(deploymentId)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorCode.DEPLOYMENT_NOT_FOUND));
-        return DeploymentStatusResponse.from(deployment);
+        Integer queuePosition = deployment.getStatus() == DeploymentStatus.QUEUED_FOR_BUILD
+                ? buildSlotGovernor.getQueuePosition(deploymentId)
+                : deploymentScheduler.getQueuePosition(deploymentId);
+        return DeploymentStatusResponse.from(deployment, queuePosition);
     }
 
-    public DeploymentLogResponse getDeploymentLogs(Long deploymentId) {
-        deploymentRepository.findById(deploymentId)
+    /**
+     * 빌드 로그 조회. offset(이전 응답의 nextOffset)부터 limit줄, 또는 tail을 넘기면 마지막 tail줄을 반환한다.
+     */
+    public DeploymentLogResponse getDeploymentLogs(Long deploymentId, Long offset, Integer limit, Integer tail) {
+        Deployment deployment = deploymentRepository.findById(deploymentId)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorCode.DEPLOYMENT_NOT_FOUND));
-
-        // TODO: Phase 5+ - NCP에서 실제 빌드/배포 로그 조회
-        return new DeploymentLogResponse(deploymentId, List.of("로그 조회 기능은 향후 구현 예정입니다."));
+        return deploymentLogService.getLogs(deployment, offset, limit, tail);
     }
 
     @Transactional
@@ -131,16 +248,43 @@ public class DeploymentService {
                 .map(ScalingHistoryResponse::from);
     }
 
-    @Transactional
-    public void restartDeployment(Long deploymentId) {
+    /**
+     * 롤링 재시작. 새 Pod가 모두 준비될 때까지 기다린 뒤 소요 시간을 반환한다.
+     * 대기 중 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행한다 (findById가 소스 저장소를 함께 조회).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RestartResponse restartDeployment(Long deploymentId) {
         Deployment deployment = deploymentRepository.findById(deploymentId)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorCode.DEPLOYMENT_NOT_FOUND));
 
         SourceRepository repo = deployment.getSourceRepository();
         String appName = repo.getOwner() + "-" + repo.getRepoName();
-        k8sGenerator.scale(appName, 0);
-        k8sGenerator.scale(appName, 1);
 
-        log.info("Restart completed: deploymentId={}", deploymentId);
+        long startedAt = System.currentTimeMillis();
+        RolloutTarget target = k8sGenerator.restart(appName);
+        RolloutProgress progress = awaitRollout(target);
+        long durationMs = System.currentTimeMillis() - startedAt;
+
+        log.info("Restart completed: deploymentId={}, app={}, replicas={}, durationMs={}",
+                deploymentId, appName, progress.desiredReplicas(), durationMs);
+        return new RestartResponse(deploymentId, appName, progress.desiredReplicas(), durationMs);
+    }
+
+    private RolloutProgress awaitRollout(RolloutTarget target) {
+        try {
+            return rolloutWatcher.watch(target, progress -> log.debug("Restart progress: app={}, available={}/{}",
+                            target.appName(), progress.availableReplicas(), progress.desiredReplicas()))
+                    .get(restartTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new BusinessException(ErrorCode.DEPLOY_FAILED, "재시작 타임아웃: " + restartTimeout + "ms 초과");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BusinessException be) {
+                throw be;
+            }
+            throw new BusinessException(ErrorCode.DEPLOY_FAILED, "재시작 확인 실패: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.DEPLOY_FAILED, "재시작 대기 중단");
+        }
     }
 }
@@ -0,0 +1,150 @@
+package klepaas.backend.deployment.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import klepaas.backend.deployment.dto.DeploymentTimelineResponse;
+import klepaas.backend.deployment.dto.StageLatencyResponse;
+import klepaas.backend.deployment.dto.StageLatencyResponse.StageStat;
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.DeploymentStageEvent;
+import klepaas.backend.deployment.entity.PipelineStage;
+import klepaas.backend.deployment.entity.SourceRepository;
+import klepaas.backend.deployment.event.PipelineStageCompletedEvent;
+import klepaas.backend.deployment.repository.DeploymentRepository;
+import klepaas.backend.deployment.repository.DeploymentStageEventRepository;
+import klepaas.backend.deployment.repository.DeploymentStageEventRepository.StageDuration;
+import klepaas.backend.global.exception.BusinessException;
+import klepaas.backend.global.exception.EntityNotFoundException;
+import klepaas.backend.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 배포 단계별 타임라인 저장, 단계 소요 시간 히스토그램, 백분위 집계.
+ */
+@Slf4j
+@Service
+public class DeploymentTimelineService {
+
+    private static final String STAGE_TIMER = "klepaas.deployment.stage.duration";
+    private static final String BUILD_CACHE_COUNTER = "klepaas.build.cache.layers";
+    private static final int MAX_WINDOW_HOURS = 24 * 30;
+
+    private final DeploymentRepository deploymentRepository;
+    private final DeploymentStageEventRepository stageEventRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate requiresNewTx;
+
+    public DeploymentTimelineService(DeploymentRepository deploymentRepository,
+                                     DeploymentStageEventRepository stageEventRepository,
+                                     MeterRegistry meterRegistry,
+                                     PlatformTransactionManager transactionManager) {
+        this.deploymentRepository = deploymentRepository;
+        this.stageEventRepository = stageEventRepository;
+        this.meterRegistry = meterRegistry;
+        this.requiresNewTx = new TransactionTemplate(transactionManager);
+        this.requiresNewTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 단계 종료 이벤트를 타임라인 테이블과 히스토그램에 기록.
+     * 발행 측(업로드/빌드 트랜잭션)과 분리된 트랜잭션에서 저장하며, 계측 실패가 파이프라인을 중단시키지 않도록 로그만 남긴다.
+     */
+    @EventListener
+    public void onStageCompleted(PipelineStageCompletedEvent event) {
+        try {
+            requiresNewTx.executeWithoutResult(tx -> record(event));
+        } catch (Exception e) {
+            log.warn("Stage event record failed: deploymentId={}, stage={}, error={}",
+                    event.deploymentId(), event.stage(), e.getMessage());
+        }
+    }
+
+    private void record(PipelineStageCompletedEvent event) {
+        Deployment deployment = deploymentRepository.findById(event.deploymentId()).orElse(null);
+        if (deployment == null || event.startedAt() == null || event.finishedAt() == null) {
+            return;
+        }
+
+        DeploymentStageEvent stageEvent = stageEventRepository.save(DeploymentStageEvent.builder()
+                .deployment(deployment)
+                .stage(event.stage())
+                .startedAt(event.startedAt())
+                .finishedAt(event.finishedAt())
+                .succeeded(event.succeeded())
+                .cacheHits(event.cacheHits())
+                .cacheMisses(event.cacheMisses())
+                .build());
+
+        SourceRepository repo = deployment.getSourceRepository();
+        Timer.builder(STAGE_TIMER)
+                .description("배포 파이프라인 단계별 소요 시간")
+                .tag("stage", event.stage().name())
+                .tag("vendor", repo.getCloudVendor().name())
+                .tag("repo", repo.getOwner() + "/" + repo.getRepoName())
+                .tag("outcome", event.succeeded() ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(stageEvent.getDurationMs()));
+
+        if (event.cacheHits() != null && event.cacheMisses() != null) {
+            String repoTag = repo.getOwner() + "/" + repo.getRepoName();
+            meterRegistry.counter(BUILD_CACHE_COUNTER, "repo", repoTag, "result", "hit").increment(event.cacheHits());
+            meterRegistry.counter(BUILD_CACHE_COUNTER, "repo", repoTag, "result", "miss").increment(event.cacheMisses());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public DeploymentTimelineResponse getTimeline(Long deploymentId) {
+        Deployment deployment = deploymentRepository.findById(deploymentId)
+                .orElseThrow(() -> new EntityNotFoundException(ErrorCode.DEPLOYMENT_NOT_FOUND));
+        return DeploymentTimelineResponse.of(deployment,
+                stageEventRepository.findByDeploymentIdOrderByStartedAtAscIdAsc(deploymentId));
+    }
+
+    /**
+     * 최근 {@code hours}시간 동안 성공한 단계의 p50/p95 (repositoryId가 없으면 전체 저장소).
+     */
+    @Transactional(readOnly = true)
+    public StageLatencyResponse getStageLatency(Long repositoryId, int hours) {
+        if (hours < 1 || hours > MAX_WINDOW_HOURS) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST,
+                    "hours는 1~" + MAX_WINDOW_HOURS + " 사이여야 합니다");
+        }
+
+        LocalDateTime since = LocalDateTime.now().minusHours(hours);
+        Map<PipelineStage, List<Long>> durationsByStage = new EnumMap<>(PipelineStage.class);
+        for (StageDuration sample : stageEventRepository.findSucceededDurationsSince(since, repositoryId)) {
+            durationsByStage.computeIfAbsent(sample.getStage(), k -> new ArrayList<>()).add(sample.getDurationMs());
+        }
+
+        List<StageStat> stats = durationsByStage.entrySet().stream()
+                .map(entry -> toStat(entry.getKey(), entry.getValue()))
+                .toList();
+        return new StageLatencyResponse(since, repositoryId, stats);
+    }
+
+    private static StageStat toStat(PipelineStage stage, List<Long> durations) {
+        List<Long> sorted = durations.stream().sorted().toList();
+        return new StageStat(stage, sorted.size(),
+                percentile(sorted, 0.50), percentile(sorted, 0.95), sorted.get(sorted.size() - 1));
+    }
+
+    // nearest-rank 방식
+    private static long percentile(List<Long> sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+}
@@ -33,6 +33,7 @@ public class RepositoryService {
     private final UserRepository userRepository;
     private final GitHubAppClient gitHubAppClient;
     private final GitHubAppConfig gitHubAppConfig;
+    private final BuildProfileAdvisor buildProfileAdvisor;
 
     @Transactional
     public RepositoryResponse createRepository(Long userId, CreateRepositoryRequest request) {
@@ -120,15 +121,44 @@ public class RepositoryService {
         DeploymentConfig config = deploymentConfigRepository.findBySourceRepositoryId(repositoryId)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorCode.DEPLOYMENT_CONFIG_NOT_FOUND));
 
+        // 생략한 필드는 기존 값을 유지하고, 초기화는 reset 플래그로만 한다 (이전 클라이언트가 보낸 요청이 설정을 지우지 않도록)
         config.updateConfig(
                 request.minReplicas(),
                 request.maxReplicas(),
                 request.envVars(),
                 request.containerPort(),
-                request.domainUrl()
+                request.domainUrl(),
+                orCurrent(request.buildCacheEnabled(), config.isBuildCacheEnabled()),
+                Boolean.TRUE.equals(request.resetBuildProfile())
+                        ? null : orCurrent(request.buildProfile(), config.getBuildProfile())
         );
+        if (Boolean.TRUE.equals(request.resetResources())) {
+            config.updateResources(null, null, null, null, null);
+        } else {
+            config.updateResources(
+                    orCurrent(request.cpuRequest(), config.getCpuRequest()),
+                    orCurrent(request.cpuLimit(), config.getCpuLimit()),
+                    orCurrent(request.memoryRequest(), config.getMemoryRequest()),
+                    orCurrent(request.memoryLimit(), config.getMemoryLimit()),
+                    orCurrent(request.targetCpuUtilization(), config.getTargetCpuUtilization())
+            );
+        }
 
         log.info("DeploymentConfig updated: repositoryId={}", repositoryId);
         return DeploymentConfigResponse.from(config);
     }
+
+    public BuildProfileRecommendationResponse getBuildProfileRecommendation(Long repositoryId) {
+        sourceRepositoryRepository.findById(repositoryId)
+                .orElseThrow(() -> new EntityNotFoundException(ErrorCode.REPOSITORY_NOT_FOUND));
+
+        DeploymentConfig config = deploymentConfigRepository.findBySourceRepositoryId(repositoryId)
+                .orElseThrow(() -> new EntityNotFoundException(ErrorCode.DEPLOYMENT_CONFIG_NOT_FOUND));
+        return BuildProfileRecommendationResponse.of(repositoryId, config.getBuildProfile(),
+                buildProfileAdvisor.recommend(repositoryId));
+    }
+
+    private static <T> T orCurrent(T requested, T current) {
+        return requested != null ? requested : current;
+    }
 }
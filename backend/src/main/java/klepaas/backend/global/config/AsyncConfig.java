@@ -1,9 +1,13 @@
 package klepaas.backend.global.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.concurrent.Executor;
 
@@ -11,8 +15,19 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfig {
 
+    // Tomcat 요청 처리와 동일한 스위치로 배포 파이프라인 실행 모드 결정
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
     @Bean(name = "deployExecutor")
     public Executor deployExecutor() {
+        if (virtualThreadsEnabled) {
+            // 파이프라인당 가상 스레드 1개. 동시성 상한은 풀 크기가 아니라 ExternalCallLimiter 세마포어가 담당
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("deploy-vt-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
         executor.setMaxPoolSize(10);
@@ -21,4 +36,33 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // 빌드 로그 스트림 읽기 전용 (빌드 내내 블로킹되므로 파이프라인 executor와 분리)
+    @Bean(name = "buildLogExecutor")
+    public Executor buildLogExecutor(@Value("${deployment.logs.max-streams:20}") int maxStreams) {
+        if (virtualThreadsEnabled) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("build-log-vt-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        // 상한을 넘는 스트림은 대기열에서 기다렸다가 처음부터 읽는다 (watchLog는 시작 시점까지의 로그도 전달)
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxStreams);
+        executor.setMaxPoolSize(maxStreams);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("build-log-");
+        executor.initialize();
+        return executor;
+    }
+
+    // 빌드 타임아웃/재확인 등 짧은 예약 작업 전용 (블로킹 작업 금지)
+    @Bean(name = "pipelineScheduler")
+    public TaskScheduler pipelineScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("pipeline-sched-");
+        scheduler.initialize();
+        return scheduler;
+    }
 }
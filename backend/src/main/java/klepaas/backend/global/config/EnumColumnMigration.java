@@ -0,0 +1,55 @@
+package klepaas.backend.global.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Hibernate가 H2에 만든 ENUM 컬럼은 ddl-auto update로 값 목록이 갱신되지 않아
+ * 새 상태(QUEUED_FOR_BUILD, SUPERSEDED 등) 저장이 실패한다. 아직 ENUM인 컬럼만 엔티티와 같은 VARCHAR로 변환한다.
+ * 변환이 끝난 DB에서는 INFORMATION_SCHEMA 조회만 하고 ALTER를 실행하지 않는다.
+ */
+@Slf4j
+@Component
+public class EnumColumnMigration {
+
+    static final List<EnumColumn> COLUMNS = List.of(
+            new EnumColumn("DEPLOYMENTS", "STATUS", "VARCHAR(30)"),
+            new EnumColumn("DEPLOYMENTS", "CHECKPOINT", "VARCHAR(30)"),
+            new EnumColumn("DEPLOYMENTS", "BUILD_PROFILE", "VARCHAR(20)"),
+            new EnumColumn("DEPLOYMENT_STAGE_EVENTS", "STAGE", "VARCHAR(30)"),
+            new EnumColumn("DEPLOYMENT_CONFIGS", "BUILD_PROFILE", "VARCHAR(20)")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory 의존: ddl-auto가 테이블/컬럼을 만든 뒤에 실행되도록 순서 보장
+    public EnumColumnMigration(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        for (EnumColumn column : COLUMNS) {
+            List<String> types = jdbcTemplate.queryForList(
+                    "SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS " +
+                            "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = ? AND COLUMN_NAME = ?",
+                    String.class, column.table(), column.column());
+            if (!types.contains("ENUM")) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + column.table() + " ALTER COLUMN " + column.column()
+                    + " SET DATA TYPE " + column.type());
+            log.info("Enum column converted: table={}, column={}, type={}",
+                    column.table(), column.column(), column.type());
+        }
+    }
+
+    record EnumColumn(String table, String column, String type) {
+    }
+}
@@ -21,6 +21,7 @@ public enum ErrorCode {
     // Deployment
     DEPLOYMENT_NOT_FOUND(HttpStatus.NOT_FOUND, "DEPLOY_001", "배포를 찾을 수 없습니다"),
     DEPLOYMENT_CONFIG_NOT_FOUND(HttpStatus.NOT_FOUND, "DEPLOY_002", "배포 설정을 찾을 수 없습니다"),
+    DEPLOYMENT_SUPERSEDED(HttpStatus.CONFLICT, "DEPLOY_003", "최신 배포로 대체되었습니다"),
 
     // User
     USER_NOT_FOUND(HttpStatus.NOT_FOUND, "USER_001", "사용자를 찾을 수 없습니다"),
@@ -32,6 +33,7 @@ public enum ErrorCode {
     BUILD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "INFRA_004", "빌드에 실패했습니다"),
     DEPLOY_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "INFRA_005", "배포에 실패했습니다"),
     NCP_API_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "INFRA_006", "NCP API 호출에 실패했습니다"),
+    BUILD_CONTEXT_INVALID(HttpStatus.UNPROCESSABLE_ENTITY, "INFRA_007", "빌드 컨텍스트 검증에 실패했습니다"),
 
     // AI / NLP
     AI_API_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "AI_001", "AI API 호출에 실패했습니다"),
@@ -76,6 +76,14 @@ public class DeploymentWebSocketHandler extends TextWebSocketHandler {
     }
 
     public void sendToUser(String userId, Object message) {
+        sendToUser(userId, message, false);
+    }
+
+    /**
+     * @param droppable true면 전송 버퍼가 절반 이상 찬 (느린) 세션에는 보내지 않는다.
+     *                  버퍼 한도를 넘으면 세션이 종료되므로 로그처럼 다시 조회할 수 있는 메시지에 사용
+     */
+    public void sendToUser(String userId, Object message, boolean droppable) {
         Set<WebSocketSession> sessions = userSessions.get(userId);
         if (sessions == null || sessions.isEmpty()) {
             return;
@@ -84,6 +92,11 @@ public class DeploymentWebSocketHandler extends TextWebSocketHandler {
             String json = objectMapper.writeValueAsString(message);
             TextMessage textMessage = new TextMessage(json);
             for (WebSocketSession session : sessions) {
+                if (droppable && session instanceof ConcurrentWebSocketSessionDecorator decorator
+                        && decorator.getBufferSize() > BUFFER_SIZE_LIMIT / 2) {
+                    log.debug("WebSocket message dropped for slow session: sessionId={}", session.getId());
+                    continue;
+                }
                 if (session.isOpen()) {
                     try {
                         // ConcurrentWebSocketSessionDecorator handles thread-safety
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -33,4 +34,26 @@ public class WebSocketNotificationService {
 
         handler.sendToUser(String.valueOf(userId), payload);
     }
+
+    /**
+     * 빌드 로그 묶음 전송. 느린 세션에는 보내지 않으므로 클라이언트는 offset 공백을 REST(offset)로 채운다.
+     */
+    public void sendDeploymentLog(Long deploymentId, Long userId, long fromOffset, long nextOffset,
+                                  List<String> lines, long dropped) {
+        if (userId == null) {
+            return;
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", "deployment_log");
+        payload.put("deployment_id", String.valueOf(deploymentId));
+        payload.put("user_id", String.valueOf(userId));
+        payload.put("from_offset", fromOffset);
+        payload.put("next_offset", nextOffset);
+        payload.put("dropped", dropped);
+        payload.put("lines", lines);
+        payload.put("timestamp", Instant.now().toString());
+
+        handler.sendToUser(String.valueOf(userId), payload, true);
+    }
 }
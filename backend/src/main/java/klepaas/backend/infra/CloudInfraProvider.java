@@ -1,8 +1,18 @@
 package klepaas.backend.infra;
 
 import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.infra.dto.BuildCacheStats;
+import klepaas.backend.infra.dto.BuildLogLine;
+import klepaas.backend.infra.dto.BuildOptions;
 import klepaas.backend.infra.dto.BuildResult;
 import klepaas.backend.infra.dto.BuildStatusResult;
+import klepaas.backend.infra.dto.BuildTimings;
+import klepaas.backend.infra.dto.SourceUploadResult;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface CloudInfraProvider {
 
@@ -10,18 +20,59 @@ public interface CloudInfraProvider {
      * 소스코드 스트리밍 업로드 (Source Staging)
      * GitHub ZIP 스트림 -> Object Storage
      */
-    String uploadSourceToStorage(String gitToken, Deployment deployment);
+    SourceUploadResult uploadSourceToStorage(String gitToken, Deployment deployment);
+
+    /**
+     * 레지스트리에 해당 커밋의 이미지가 이미 있으면 이미지 URI 반환 (업로드/빌드 생략용)
+     */
+    Optional<String> findExistingImage(String gitToken, Deployment deployment);
+
+    /**
+     * 기존 이미지에 이 배포의 커밋 태그를 추가하고 배포할 이미지 URI 반환. 태그 추가에 실패하면 기존 URI를 그대로 반환
+     */
+    String retagImage(String sourceImageUri, Deployment deployment);
 
     /**
      * 빌드 트리거 (빌드만 시작, 배포는 별도)
      */
-    BuildResult triggerBuild(String storageKey, Deployment deployment);
+    BuildResult triggerBuild(String storageKey, Deployment deployment, BuildOptions options);
 
     /**
      * 빌드 상태 조회
      */
     BuildStatusResult getBuildStatus(String projectId, String buildId);
 
+    /**
+     * 빌드 완료 구독 (이벤트 기반, 대기 중 스레드를 점유하지 않음)
+     */
+    CompletableFuture<BuildStatusResult> watchBuildCompletion(String projectId, String buildId);
+
+    /**
+     * 빌드 단계별 시각 (대기/컨텍스트 다운로드/빌드). 확인할 수 없으면 empty
+     */
+    Optional<BuildTimings> getBuildTimings(String projectId, String buildId);
+
+    /**
+     * 레이어 캐시 적중/미적중 수. 캐시를 사용하지 않은 빌드이거나 빌드 로그를 읽을 수 없으면 empty
+     */
+    Optional<BuildCacheStats> getBuildCacheStats(String projectId, String buildId);
+
+    /**
+     * 빌드 컨테이너 로그 실시간 구독 (컨테이너 실행 순서대로 전달, 모든 컨테이너 로그가 끝나면 onComplete 호출).
+     * 반환된 핸들을 닫으면 구독을 중단한다.
+     */
+    AutoCloseable followBuildLogs(String projectId, String buildId, Consumer<BuildLogLine> onLine, Runnable onComplete);
+
+    /**
+     * 빌드 컨테이너 로그 전체 조회 (followBuildLogs와 같은 순서). 빌드 Pod가 없으면 빈 목록
+     */
+    List<BuildLogLine> getBuildLogs(String projectId, String buildId);
+
+    /**
+     * 진행 중 빌드 취소 (최신 커밋 배포로 대체된 경우)
+     */
+    void cancelBuild(String projectId, String buildId);
+
     /**
      * 스케일링
      */
@@ -0,0 +1,82 @@
+package klepaas.backend.infra.concurrency;
+
+import klepaas.backend.global.exception.BusinessException;
+import klepaas.backend.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 외부 시스템별 동시 호출 수 제한.
+ * 가상 스레드 모드에서는 스레드 풀 크기가 상한 역할을 하지 않으므로 외부 시스템 보호는 세마포어가 담당한다.
+ *
+ * <pre>
+ * try (var permit = limiter.acquire(ExternalSystem.GITHUB)) {
+ *     // GitHub API 호출
+ * }
+ * </pre>
+ */
+@Slf4j
+@Component
+public class ExternalCallLimiter {
+
+    public enum ExternalSystem {
+        GITHUB,
+        OBJECT_STORAGE,
+        KUBERNETES_API,
+        CONTAINER_REGISTRY
+    }
+
+    private final Map<ExternalSystem, Semaphore> semaphores = new EnumMap<>(ExternalSystem.class);
+
+    public ExternalCallLimiter(@Value("${deployment.limits.github:20}") int githubLimit,
+                               @Value("${deployment.limits.object-storage:20}") int objectStorageLimit,
+                               @Value("${deployment.limits.kubernetes-api:50}") int kubernetesApiLimit,
+                               @Value("${deployment.limits.container-registry:20}") int containerRegistryLimit) {
+        semaphores.put(ExternalSystem.GITHUB, new Semaphore(githubLimit, true));
+        semaphores.put(ExternalSystem.OBJECT_STORAGE, new Semaphore(objectStorageLimit, true));
+        semaphores.put(ExternalSystem.KUBERNETES_API, new Semaphore(kubernetesApiLimit, true));
+        semaphores.put(ExternalSystem.CONTAINER_REGISTRY, new Semaphore(containerRegistryLimit, true));
+    }
+
+    public Permit acquire(ExternalSystem system) {
+        Semaphore semaphore = semaphores.get(system);
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, system + " 호출 대기 중 인터럽트됨");
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("External call permit acquired: system={}, available={}", system, semaphore.availablePermits());
+        }
+        return new Permit(semaphore);
+    }
+
+    public int availablePermits(ExternalSystem system) {
+        return semaphores.get(system).availablePermits();
+    }
+
+    public static final class Permit implements AutoCloseable {
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
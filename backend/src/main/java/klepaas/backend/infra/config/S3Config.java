@@ -4,7 +4,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 
@@ -25,11 +28,47 @@ public class S3Config {
     @Value("${cloud.ncp.region}")
     private String region; // 예: AP_NORTHEAST_2
 
+    @Value("${cloud.ncp.storage.path-style-access:false}")
+    private boolean pathStyleAccess; // MinIO 등 로컬 S3 호환 스토리지는 true
+
     @Bean
     public S3Client s3Client() {
         return S3Client.builder()
                 .region(Region.of(region))
                 .endpointOverride(URI.create(endPoint))
+                .forcePathStyle(pathStyleAccess)
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)
+                ))
+                .build();
+    }
+
+    /**
+     * 소스 멀티파트 병렬 업로드용 비동기 클라이언트.
+     */
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .endpointOverride(URI.create(endPoint))
+                .forcePathStyle(pathStyleAccess)
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)
+                ))
+                .build();
+    }
+
+    /**
+     * 빌드 Pod에 계정 키 대신 넘기는 단일 객체 presigned URL 생성용.
+     */
+    @Bean
+    public S3Presigner s3Presigner() {
+        return S3Presigner.builder()
+                .region(Region.of(region))
+                .endpointOverride(URI.create(endPoint))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(pathStyleAccess)
+                        .build())
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(accessKey, secretKey)
                 ))
@@ -0,0 +1,9 @@
+package klepaas.backend.infra.dto;
+
+/**
+ * Kaniko 빌드 로그에서 집계한 레이어 캐시 적중/미적중 수 (캐시를 켠 빌드만)
+ */
+public record BuildCacheStats(
+        int hits,
+        int misses
+) {}
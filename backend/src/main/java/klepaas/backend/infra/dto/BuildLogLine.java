@@ -0,0 +1,9 @@
+package klepaas.backend.infra.dto;
+
+/**
+ * 빌드 Pod 컨테이너 로그 한 줄 (source-downloader, cache-warmer, kaniko)
+ */
+public record BuildLogLine(
+        String container,
+        String line
+) {}
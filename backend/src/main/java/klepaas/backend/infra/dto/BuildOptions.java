@@ -0,0 +1,11 @@
+package klepaas.backend.infra.dto;
+
+import klepaas.backend.deployment.entity.BuildProfile;
+
+/**
+ * 저장소별 배포 설정에서 빌드 Job 생성에 필요한 값만 추린 옵션
+ */
+public record BuildOptions(
+        boolean layerCacheEnabled,  // Kaniko --cache (레지스트리 캐시 repo 사용)
+        BuildProfile profile        // requests/limits, 빌드 노드 풀, 스냅샷 모드
+) {}
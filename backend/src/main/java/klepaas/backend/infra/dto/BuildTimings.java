@@ -0,0 +1,16 @@
+package klepaas.backend.infra.dto;
+
+import java.time.Instant;
+
+/**
+ * 빌드 Job/Pod 타임스탬프 기반 단계 시각 (빌드 대기, 컨텍스트 다운로드, 이미지 빌드 구분용)
+ * 컨텍스트를 별도 initContainer로 받지 않으면 context 시각은 null이고 다운로드 시간은 빌드에 포함된다.
+ */
+public record BuildTimings(
+        Instant jobCreatedAt,
+        Instant contextStartedAt,
+        Instant contextFinishedAt,
+        Instant buildStartedAt,
+        Instant buildFinishedAt
+) {
+}
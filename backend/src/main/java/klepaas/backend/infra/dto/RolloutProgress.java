@@ -0,0 +1,16 @@
+package klepaas.backend.infra.dto;
+
+/**
+ * K8s Deployment 롤아웃 진행 상황 (kubectl rollout status와 같은 기준)
+ * complete: 새 ReplicaSet Pod가 desired 수만큼 available이고 이전 Pod가 모두 정리됨
+ * failure: progressDeadlineSeconds 초과 등 롤아웃 실패 사유 (진행 중이면 null)
+ */
+public record RolloutProgress(
+        int desiredReplicas,
+        int updatedReplicas,
+        int readyReplicas,
+        int availableReplicas,
+        boolean complete,
+        String failure
+) {
+}
@@ -0,0 +1,10 @@
+package klepaas.backend.infra.dto;
+
+/**
+ * 적용된 K8s Deployment와 롤아웃 완료 판단 기준 generation (apply/patch 응답의 metadata.generation)
+ */
+public record RolloutTarget(
+        String appName,
+        long generation
+) {
+}
@@ -0,0 +1,10 @@
+package klepaas.backend.infra.dto;
+
+import java.util.List;
+
+public record SourceUploadResult(
+        String storageKey,
+        String contextHash,   // .dockerignore 적용 후 build context 내용 해시. 캐시된 소스를 재사용해 계산하지 않았으면 null
+        Long contextSizeBytes, // 업로드된(또는 캐시된) build context 아카이브 크기. 확인할 수 없으면 null
+        List<String> baseImages // Dockerfile FROM의 외부 베이스 이미지. 캐시된 소스를 재사용해 확인하지 않았으면 null
+) {}
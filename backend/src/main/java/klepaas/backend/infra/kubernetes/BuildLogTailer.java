@@ -0,0 +1,213 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import klepaas.backend.infra.dto.BuildLogLine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Kaniko 빌드 Pod 컨테이너 로그 스트리밍 (initContainer → kaniko 순서로 watchLog).
+ * Pod/컨테이너 시작 여부는 KanikoJobWatcher의 informer 캐시로 확인하고, 로그 스트림만 API 서버에 연결한다.
+ * 스트림은 빌드 내내 열려 있으므로 ExternalCallLimiter permit을 점유하지 않고 전용 executor에서 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BuildLogTailer {
+
+    private static final long POLL_INTERVAL_MS = 1000;
+
+    private final KubernetesClient kubernetesClient;
+    private final KanikoJobWatcher kanikoJobWatcher;
+
+    @Qualifier("buildLogExecutor")
+    private final Executor buildLogExecutor;
+
+    // Pod 생성 및 각 컨테이너 시작을 기다리는 최대 시간 (Pod 스케줄/이미지 pull 포함)
+    @Value("${deployment.logs.start-timeout:600000}")
+    private long startTimeout;
+
+    public AutoCloseable follow(String namespace, String jobName, Consumer<BuildLogLine> onLine, Runnable onComplete) {
+        Tail tail = new Tail(namespace, jobName, onLine, onComplete);
+        buildLogExecutor.execute(tail);
+        return tail;
+    }
+
+    /**
+     * 이미 시작된 컨테이너의 현재까지 로그 (follow 없이 1회 조회)
+     */
+    public List<BuildLogLine> read(String namespace, String jobName) {
+        Pod pod = kanikoJobWatcher.findBuildPod(jobName);
+        if (pod == null) {
+            return List.of();
+        }
+        List<BuildLogLine> lines = new ArrayList<>();
+        for (String container : containerOrder(pod)) {
+            if (!isStarted(pod, container)) {
+                continue;
+            }
+            String content = kubernetesClient.pods()
+                    .inNamespace(namespace)
+                    .withName(pod.getMetadata().getName())
+                    .inContainer(container)
+                    .getLog();
+            if (content != null && !content.isEmpty()) {
+                content.lines().forEach(line -> lines.add(new BuildLogLine(container, line)));
+            }
+        }
+        return lines;
+    }
+
+    private static List<String> containerOrder(Pod pod) {
+        List<Container> init = pod.getSpec().getInitContainers() != null ? pod.getSpec().getInitContainers() : List.of();
+        return Stream.concat(init.stream(), pod.getSpec().getContainers().stream())
+                .map(Container::getName)
+                .toList();
+    }
+
+    private static boolean isStarted(Pod pod, String container) {
+        ContainerStatus status = containerStatus(pod, container);
+        return status != null && status.getState() != null
+                && (status.getState().getRunning() != null || status.getState().getTerminated() != null);
+    }
+
+    private static ContainerStatus containerStatus(Pod pod, String container) {
+        if (pod.getStatus() == null) {
+            return null;
+        }
+        return Stream.of(pod.getStatus().getInitContainerStatuses(), pod.getStatus().getContainerStatuses())
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .filter(cs -> container.equals(cs.getName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean isTerminal(Pod pod) {
+        String phase = pod.getStatus() != null ? pod.getStatus().getPhase() : null;
+        return "Succeeded".equals(phase) || "Failed".equals(phase);
+    }
+
+    private final class Tail implements Runnable, AutoCloseable {
+
+        private final String namespace;
+        private final String jobName;
+        private final Consumer<BuildLogLine> onLine;
+        private final Runnable onComplete;
+
+        private volatile boolean closed;
+        private volatile LogWatch current;
+
+        private Tail(String namespace, String jobName, Consumer<BuildLogLine> onLine, Runnable onComplete) {
+            this.namespace = namespace;
+            this.jobName = jobName;
+            this.onLine = onLine;
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Pod pod = awaitPod();
+                if (pod == null) {
+                    return;
+                }
+                String podName = pod.getMetadata().getName();
+                for (String container : containerOrder(pod)) {
+                    if (!awaitStarted(container)) {
+                        continue;
+                    }
+                    stream(podName, container);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                if (!closed) {
+                    log.warn("Build log stream failed: job={}, error={}", jobName, e.getMessage());
+                }
+            } finally {
+                onComplete.run();
+            }
+        }
+
+        private void stream(String podName, String container) throws Exception {
+            try (LogWatch watch = kubernetesClient.pods()
+                    .inNamespace(namespace)
+                    .withName(podName)
+                    .inContainer(container)
+                    .watchLog();
+                 BufferedReader reader = new BufferedReader(
+                         new InputStreamReader(watch.getOutput(), StandardCharsets.UTF_8))) {
+                current = watch;
+                if (closed) {
+                    return;
+                }
+                String line;
+                while (!closed && (line = reader.readLine()) != null) {
+                    onLine.accept(new BuildLogLine(container, line));
+                }
+            } finally {
+                current = null;
+            }
+        }
+
+        private Pod awaitPod() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + startTimeout;
+            while (!closed && System.currentTimeMillis() < deadline) {
+                Pod pod = kanikoJobWatcher.findBuildPod(jobName);
+                if (pod != null) {
+                    return pod;
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+            return null;
+        }
+
+        /**
+         * 컨테이너가 시작(또는 종료)되면 true. 시작 전에 Pod가 끝났거나 사라지면 false
+         */
+        private boolean awaitStarted(String container) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + startTimeout;
+            while (!closed && System.currentTimeMillis() < deadline) {
+                Pod pod = kanikoJobWatcher.findBuildPod(jobName);
+                if (pod == null) {
+                    return false;
+                }
+                if (isStarted(pod, container)) {
+                    return true;
+                }
+                if (isTerminal(pod)) {
+                    return false;
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+            return false;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            LogWatch watch = current;
+            if (watch != null) {
+                watch.close();
+            }
+        }
+    }
+}
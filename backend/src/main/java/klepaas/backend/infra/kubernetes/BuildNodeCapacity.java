@@ -0,0 +1,205 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import jakarta.annotation.PreDestroy;
+import klepaas.backend.deployment.entity.BuildProfile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 빌드 노드 풀(kaniko.build-node.label 라벨이 있는 노드)의 남은 allocatable 리소스 확인.
+ * Pod는 한 노드에만 배치되므로 합계가 아니라 노드별 여유분으로 판단한다.
+ * 노드/Pod는 informer 캐시로 구독해 슬롯 판단 중 API 서버를 호출하지 않는다 (BuildSlotGovernor 락 안에서 호출됨).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BuildNodeCapacity {
+
+    private static final String NODE_NAME_INDEX = "nodeName";
+    private static final String DEPLOYMENT_ID_LABEL = "klepaas.io/deployment-id";
+
+    private final KubernetesClient kubernetesClient;
+
+    @Value("${kaniko.build-node.label:klepaas.io/build-pool}")
+    private String buildNodeLabel;
+
+    // resource-aware 모드가 아니면 클러스터 전체 Pod 캐시를 두지 않는다
+    @Value("${deployment.build-slots.resource-aware:false}")
+    private boolean enabled;
+
+    private volatile SharedIndexInformer<Node> nodeInformer;
+    private volatile SharedIndexInformer<Pod> podInformer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        SharedIndexInformer<Node> buildNodes = kubernetesClient.nodes()
+                .withLabel(buildNodeLabel)
+                .runnableInformer(0);
+
+        // 빌드 노드에 올라간 다른 워크로드 requests도 차감해야 하므로 전체 네임스페이스 Pod를 노드 이름으로 색인
+        SharedIndexInformer<Pod> pods = kubernetesClient.pods()
+                .inAnyNamespace()
+                .runnableInformer(0);
+        pods.addIndexers(Map.of(NODE_NAME_INDEX, pod -> pod.getSpec() != null && pod.getSpec().getNodeName() != null
+                ? List.of(pod.getSpec().getNodeName()) : List.of()));
+
+        startInformer(buildNodes, "Node");
+        startInformer(pods, "Pod");
+        this.nodeInformer = buildNodes;
+        this.podInformer = pods;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (nodeInformer != null) {
+            nodeInformer.stop();
+        }
+        if (podInformer != null) {
+            podInformer.stop();
+        }
+    }
+
+    /**
+     * 프로필의 requests를 수용할 수 있는 빌드 노드가 있는지 확인.
+     * granted(슬롯을 받은 배포 → 프로필) 중 빌드 Pod가 아직 노드에 배치되지 않은 것은 Pod requests에 잡히지 않으므로
+     * 먼저 노드 여유분에서 예약해 같은 자리를 중복으로 내주지 않는다.
+     * 빌드 노드가 없거나 캐시가 아직 동기화되지 않았으면 리소스 기준 제한을 적용하지 않는다 (슬롯 수 기준만 적용).
+     */
+    public boolean fits(BuildProfile profile, Map<Long, BuildProfile> granted) {
+        SharedIndexInformer<Node> nodes = nodeInformer;
+        SharedIndexInformer<Pod> pods = podInformer;
+        if (nodes == null || pods == null || !nodes.hasSynced() || !pods.hasSynced()) {
+            return true;
+        }
+
+        try {
+            Set<String> scheduled = pods.getStore().list().stream()
+                    .filter(p -> p.getSpec() != null && p.getSpec().getNodeName() != null)
+                    .map(p -> p.getMetadata().getLabels() != null
+                            ? p.getMetadata().getLabels().get(DEPLOYMENT_ID_LABEL) : null)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            List<BuildProfile> unscheduled = granted.entrySet().stream()
+                    .filter(e -> e.getValue() != null && !scheduled.contains(String.valueOf(e.getKey())))
+                    .map(Map.Entry::getValue)
+                    .toList();
+
+            boolean fits = fits(profile, nodes.getStore().list(),
+                    node -> pods.getIndexer().byIndex(NODE_NAME_INDEX, node.getMetadata().getName()), unscheduled);
+            if (!fits) {
+                log.debug("No build node fits profile: profile={}, unscheduledGrants={}", profile, unscheduled.size());
+            }
+            return fits;
+        } catch (Exception e) {
+            log.warn("Build node capacity check failed, falling back to slot count: error={}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 노드별 여유분 = allocatable - 실행 중 Pod requests - 미배치 grant 예약분 (앞선 grant부터 처음 맞는 노드에 예약).
+     */
+    static boolean fits(BuildProfile profile, List<Node> nodes, Function<Node, List<Pod>> podsOn,
+                        Collection<BuildProfile> unscheduled) {
+        if (nodes.isEmpty()) {
+            return true;
+        }
+
+        List<BigDecimal[]> free = new ArrayList<>();
+        for (Node node : nodes) {
+            if (!isSchedulable(node)) {
+                continue;
+            }
+            Map<String, Quantity> allocatable = node.getStatus().getAllocatable();
+            BigDecimal freeCpu = amount(allocatable.get("cpu"));
+            BigDecimal freeMemory = amount(allocatable.get("memory"));
+
+            for (Pod pod : podsOn.apply(node)) {
+                if (isTerminated(pod)) {
+                    continue;
+                }
+                for (Container container : pod.getSpec().getContainers()) {
+                    if (container.getResources() == null || container.getResources().getRequests() == null) {
+                        continue;
+                    }
+                    freeCpu = freeCpu.subtract(amount(container.getResources().getRequests().get("cpu")));
+                    freeMemory = freeMemory.subtract(amount(container.getResources().getRequests().get("memory")));
+                }
+            }
+            free.add(new BigDecimal[]{freeCpu, freeMemory});
+        }
+
+        for (BuildProfile reserved : unscheduled) {
+            BigDecimal[] requests = requests(reserved);
+            free.stream()
+                    .filter(f -> f[0].compareTo(requests[0]) >= 0 && f[1].compareTo(requests[1]) >= 0)
+                    .findFirst()
+                    .ifPresent(f -> {
+                        f[0] = f[0].subtract(requests[0]);
+                        f[1] = f[1].subtract(requests[1]);
+                    });
+        }
+
+        BigDecimal[] requests = requests(profile);
+        return free.stream().anyMatch(f -> f[0].compareTo(requests[0]) >= 0 && f[1].compareTo(requests[1]) >= 0);
+    }
+
+    static boolean isSchedulable(Node node) {
+        if (node.getSpec() != null && Boolean.TRUE.equals(node.getSpec().getUnschedulable())) {
+            return false;
+        }
+        return node.getStatus() != null && node.getStatus().getAllocatable() != null
+                && node.getStatus().getConditions() != null
+                && node.getStatus().getConditions().stream()
+                        .anyMatch(c -> "Ready".equals(c.getType()) && "True".equals(c.getStatus()));
+    }
+
+    private static boolean isTerminated(Pod pod) {
+        return pod.getStatus() != null
+                && ("Succeeded".equals(pod.getStatus().getPhase()) || "Failed".equals(pod.getStatus().getPhase()));
+    }
+
+    private static BigDecimal[] requests(BuildProfile profile) {
+        return new BigDecimal[]{
+                Quantity.getAmountInBytes(new Quantity(profile.getCpuRequest())),
+                Quantity.getAmountInBytes(new Quantity(profile.getMemoryRequest()))
+        };
+    }
+
+    private static BigDecimal amount(Quantity quantity) {
+        return quantity != null ? Quantity.getAmountInBytes(quantity) : BigDecimal.ZERO;
+    }
+
+    private void startInformer(SharedIndexInformer<?> target, String kind) {
+        target.start().whenComplete((ignored, e) -> {
+            if (e != null) {
+                log.error("Build capacity {} informer start failed: error={}", kind, e.getMessage());
+            } else {
+                log.info("Build capacity {} informer started: label={}", kind, buildNodeLabel);
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import klepaas.backend.deployment.entity.BuildProfile;
+import klepaas.backend.infra.concurrency.ExternalCallLimiter;
+import klepaas.backend.infra.concurrency.ExternalCallLimiter.ExternalSystem;
+import klepaas.backend.infra.util.RendezvousHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 저장소별 선호 빌드 노드 선정 (노드 로컬 캐시 재사용용).
+ * 프로필 노드 풀 → 전체 빌드 노드 → 스케줄 가능한 전체 노드 순으로 후보를 정하고 rendezvous 해싱으로 순위를 매긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BuildNodePlacement {
+
+    private final KubernetesClient kubernetesClient;
+    private final ExternalCallLimiter callLimiter;
+
+    @Value("${kaniko.build-node.label:klepaas.io/build-pool}")
+    private String buildNodeLabel;
+
+    /**
+     * 선호 순서대로 최대 count개의 노드 이름. 조회에 실패하면 빈 목록 (기본 스케줄러 배치)
+     */
+    public List<String> preferredNodes(String repositoryKey, BuildProfile profile, int count) {
+        try (var permit = callLimiter.acquire(ExternalSystem.KUBERNETES_API)) {
+            List<Node> nodes = kubernetesClient.nodes().list().getItems().stream()
+                    .filter(BuildNodeCapacity::isSchedulable)
+                    .toList();
+
+            List<String> candidates = names(nodes.stream()
+                    .filter(n -> profile.getNodePool().equals(labelOf(n)))
+                    .toList());
+            if (candidates.isEmpty()) {
+                candidates = names(nodes.stream().filter(n -> labelOf(n) != null).toList());
+            }
+            if (candidates.isEmpty()) {
+                candidates = names(nodes);
+            }
+
+            List<String> ranked = RendezvousHash.rank(repositoryKey, candidates);
+            return ranked.subList(0, Math.min(count, ranked.size()));
+        } catch (Exception e) {
+            log.warn("Build node placement lookup failed, using default scheduling: repo={}, error={}",
+                    repositoryKey, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private String labelOf(Node node) {
+        return node.getMetadata().getLabels() != null ? node.getMetadata().getLabels().get(buildNodeLabel) : null;
+    }
+
+    private static List<String> names(List<Node> nodes) {
+        return nodes.stream().map(n -> n.getMetadata().getName()).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.ContainerStateWaiting;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+import io.fabric8.kubernetes.api.model.PodStatus;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 빌드 Pod가 더 진행될 수 없는 상태인지 판단하는 규칙 (informer 캐시의 Pod/Event로 메모리에서 평가).
+ * Job.status.failed는 컨테이너가 실행 후 종료된 경우만 올라가므로,
+ * FailedMount/ImagePullBackOff 등 컨테이너 시작 전 실패는 별도로 감지해야 한다.
+ */
+public final class BuildPodFailureRules {
+
+    private static final Set<String> FATAL_WAITING_REASONS = Set.of(
+            "ImagePullBackOff", "ErrImagePull", "CreateContainerConfigError", "InvalidImageName");
+
+    private BuildPodFailureRules() {
+    }
+
+    /**
+     * @return 실패 사유. 진행 가능한 상태면 null
+     */
+    public static String evaluate(Pod pod) {
+        PodStatus podStatus = pod.getStatus();
+        if (podStatus == null) {
+            return null;
+        }
+        String podName = pod.getMetadata().getName();
+        String namespace = pod.getMetadata().getNamespace();
+
+        // Pod 자체가 Failed 상태
+        if ("Failed".equals(podStatus.getPhase())) {
+            return "Pod failed: " + podStatus.getReason();
+        }
+
+        // initContainer 실패 감지 (source-downloader: S3 다운로드/압축 해제 실패, cache-warmer 등)
+        List<ContainerStatus> initStatuses = podStatus.getInitContainerStatuses();
+        if (initStatuses != null) {
+            for (ContainerStatus cs : initStatuses) {
+                if (cs.getState() != null && cs.getState().getTerminated() != null) {
+                    int exitCode = cs.getState().getTerminated().getExitCode();
+                    if (exitCode != 0) {
+                        return "initContainer '" + cs.getName() + "' 실패 (exitCode=" + exitCode +
+                                "): kubectl logs -n " + namespace + " " + podName + " -c " + cs.getName();
+                    }
+                }
+            }
+        }
+
+        // 컨테이너 waiting reason 체크 (이미지 풀 실패, 설정 오류 등)
+        String waiting = fatalWaitingReason(initStatuses);
+        if (waiting == null) {
+            waiting = fatalWaitingReason(podStatus.getContainerStatuses());
+        }
+        if (waiting != null) {
+            return waiting;
+        }
+
+        // Pod conditions 체크 — Unschedulable 등
+        if (podStatus.getConditions() != null) {
+            for (PodCondition condition : podStatus.getConditions()) {
+                if ("False".equals(condition.getStatus())
+                        && "PodScheduled".equals(condition.getType())
+                        && "Unschedulable".equals(condition.getReason())) {
+                    return "Pod unschedulable: " + condition.getMessage();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pod 상태에 드러나지 않는 실패 (볼륨 마운트 실패는 Pod가 ContainerCreating에 머무르고 Event로만 보고된다)
+     *
+     * @return 실패 사유. 해당 없는 이벤트면 null
+     */
+    public static String evaluate(Event event) {
+        if ("Warning".equals(event.getType()) && "FailedMount".equals(event.getReason())) {
+            String podName = event.getInvolvedObject().getName();
+            return "FailedMount: Secret 또는 ConfigMap을 찾을 수 없음 (kubectl describe pod " +
+                    podName + " -n " + event.getInvolvedObject().getNamespace() + " 로 확인)";
+        }
+        return null;
+    }
+
+    private static String fatalWaitingReason(List<ContainerStatus> statuses) {
+        if (statuses == null) {
+            return null;
+        }
+        for (ContainerStatus cs : statuses) {
+            ContainerStateWaiting waiting = cs.getState() != null ? cs.getState().getWaiting() : null;
+            if (waiting != null && FATAL_WAITING_REASONS.contains(waiting.getReason())) {
+                return waiting.getReason() + (waiting.getMessage() != null ? ": " + waiting.getMessage() : "");
+            }
+        }
+        return null;
+    }
+}
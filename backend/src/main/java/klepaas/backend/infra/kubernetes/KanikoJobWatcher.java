@@ -0,0 +1,303 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobStatus;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import jakarta.annotation.PreDestroy;
+import klepaas.backend.infra.dto.BuildStatusResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * klepaas가 생성한 Kaniko Job을 informer로 구독하여 빌드 완료를 이벤트 기반으로 전달.
+ * 빌드 대기 중 스레드를 점유하지 않고, Job 상태 변경 즉시 등록된 future를 완료한다.
+ * 빌드 Pod와 Pod Warning 이벤트도 informer 캐시로 구독해 Job 상태에 드러나지 않는 조기 실패
+ * (ImagePullBackOff, Unschedulable, FailedMount 등)를 API 조회 없이 감지한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KanikoJobWatcher {
+
+    private static final String MANAGED_BY_LABEL = "app.kubernetes.io/managed-by";
+    private static final String MANAGED_BY_VALUE = "klepaas";
+    private static final String JOB_NAME_LABEL = "job-name";
+
+    private final KubernetesClient kubernetesClient;
+
+    @Value("${kubernetes.namespace:default}")
+    private String namespace;
+
+    @Value("${deployment.pipeline.build-watch-resync:300000}")
+    private long resyncPeriod;
+
+    /** jobName → 빌드 완료를 기다리는 future */
+    private final Map<String, CompletableFuture<BuildStatusResult>> pendingBuilds = new ConcurrentHashMap<>();
+
+    private volatile SharedIndexInformer<Job> informer;
+    private volatile SharedIndexInformer<Pod> podInformer;
+    private volatile SharedIndexInformer<Event> eventInformer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        SharedIndexInformer<Job> jobInformer = kubernetesClient.batch().v1().jobs()
+                .inNamespace(namespace)
+                .withLabel(MANAGED_BY_LABEL, MANAGED_BY_VALUE)
+                .runnableInformer(resyncPeriod);
+
+        jobInformer.addEventHandler(new ResourceEventHandler<Job>() {
+            @Override
+            public void onAdd(Job job) {
+                handleJobEvent(job);
+            }
+
+            @Override
+            public void onUpdate(Job oldJob, Job newJob) {
+                handleJobEvent(newJob);
+            }
+
+            @Override
+            public void onDelete(Job job, boolean deletedFinalStateUnknown) {
+                handleJobDeleted(job);
+            }
+        });
+
+        // 빌드 Pod는 Job 템플릿 라벨을 그대로 가지므로 같은 라벨로 범위를 좁힌다
+        SharedIndexInformer<Pod> buildPodInformer = kubernetesClient.pods()
+                .inNamespace(namespace)
+                .withLabel(MANAGED_BY_LABEL, MANAGED_BY_VALUE)
+                .runnableInformer(resyncPeriod);
+
+        buildPodInformer.addEventHandler(new ResourceEventHandler<Pod>() {
+            @Override
+            public void onAdd(Pod pod) {
+                handlePodEvent(pod);
+            }
+
+            @Override
+            public void onUpdate(Pod oldPod, Pod newPod) {
+                handlePodEvent(newPod);
+            }
+
+            @Override
+            public void onDelete(Pod pod, boolean deletedFinalStateUnknown) {
+            }
+        });
+
+        // Event에는 빌드 라벨이 없으므로 Pod 대상 Warning만 구독하고 빌드 Pod 캐시와 대조한다
+        SharedIndexInformer<Event> podEventInformer = kubernetesClient.v1().events()
+                .inNamespace(namespace)
+                .withField("involvedObject.kind", "Pod")
+                .withField("type", "Warning")
+                .runnableInformer(resyncPeriod);
+
+        podEventInformer.addEventHandler(new ResourceEventHandler<Event>() {
+            @Override
+            public void onAdd(Event event) {
+                handleWarningEvent(event);
+            }
+
+            @Override
+            public void onUpdate(Event oldEvent, Event newEvent) {
+                handleWarningEvent(newEvent);
+            }
+
+            @Override
+            public void onDelete(Event event, boolean deletedFinalStateUnknown) {
+            }
+        });
+
+        startInformer(jobInformer, "Job");
+        startInformer(buildPodInformer, "Pod");
+        startInformer(podEventInformer, "Event");
+        this.informer = jobInformer;
+        this.podInformer = buildPodInformer;
+        this.eventInformer = podEventInformer;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (informer != null) {
+            informer.stop();
+        }
+        if (podInformer != null) {
+            podInformer.stop();
+        }
+        if (eventInformer != null) {
+            eventInformer.stop();
+        }
+    }
+
+    /**
+     * Job 완료 시 완료되는 future 반환.
+     * 등록 이전에 이미 끝난 Job은 informer 캐시에서 즉시 확인한다.
+     */
+    public CompletableFuture<BuildStatusResult> watch(String jobName) {
+        CompletableFuture<BuildStatusResult> future =
+                pendingBuilds.computeIfAbsent(jobName, k -> new CompletableFuture<>());
+        future.whenComplete((result, e) -> pendingBuilds.remove(jobName, future));
+
+        SharedIndexInformer<Job> current = informer;
+        if (current != null) {
+            Job cached = current.getStore().getByKey(namespace + "/" + jobName);
+            if (cached != null) {
+                handleJobEvent(cached);
+            }
+        }
+        String podFailure = findPodFailure(jobName);
+        if (podFailure != null) {
+            failBuild(jobName, podFailure);
+        }
+        return future;
+    }
+
+    /**
+     * informer 캐시 기준 Job의 최신 빌드 Pod (backoff 재시도로 여러 개면 마지막 시도). 없으면 null
+     */
+    public Pod findBuildPod(String jobName) {
+        SharedIndexInformer<Pod> pods = podInformer;
+        if (pods == null) {
+            return null;
+        }
+        return pods.getStore().list().stream()
+                .filter(p -> jobName.equals(jobNameOf(p)))
+                .max(Comparator.comparing(p -> p.getMetadata().getCreationTimestamp()))
+                .orElse(null);
+    }
+
+    /**
+     * informer 캐시 기준 빌드 Pod 조기 실패 사유. 실패가 없거나 informer가 아직 시작되지 않았으면 null.
+     */
+    public String findPodFailure(String jobName) {
+        SharedIndexInformer<Pod> pods = podInformer;
+        if (pods == null) {
+            return null;
+        }
+        List<Pod> jobPods = pods.getStore().list().stream()
+                .filter(p -> jobName.equals(jobNameOf(p)))
+                .toList();
+        for (Pod pod : jobPods) {
+            String reason = BuildPodFailureRules.evaluate(pod);
+            if (reason != null) {
+                return reason;
+            }
+        }
+
+        SharedIndexInformer<Event> events = eventInformer;
+        if (events == null || jobPods.isEmpty()) {
+            return null;
+        }
+        Set<String> podNames = jobPods.stream()
+                .map(p -> p.getMetadata().getName())
+                .collect(Collectors.toSet());
+        return events.getStore().list().stream()
+                .filter(e -> podNames.contains(e.getInvolvedObject().getName()))
+                .map(BuildPodFailureRules::evaluate)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void handleJobEvent(Job job) {
+        String jobName = job.getMetadata().getName();
+        CompletableFuture<BuildStatusResult> future = pendingBuilds.get(jobName);
+        if (future == null) {
+            return;
+        }
+
+        BuildStatusResult result = toBuildStatus(job);
+        if (result.completed()) {
+            log.info("Kaniko Job finished (watch): job={}, result={}", jobName, result.message());
+            future.complete(result);
+        }
+    }
+
+    private void handlePodEvent(Pod pod) {
+        String jobName = jobNameOf(pod);
+        if (jobName == null || !pendingBuilds.containsKey(jobName)) {
+            return;
+        }
+        String reason = BuildPodFailureRules.evaluate(pod);
+        if (reason != null) {
+            failBuild(jobName, reason);
+        }
+    }
+
+    private void handleWarningEvent(Event event) {
+        SharedIndexInformer<Pod> pods = podInformer;
+        if (pods == null || event.getInvolvedObject() == null) {
+            return;
+        }
+        Pod pod = pods.getStore().getByKey(namespace + "/" + event.getInvolvedObject().getName());
+        String jobName = pod != null ? jobNameOf(pod) : null;
+        if (jobName == null || !pendingBuilds.containsKey(jobName)) {
+            return;
+        }
+        String reason = BuildPodFailureRules.evaluate(event);
+        if (reason != null) {
+            failBuild(jobName, reason);
+        }
+    }
+
+    private void failBuild(String jobName, String reason) {
+        CompletableFuture<BuildStatusResult> future = pendingBuilds.get(jobName);
+        if (future != null && future.complete(new BuildStatusResult(true, false, null, reason))) {
+            log.warn("Kaniko Pod early failure detected (watch): job={}, reason={}", jobName, reason);
+        }
+    }
+
+    private static String jobNameOf(Pod pod) {
+        return pod.getMetadata().getLabels() != null ? pod.getMetadata().getLabels().get(JOB_NAME_LABEL) : null;
+    }
+
+    private void startInformer(SharedIndexInformer<?> target, String kind) {
+        target.start().whenComplete((ignored, e) -> {
+            if (e != null) {
+                log.error("Kaniko {} informer start failed: namespace={}, error={}", kind, namespace, e.getMessage());
+            } else {
+                log.info("Kaniko {} informer started: namespace={}", kind, namespace);
+            }
+        });
+    }
+
+    private void handleJobDeleted(Job job) {
+        String jobName = job.getMetadata().getName();
+        CompletableFuture<BuildStatusResult> future = pendingBuilds.get(jobName);
+        if (future == null) {
+            return;
+        }
+
+        BuildStatusResult result = toBuildStatus(job);
+        future.complete(result.completed() ? result
+                : new BuildStatusResult(true, false, null, "Kaniko Job이 완료 전에 삭제됨: " + jobName));
+    }
+
+    private BuildStatusResult toBuildStatus(Job job) {
+        JobStatus status = job.getStatus();
+        if (status == null) {
+            return new BuildStatusResult(false, false, null, "running");
+        }
+
+        boolean succeeded = status.getSucceeded() != null && status.getSucceeded() > 0;
+        boolean failed = status.getFailed() != null && status.getFailed() > 0;
+        String message = succeeded ? "success" : (failed ? "failed" : "running");
+        return new BuildStatusResult(succeeded || failed, succeeded, null, message);
+    }
+}
@@ -3,6 +3,8 @@ package klepaas.backend.infra.kubernetes;
 import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscaler;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscalerBuilder;
 import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
 import io.fabric8.kubernetes.api.model.networking.v1.IngressBuilder;
 
@@ -10,13 +12,19 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import klepaas.backend.deployment.entity.DeploymentConfig;
 import klepaas.backend.global.exception.BusinessException;
 import klepaas.backend.global.exception.ErrorCode;
+import klepaas.backend.infra.concurrency.ExternalCallLimiter;
+import klepaas.backend.infra.concurrency.ExternalCallLimiter.ExternalSystem;
+import klepaas.backend.infra.dto.RolloutTarget;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,7 +32,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class KubernetesManifestGenerator {
 
+    private static final String RESTARTED_AT_ANNOTATION = "kubectl.kubernetes.io/restartedAt";
+    // fabric8 serverSideApply의 기본 field manager
+    static final String APPLY_FIELD_MANAGER = "fabric8";
+    // 고정 replicas → HPA 전환 시 spec.replicas 소유권을 넘겨받는 field manager
+    static final String REPLICAS_HANDOVER_FIELD_MANAGER = "klepaas-hpa-handover";
+
     private final KubernetesClient kubernetesClient;
+    private final ExternalCallLimiter callLimiter;
 
     @Value("${kubernetes.namespace:default}")
     private String namespace;
@@ -32,25 +47,49 @@ public class KubernetesManifestGenerator {
     @Value("${kubernetes.image-pull-secret:ncp-cr}")
     private String imagePullSecretName;
 
+    // 새 Pod가 이 시간 안에 준비되지 않으면 Deployment가 ProgressDeadlineExceeded로 롤아웃 실패를 표시
+    @Value("${kubernetes.rollout.progress-deadline-seconds:600}")
+    private int progressDeadlineSeconds;
+
+    // DeploymentConfig에 requests/limits가 없을 때 기본값 (빈 값이면 해당 limit 미설정)
+    @Value("${kubernetes.app.cpu-request:100m}")
+    private String defaultCpuRequest;
+
+    @Value("${kubernetes.app.cpu-limit:}")
+    private String defaultCpuLimit;
+
+    @Value("${kubernetes.app.memory-request:128Mi}")
+    private String defaultMemoryRequest;
+
+    @Value("${kubernetes.app.memory-limit:512Mi}")
+    private String defaultMemoryLimit;
+
+    @Value("${kubernetes.app.target-cpu-utilization:70}")
+    private int defaultTargetCpuUtilization;
+
     /**
-     * K8s Deployment + Service + Ingress 생성/업데이트
+     * K8s Deployment + Service + Ingress (+ maxReplicas > minReplicas면 HPA) 생성/업데이트.
+     * 반환된 generation 이후 롤아웃 완료는 RolloutWatcher로 확인한다.
      */
-    public void deploy(String appName, String imageUri, DeploymentConfig config, Long repoId) {
+    public RolloutTarget deploy(String appName, String imageUri, DeploymentConfig config, Long repoId) {
         Map<String, String> labels = Map.of(
                 "app.kubernetes.io/name", appName,
                 "app.kubernetes.io/managed-by", "klepaas",
                 "klepaas.io/repository-id", String.valueOf(repoId)
         );
 
-        try {
-            createOrUpdateDeployment(appName, imageUri, config, labels);
+        try (var permit = callLimiter.acquire(ExternalSystem.KUBERNETES_API)) {
+            Deployment applied = createOrUpdateDeployment(appName, imageUri, config, labels);
             createOrUpdateService(appName, config.getContainerPort(), labels);
+            createOrDeleteAutoscaler(appName, config, labels);
 
             if (config.getDomainUrl() != null && !config.getDomainUrl().isBlank()) {
                 createOrUpdateIngress(appName, config.getDomainUrl(), config.getContainerPort(), labels);
             }
 
-            log.info("K8s resources deployed: app={}, namespace={}", appName, namespace);
+            long generation = applied.getMetadata().getGeneration();
+            log.info("K8s resources deployed: app={}, namespace={}, generation={}", appName, namespace, generation);
+            return new RolloutTarget(appName, generation);
         } catch (Exception e) {
             log.error("K8s deployment failed: app={}, error={}", appName, e.getMessage(), e);
             throw new BusinessException(ErrorCode.DEPLOY_FAILED, "K8s 배포 실패: " + e.getMessage());
@@ -61,27 +100,113 @@ public class KubernetesManifestGenerator {
      * K8s 리소스 스케일링
      */
     public void scale(String appName, int replicas) {
-        kubernetesClient.apps().deployments()
-                .inNamespace(namespace)
-                .withName(appName)
-                .scale(replicas);
+        try (var permit = callLimiter.acquire(ExternalSystem.KUBERNETES_API)) {
+            kubernetesClient.apps().deployments()
+                    .inNamespace(namespace)
+                    .withName(appName)
+                    .scale(replicas);
+        }
         log.info("Scaled: app={}, replicas={}", appName, replicas);
     }
 
-    private void createOrUpdateDeployment(String appName, String imageUri,
-                                           DeploymentConfig config, Map<String, String> labels) {
+    /**
+     * 롤링 재시작 (kubectl rollout restart와 동일).
+     * Pod 템플릿의 restartedAt 어노테이션만 바꿔 레플리카 수와 롤아웃 전략(maxSurge/maxUnavailable)을 그대로 따른다.
+     */
+    public RolloutTarget restart(String appName) {
+        try (var permit = callLimiter.acquire(ExternalSystem.KUBERNETES_API)) {
+            Deployment restarted = kubernetesClient.apps().deployments()
+                    .inNamespace(namespace)
+                    .withName(appName)
+                    .edit(d -> new DeploymentBuilder(d)
+                            .editSpec()
+                                .editTemplate()
+                                    .editOrNewMetadata()
+                                        .addToAnnotations(RESTARTED_AT_ANNOTATION, Instant.now().toString())
+                                    .endMetadata()
+                                .endTemplate()
+                            .endSpec()
+                            .build());
+            long generation = restarted.getMetadata().getGeneration();
+            log.info("Rolling restart requested: app={}, replicas={}, generation={}",
+                    appName, restarted.getSpec().getReplicas(), generation);
+            return new RolloutTarget(appName, generation);
+        } catch (Exception e) {
+            log.error("K8s restart failed: app={}, error={}", appName, e.getMessage(), e);
+            throw new BusinessException(ErrorCode.DEPLOY_FAILED, "K8s 재시작 실패: " + e.getMessage());
+        }
+    }
+
+    private Deployment createOrUpdateDeployment(String appName, String imageUri,
+                                                DeploymentConfig config, Map<String, String> labels) {
+        var deployments = kubernetesClient.apps().deployments().inNamespace(namespace);
+        if (config.isAutoscalingEnabled()) {
+            Deployment handover = buildReplicasHandover(deployments.withName(appName).get());
+            if (handover != null) {
+                deployments.resource(handover)
+                        .fieldManager(REPLICAS_HANDOVER_FIELD_MANAGER)
+                        .serverSideApply();
+                log.info("Replicas ownership handed over: app={}, replicas={}",
+                        appName, handover.getSpec().getReplicas());
+            }
+        }
+        return deployments
+                .resource(buildDeployment(appName, imageUri, config, labels))
+                .serverSideApply();
+    }
+
+    /**
+     * 고정 replicas로 apply된 Deployment를 HPA로 전환할 때의 SSA 소유권 이전용 manifest.
+     * replicas만 소유한 채 manifest에서 빼면 API 서버가 필드를 지워 기본값 1로 축소되므로,
+     * 별도 field manager로 현재 replicas를 먼저 apply해 소유권을 나눠 가진 뒤 빼야 한다.
+     * 이전할 소유권이 없으면(신규 앱, 이미 전환된 앱) null
+     */
+    Deployment buildReplicasHandover(Deployment live) {
+        if (live == null || !ownsReplicas(live, APPLY_FIELD_MANAGER)) {
+            return null;
+        }
+        return new DeploymentBuilder()
+                .withNewMetadata()
+                    .withName(live.getMetadata().getName())
+                    .withNamespace(namespace)
+                .endMetadata()
+                .withNewSpec()
+                    .withReplicas(live.getSpec().getReplicas())
+                .endSpec()
+                .build();
+    }
+
+    static boolean ownsReplicas(Deployment live, String fieldManager) {
+        List<ManagedFieldsEntry> managedFields = live.getMetadata().getManagedFields();
+        if (managedFields == null) {
+            return false;
+        }
+        return managedFields.stream()
+                .filter(entry -> fieldManager.equals(entry.getManager()) && "Apply".equals(entry.getOperation()))
+                .map(ManagedFieldsEntry::getFieldsV1)
+                .filter(Objects::nonNull)
+                .map(fields -> fields.getAdditionalProperties().get("f:spec"))
+                .anyMatch(spec -> spec instanceof Map<?, ?> specFields && specFields.containsKey("f:replicas"));
+    }
+
+    /**
+     * HPA 사용 시에는 replicas를 manifest에서 빼서 재배포가 HPA가 조정한 레플리카 수를 되돌리지 않게 한다
+     * (고정 replicas에서 전환하는 경우 buildReplicasHandover로 소유권을 먼저 넘긴다)
+     */
+    Deployment buildDeployment(String appName, String imageUri, DeploymentConfig config, Map<String, String> labels) {
         List<EnvVar> envVars = config.getEnvVars().entrySet().stream()
                 .map(e -> new EnvVarBuilder().withName(e.getKey()).withValue(e.getValue()).build())
                 .collect(Collectors.toList());
 
-        Deployment deployment = new DeploymentBuilder()
+        return new DeploymentBuilder()
                 .withNewMetadata()
                     .withName(appName)
                     .withNamespace(namespace)
                     .withLabels(labels)
                 .endMetadata()
                 .withNewSpec()
-                    .withReplicas(config.getMinReplicas())
+                    .withReplicas(config.isAutoscalingEnabled() ? null : config.getMinReplicas())
+                    .withProgressDeadlineSeconds(progressDeadlineSeconds)
                     .withNewSelector()
                         .withMatchLabels(Map.of("app.kubernetes.io/name", appName))
                     .endSelector()
@@ -100,16 +225,90 @@ public class KubernetesManifestGenerator {
                                             .withContainerPort(config.getContainerPort())
                                             .build())
                                     .withEnv(envVars)
+                                    .withResources(buildResources(config))
                                     .build())
                         .endSpec()
                     .endTemplate()
                 .endSpec()
                 .build();
+    }
+
+    private ResourceRequirements buildResources(DeploymentConfig config) {
+        Map<String, Quantity> requests = new HashMap<>();
+        Map<String, Quantity> limits = new HashMap<>();
+        putQuantity(requests, "cpu", config.getCpuRequest(), defaultCpuRequest);
+        putQuantity(requests, "memory", config.getMemoryRequest(), defaultMemoryRequest);
+        putQuantity(limits, "cpu", config.getCpuLimit(), defaultCpuLimit);
+        putQuantity(limits, "memory", config.getMemoryLimit(), defaultMemoryLimit);
+        return new ResourceRequirementsBuilder()
+                .withRequests(requests)
+                .withLimits(limits)
+                .build();
+    }
+
+    private static void putQuantity(Map<String, Quantity> target, String resource, String value, String defaultValue) {
+        String quantity = value != null && !value.isBlank() ? value : defaultValue;
+        if (quantity != null && !quantity.isBlank()) {
+            target.put(resource, new Quantity(quantity));
+        }
+    }
 
-        kubernetesClient.apps().deployments()
+    /**
+     * maxReplicas > minReplicas면 autoscaling/v2 HPA 생성/업데이트, 아니면 이전에 만든 HPA 삭제 (고정 레플리카)
+     */
+    private void createOrDeleteAutoscaler(String appName, DeploymentConfig config, Map<String, String> labels) {
+        HorizontalPodAutoscaler hpa = buildAutoscaler(appName, config, labels);
+        if (hpa == null) {
+            kubernetesClient.autoscaling().v2().horizontalPodAutoscalers()
+                    .inNamespace(namespace)
+                    .withName(appName)
+                    .delete();
+            return;
+        }
+
+        kubernetesClient.autoscaling().v2().horizontalPodAutoscalers()
                 .inNamespace(namespace)
-                .resource(deployment)
+                .resource(hpa)
                 .serverSideApply();
+        log.info("HPA applied: app={}, replicas={}~{}, targetCpu={}%", appName,
+                hpa.getSpec().getMinReplicas(), hpa.getSpec().getMaxReplicas(),
+                hpa.getSpec().getMetrics().getFirst().getResource().getTarget().getAverageUtilization());
+    }
+
+    HorizontalPodAutoscaler buildAutoscaler(String appName, DeploymentConfig config, Map<String, String> labels) {
+        if (!config.isAutoscalingEnabled()) {
+            return null;
+        }
+        int targetCpu = config.getTargetCpuUtilization() != null
+                ? config.getTargetCpuUtilization() : defaultTargetCpuUtilization;
+
+        return new HorizontalPodAutoscalerBuilder()
+                .withNewMetadata()
+                    .withName(appName)
+                    .withNamespace(namespace)
+                    .withLabels(labels)
+                .endMetadata()
+                .withNewSpec()
+                    .withNewScaleTargetRef()
+                        .withApiVersion("apps/v1")
+                        .withKind("Deployment")
+                        .withName(appName)
+                    .endScaleTargetRef()
+                    // HPA minReplicas는 1 이상이어야 한다
+                    .withMinReplicas(Math.max(1, config.getMinReplicas()))
+                    .withMaxReplicas(config.getMaxReplicas())
+                    .addNewMetric()
+                        .withType("Resource")
+                        .withNewResource()
+                            .withName("cpu")
+                            .withNewTarget()
+                                .withType("Utilization")
+                                .withAverageUtilization(targetCpu)
+                            .endTarget()
+                        .endResource()
+                    .endMetric()
+                .endSpec()
+                .build();
     }
 
     private void createOrUpdateService(String appName, int containerPort, Map<String, String> labels) {
@@ -0,0 +1,208 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentCondition;
+import io.fabric8.kubernetes.api.model.apps.DeploymentStatus;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import jakarta.annotation.PreDestroy;
+import klepaas.backend.global.exception.BusinessException;
+import klepaas.backend.global.exception.ErrorCode;
+import klepaas.backend.infra.dto.RolloutProgress;
+import klepaas.backend.infra.dto.RolloutTarget;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * klepaas가 생성한 앱 Deployment를 informer로 구독하여 롤아웃 완료를 이벤트 기반으로 전달.
+ * apply 이후 observedGeneration/updatedReplicas/availableReplicas가 바뀔 때마다 진행 상황을 알리고,
+ * 새 Pod가 모두 준비되면 future를 완료한다. Pod가 뜨지 못하면(이미지 pull 실패, crash loop 등)
+ * Deployment의 progressDeadlineSeconds 초과(ProgressDeadlineExceeded)로 실패 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RolloutWatcher {
+
+    private static final String MANAGED_BY_LABEL = "app.kubernetes.io/managed-by";
+    private static final String MANAGED_BY_VALUE = "klepaas";
+    private static final String PROGRESS_DEADLINE_EXCEEDED = "ProgressDeadlineExceeded";
+
+    private final KubernetesClient kubernetesClient;
+
+    @Value("${kubernetes.namespace:default}")
+    private String namespace;
+
+    @Value("${deployment.pipeline.build-watch-resync:300000}")
+    private long resyncPeriod;
+
+    /** 롤아웃 완료를 기다리는 구독 (같은 앱에 여러 배포가 겹치면 각각 등록) */
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    private volatile SharedIndexInformer<Deployment> informer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        SharedIndexInformer<Deployment> deploymentInformer = kubernetesClient.apps().deployments()
+                .inNamespace(namespace)
+                .withLabel(MANAGED_BY_LABEL, MANAGED_BY_VALUE)
+                .runnableInformer(resyncPeriod);
+
+        deploymentInformer.addEventHandler(new ResourceEventHandler<Deployment>() {
+            @Override
+            public void onAdd(Deployment deployment) {
+                handleDeploymentEvent(deployment);
+            }
+
+            @Override
+            public void onUpdate(Deployment oldDeployment, Deployment newDeployment) {
+                handleDeploymentEvent(newDeployment);
+            }
+
+            @Override
+            public void onDelete(Deployment deployment, boolean deletedFinalStateUnknown) {
+                handleDeploymentDeleted(deployment);
+            }
+        });
+
+        deploymentInformer.start().whenComplete((ignored, e) -> {
+            if (e != null) {
+                log.error("Rollout informer start failed: namespace={}, error={}", namespace, e.getMessage());
+            } else {
+                log.info("Rollout informer started: namespace={}", namespace);
+            }
+        });
+        this.informer = deploymentInformer;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (informer != null) {
+            informer.stop();
+        }
+    }
+
+    /**
+     * target generation 이후 롤아웃이 끝나면 완료되는 future 반환. 진행 상황이 바뀔 때마다 onProgress를 호출한다.
+     * 실패 시 BusinessException(DEPLOY_FAILED)으로 완료된다. 등록 이전에 이미 끝난 롤아웃은 캐시에서 즉시 확인한다.
+     */
+    public CompletableFuture<RolloutProgress> watch(RolloutTarget target, Consumer<RolloutProgress> onProgress) {
+        Waiter waiter = new Waiter(target, onProgress);
+        waiters.add(waiter);
+        waiter.future.whenComplete((result, e) -> waiters.remove(waiter));
+
+        SharedIndexInformer<Deployment> current = informer;
+        if (current != null) {
+            Deployment cached = current.getStore().getByKey(namespace + "/" + target.appName());
+            if (cached != null) {
+                waiter.update(cached);
+            }
+        }
+        return waiter.future;
+    }
+
+    /**
+     * 롤아웃 진행 상황 판정. observedGeneration이 target에 도달하기 전에는 이전 상태이므로 진행 중으로 본다.
+     */
+    static RolloutProgress evaluate(Deployment deployment, long generation) {
+        int desired = deployment.getSpec() != null && deployment.getSpec().getReplicas() != null
+                ? deployment.getSpec().getReplicas() : 1;
+        DeploymentStatus status = deployment.getStatus();
+        if (status == null || status.getObservedGeneration() == null || status.getObservedGeneration() < generation) {
+            return new RolloutProgress(desired, 0, 0, 0, false, null);
+        }
+
+        int updated = orZero(status.getUpdatedReplicas());
+        int ready = orZero(status.getReadyReplicas());
+        int available = orZero(status.getAvailableReplicas());
+        int total = orZero(status.getReplicas());
+
+        if (status.getConditions() != null) {
+            for (DeploymentCondition condition : status.getConditions()) {
+                if ("Progressing".equals(condition.getType())
+                        && PROGRESS_DEADLINE_EXCEEDED.equals(condition.getReason())) {
+                    return new RolloutProgress(desired, updated, ready, available, false,
+                            "롤아웃 기한 초과: " + condition.getMessage());
+                }
+            }
+        }
+
+        boolean complete = updated >= desired && total <= updated && available >= updated;
+        return new RolloutProgress(desired, updated, ready, available, complete, null);
+    }
+
+    private void handleDeploymentEvent(Deployment deployment) {
+        String appName = deployment.getMetadata().getName();
+        for (Waiter waiter : waiters) {
+            if (waiter.target.appName().equals(appName)) {
+                waiter.update(deployment);
+            }
+        }
+    }
+
+    private void handleDeploymentDeleted(Deployment deployment) {
+        String appName = deployment.getMetadata().getName();
+        for (Waiter waiter : waiters) {
+            if (waiter.target.appName().equals(appName)) {
+                waiter.future.completeExceptionally(new BusinessException(ErrorCode.DEPLOY_FAILED,
+                        "롤아웃 완료 전에 Deployment가 삭제됨: " + appName));
+            }
+        }
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static final class Waiter {
+
+        private final RolloutTarget target;
+        private final Consumer<RolloutProgress> onProgress;
+        private final CompletableFuture<RolloutProgress> future = new CompletableFuture<>();
+
+        /** 마지막으로 알린 진행 상황 (resync 등 변화 없는 이벤트는 알리지 않음) */
+        private RolloutProgress last;
+
+        private Waiter(RolloutTarget target, Consumer<RolloutProgress> onProgress) {
+            this.target = target;
+            this.onProgress = onProgress;
+        }
+
+        /**
+         * informer 이벤트 스레드와 등록 스레드에서 호출될 수 있어 동기화한다
+         */
+        private synchronized void update(Deployment deployment) {
+            if (future.isDone()) {
+                return;
+            }
+            RolloutProgress progress = evaluate(deployment, target.generation());
+            if (!progress.equals(last)) {
+                last = progress;
+                try {
+                    onProgress.accept(progress);
+                } catch (Exception e) {
+                    log.warn("Rollout progress callback failed: app={}, error={}", target.appName(), e.getMessage());
+                }
+            }
+
+            if (progress.failure() != null) {
+                log.warn("Rollout failed (watch): app={}, reason={}", target.appName(), progress.failure());
+                future.completeExceptionally(new BusinessException(ErrorCode.DEPLOY_FAILED, progress.failure()));
+            } else if (progress.complete()) {
+                log.info("Rollout completed (watch): app={}, generation={}, available={}/{}",
+                        target.appName(), target.generation(), progress.availableReplicas(), progress.desiredReplicas());
+                future.complete(progress);
+            }
+        }
+    }
+}
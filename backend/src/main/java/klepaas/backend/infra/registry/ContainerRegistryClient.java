@@ -0,0 +1,147 @@
+package klepaas.backend.infra.registry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Docker Registry HTTP API v2 클라이언트 (NCR 호환).
+ * 빌드 전에 같은 태그의 이미지가 이미 push되어 있는지 확인하고, 재사용하는 이미지에 새 태그를 붙이는 용도.
+ */
+@Slf4j
+@Component
+public class ContainerRegistryClient {
+
+    private static final String MANIFEST_ACCEPT = String.join(",",
+            "application/vnd.docker.distribution.manifest.v2+json",
+            "application/vnd.docker.distribution.manifest.list.v2+json",
+            "application/vnd.oci.image.manifest.v1+json",
+            "application/vnd.oci.image.index.v1+json");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String scheme;
+    private final String username;
+    private final String password;
+
+    public ContainerRegistryClient(@Value("${cloud.ncp.container-registry.scheme:https}") String scheme,
+                                   @Value("${cloud.ncp.credentials.access-key}") String username,
+                                   @Value("${cloud.ncp.credentials.secret-key}") String password) {
+        this.scheme = scheme;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * 이미지 태그의 manifest 존재 여부 (HEAD /v2/{name}/manifests/{tag}).
+     * 레지스트리 조회 실패는 "없음"으로 간주해 정상 빌드 경로로 진행한다.
+     */
+    public boolean manifestExists(String imageUri) {
+        ImageReference ref = ImageReference.parse(imageUri);
+        HttpRequest request = authorized(manifestUri(ref))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .header("Accept", MANIFEST_ACCEPT)
+                .build();
+
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status == 200) {
+                return true;
+            }
+            if (status != 404) {
+                log.warn("Registry manifest check returned unexpected status: image={}, status={}", imageUri, status);
+            }
+            return false;
+        } catch (IOException e) {
+            log.warn("Registry manifest check failed: image={}, error={}", imageUri, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 기존 이미지의 manifest를 같은 저장소의 다른 태그로 다시 PUT (레이어 재업로드 없이 태그만 추가).
+     * 실패하면 false를 반환하고 호출자는 원래 태그를 그대로 사용한다.
+     */
+    public boolean retag(String sourceImageUri, String targetImageUri) {
+        ImageReference source = ImageReference.parse(sourceImageUri);
+        ImageReference target = ImageReference.parse(targetImageUri);
+
+        try {
+            HttpResponse<byte[]> manifest = httpClient.send(authorized(manifestUri(source))
+                            .GET()
+                            .header("Accept", MANIFEST_ACCEPT)
+                            .build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (manifest.statusCode() != 200) {
+                log.warn("Registry retag failed to read manifest: image={}, status={}", sourceImageUri, manifest.statusCode());
+                return false;
+            }
+
+            // Content-Type이 manifest 종류(docker v2, OCI index 등)를 결정하므로 그대로 전달
+            String contentType = manifest.headers().firstValue("Content-Type")
+                    .orElse("application/vnd.docker.distribution.manifest.v2+json");
+            int status = httpClient.send(authorized(manifestUri(target))
+                            .PUT(HttpRequest.BodyPublishers.ofByteArray(manifest.body()))
+                            .header("Content-Type", contentType)
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status == 200 || status == 201) {
+                log.info("Image retagged: source={}, target={}", sourceImageUri, targetImageUri);
+                return true;
+            }
+            log.warn("Registry retag rejected: target={}, status={}", targetImageUri, status);
+            return false;
+        } catch (IOException e) {
+            log.warn("Registry retag failed: source={}, target={}, error={}", sourceImageUri, targetImageUri, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private URI manifestUri(ImageReference ref) {
+        return URI.create(scheme + "://" + ref.registry() + "/v2/" + ref.repository() + "/manifests/" + ref.tag());
+    }
+
+    private HttpRequest.Builder authorized(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(Duration.ofSeconds(10));
+        if (username != null && !username.isBlank()) {
+            String credentials = username + ":" + password;
+            builder.header("Authorization", "Basic "
+                    + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+        return builder;
+    }
+
+    record ImageReference(String registry, String repository, String tag) {
+
+        // "{registry[:port]}/{repository}:{tag}"
+        static ImageReference parse(String imageUri) {
+            int slash = imageUri.indexOf('/');
+            int colon = imageUri.lastIndexOf(':');
+            if (slash < 0 || colon < slash) {
+                throw new IllegalArgumentException("태그가 포함된 이미지 URI가 아닙니다: " + imageUri);
+            }
+            return new ImageReference(imageUri.substring(0, slash),
+                    imageUri.substring(slash + 1, colon),
+                    imageUri.substring(colon + 1));
+        }
+    }
+}
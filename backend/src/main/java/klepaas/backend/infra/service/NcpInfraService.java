@@ -5,34 +5,86 @@ import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
 import io.fabric8.kubernetes.api.model.batch.v1.JobStatus;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import klepaas.backend.deployment.entity.BuildProfile;
 import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.PipelineStage;
 import klepaas.backend.deployment.entity.SourceRepository;
+import klepaas.backend.deployment.event.PipelineStageCompletedEvent;
 import klepaas.backend.global.exception.BusinessException;
 import klepaas.backend.global.exception.ErrorCode;
 import klepaas.backend.infra.CloudInfraProvider;
+import klepaas.backend.infra.concurrency.ExternalCallLimiter;
+import klepaas.backend.infra.concurrency.ExternalCallLimiter.ExternalSystem;
+import klepaas.backend.infra.dto.BuildCacheStats;
+import klepaas.backend.infra.dto.BuildLogLine;
+import klepaas.backend.infra.dto.BuildOptions;
 import klepaas.backend.infra.dto.BuildResult;
 import klepaas.backend.infra.dto.BuildStatusResult;
+import klepaas.backend.infra.dto.BuildTimings;
+import klepaas.backend.infra.dto.SourceUploadResult;
+import klepaas.backend.infra.kubernetes.BuildLogTailer;
+import klepaas.backend.infra.kubernetes.BuildNodePlacement;
+import klepaas.backend.infra.kubernetes.KanikoJobWatcher;
+import klepaas.backend.infra.registry.ContainerRegistryClient;
+import klepaas.backend.infra.storage.ObjectStorageUploader;
+import klepaas.backend.infra.storage.S3MultipartOutputStream;
+import klepaas.backend.infra.util.BuildContextManifest;
+import klepaas.backend.infra.util.ContextFormat;
+import klepaas.backend.infra.util.DockerIgnore;
 import klepaas.backend.infra.util.ImageTagGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarConstants;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service("ncpInfraService")
@@ -40,7 +92,16 @@ import java.util.zip.ZipOutputStream;
 public class NcpInfraService implements CloudInfraProvider {
 
     private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final ObjectStorageUploader storageUploader;
     private final KubernetesClient kubernetesClient;
+    private final KanikoJobWatcher kanikoJobWatcher;
+    private final ExternalCallLimiter callLimiter;
+    private final ContainerRegistryClient registryClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BuildNodePlacement buildNodePlacement;
+    private final BuildLogTailer buildLogTailer;
+    private final MeterRegistry meterRegistry;
 
     @Value("${cloud.ncp.storage.bucket}")
     private String bucketName;
@@ -63,7 +124,58 @@ public class NcpInfraService implements CloudInfraProvider {
     @Value("${kaniko.image:gcr.io/kaniko-project/executor:latest}")
     private String kanikoImage;
 
-    private static final String NCP_STORAGE_ENDPOINT = "https://kr.object.ncloudstorage.com";
+    @Value("${kaniko.cache-ttl:168h}")
+    private String kanikoCacheTtl;
+
+    @Value("${kaniko.build-node.label:klepaas.io/build-pool}")
+    private String buildNodeLabel;
+
+    @Value("${kaniko.build-node.taint:klepaas.io/build}")
+    private String buildNodeTaint;
+
+    // true면 빌드 노드 풀 라벨이 있는 노드에만 스케줄 (false면 선호만 하고 없으면 일반 노드 사용)
+    @Value("${kaniko.build-node.required:false}")
+    private boolean buildNodeRequired;
+
+    // true면 저장소별로 같은 빌드 노드를 선호하도록 배치 (노드 로컬 캐시 재사용, 노드가 없으면 다른 노드로 fallback)
+    @Value("${kaniko.placement.repo-affinity:false}")
+    private boolean repoAffinity;
+
+    // 빌드 노드 hostPath에 베이스 이미지 캐시를 두고 빌드 전 warmer로 채운다
+    @Value("${kaniko.node-cache.enabled:false}")
+    private boolean nodeCacheEnabled;
+
+    @Value("${kaniko.node-cache.host-path:/var/cache/klepaas/kaniko}")
+    private String nodeCacheHostPath;
+
+    @Value("${kaniko.warmer-image:gcr.io/kaniko-project/warmer:latest}")
+    private String kanikoWarmerImage;
+
+    @Value("${cloud.ncp.storage.endpoint}")
+    private String storageEndpoint;
+
+    @Value("${cloud.ncp.build.context-format:ZIP}")
+    private ContextFormat contextFormat;
+
+    // TAR_GZ 모드에서 Kaniko에 넘기는 context presigned URL 유효 시간 (빌드 Pod 스케줄/이미지 pull 대기 포함)
+    @Value("${cloud.ncp.build.context-url-ttl:1800000}")
+    private long contextUrlTtl;
+
+    private static final Pattern FULL_SHA = Pattern.compile("[0-9a-fA-F]{40}");
+
+    // Kaniko executor 로그의 레이어 캐시 조회 결과
+    private static final String CACHE_HIT_LOG = "Using caching version of cmd";
+    private static final String CACHE_MISS_LOG = "No cached layer found for cmd";
+    // Kaniko warmer 로그의 노드 로컬 베이스 이미지 캐시 조회 결과
+    private static final String BASE_IMAGE_CACHED_LOG = "Image already in cache";
+
+    private static final String NODE_CACHE_COUNTER = "klepaas.build.node.cache";
+    // .dockerignore로 build context에서 제외해 업로드하지 않은 양 (재구성 단계에서 절약한 크기)
+    private static final String CONTEXT_PRUNED_SUMMARY = "klepaas.source.context.pruned";
+    private static final String CONTEXT_PRUNED_ENTRIES_COUNTER = "klepaas.source.context.pruned.entries";
+    private static final String NODE_CACHE_DIR = "/cache";
+    // 선호 노드 순위별 affinity 가중치 (1순위 노드가 없거나 가득 차면 2순위로)
+    private static final int[] REPO_AFFINITY_WEIGHTS = {80, 40};
 
     // GitHub redirect를 수동으로 처리하기 위해 redirect 비활성화
     private final HttpClient httpClient = HttpClient.newBuilder()
@@ -71,85 +183,205 @@ public class NcpInfraService implements CloudInfraProvider {
             .build();
 
     @Override
-    public String uploadSourceToStorage(String gitToken, Deployment deployment) {
-        SourceRepository repo = deployment.getSourceRepository();
-        String storageKey = "builds/" + deployment.getId() + "/source.zip";
+    public SourceUploadResult uploadSourceToStorage(String gitToken, Deployment deployment) {
+        S3MultipartOutputStream target = null;
 
         try {
-            resolveCommitHashIfNeeded(gitToken, deployment);
-
-            // Step 1: GitHub API 호출 → 302 redirect URL 획득 (auth 필요)
-            String apiUrl = "https://api.github.com/repos/" + repo.getOwner() + "/" +
-                    repo.getRepoName() + "/zipball/" + deployment.getCommitHash();
-
-            HttpRequest authRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(apiUrl))
-                    .header("Authorization", "Bearer " + gitToken)
-                    .header("Accept", "application/vnd.github+json")
-                    .header("X-GitHub-Api-Version", "2022-11-28")
-                    .GET()
-                    .build();
-
-            HttpResponse<Void> redirectResponse = httpClient.send(
-                    authRequest, HttpResponse.BodyHandlers.discarding());
-
-            String downloadUrl = redirectResponse.headers().firstValue("Location")
-                    .orElseThrow(() -> new BusinessException(
-                            ErrorCode.SOURCE_UPLOAD_FAILED, "GitHub ZIP redirect URL을 받지 못했습니다"));
+            LocalDateTime downloadStartedAt = LocalDateTime.now();
+            try (var githubPermit = callLimiter.acquire(ExternalSystem.GITHUB)) {
+                resolveCommitHashIfNeeded(gitToken, deployment);
+            }
 
-            // Step 2: redirect URL에서 실제 ZIP 다운로드 (auth 헤더 없이)
-            HttpRequest downloadRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(downloadUrl))
-                    .GET()
-                    .build();
+            // 저장소 + 커밋 SHA 기준 content-addressed 키: 같은 커밋의 재시도/재시작/다른 브랜치 배포가 같은 객체를 공유
+            String storageKey = sourceKeyFor(deployment);
+            try (var storagePermit = callLimiter.acquire(ExternalSystem.OBJECT_STORAGE)) {
+                Optional<Long> cachedSize = storedSourceSize(storageKey);
+                if (cachedSize.isPresent()) {
+                    log.info("Source cache hit, skipping download/upload: deploymentId={}, key={}",
+                            deployment.getId(), storageKey);
+                    return new SourceUploadResult(storageKey, null, cachedSize.get(), null);
+                }
+            }
 
-            byte[] zipBytes = httpClient.send(
-                    downloadRequest, HttpResponse.BodyHandlers.ofByteArray()).body();
+            // GitHub 다운로드와 Object Storage 업로드가 스트림으로 이어지므로 두 permit을 함께 점유 (획득 순서 고정)
+            try (var githubPermit = callLimiter.acquire(ExternalSystem.GITHUB);
+                 var storagePermit = callLimiter.acquire(ExternalSystem.OBJECT_STORAGE)) {
+
+                // 아카이브 엔트리 순서상 .dockerignore가 먼저 나온다는 보장이 없으므로 스트리밍 전에 따로 조회
+                DockerIgnore dockerIgnore = fetchDockerIgnore(gitToken, deployment);
+
+                try (InputStream archive = openSourceArchiveStream(gitToken, deployment)) {
+                    publishStage(deployment, PipelineStage.SOURCE_DOWNLOAD, downloadStartedAt);
+                    LocalDateTime uploadStartedAt = LocalDateTime.now();
+
+                    // GitHub 아카이브를 build context로 재구성하며 곧바로 멀티파트 병렬 업로드 (동시 업로드 파트 수만큼만 메모리에 유지)
+                    target = storageUploader.open(bucketName, storageKey, contextFormat.getContentType());
+                    BuildContextManifest manifest = new BuildContextManifest();
+                    ArchiveOutputStream<?> context;
+                    RepackStats stats;
+                    if (contextFormat == ContextFormat.TAR_GZ) {
+                        TarArchiveOutputStream tar = new TarArchiveOutputStream(new GzipCompressorOutputStream(target));
+                        tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+                        tar.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+                        stats = repackContext(new TarArchiveInputStream(new GzipCompressorInputStream(archive)),
+                                tar, NcpInfraService::toTarEntry, dockerIgnore, manifest);
+                        context = tar;
+                    } else {
+                        ZipArchiveOutputStream zip = new ZipArchiveOutputStream(target);
+                        stats = repackContext(new ZipArchiveInputStream(archive, StandardCharsets.UTF_8.name(), true, true),
+                                zip, NcpInfraService::toZipEntry, dockerIgnore, manifest);
+                        context = zip;
+                    }
 
-            if (zipBytes == null || zipBytes.length == 0) {
-                throw new BusinessException(ErrorCode.SOURCE_UPLOAD_FAILED, "GitHub ZIP 다운로드 결과가 비어있습니다");
+                    // Kaniko Job을 띄우기 전에 Dockerfile/COPY 소스 검증 (실패 시 업로드를 완료하지 않고 취소)
+                    List<String> problems = manifest.validate();
+                    if (!problems.isEmpty()) {
+                        throw new BusinessException(ErrorCode.BUILD_CONTEXT_INVALID,
+                                "빌드 컨텍스트 검증 실패: " + String.join("; ", problems));
+                    }
+                    context.close(); // zip central directory / gzip trailer 기록 후 업로드 완료
+
+                    publishStage(deployment, PipelineStage.SOURCE_UPLOAD, uploadStartedAt);
+                    String contextHash = manifest.contextHash();
+                    log.info("Source uploaded: bucket={}, key={}, entries={}, repackagedSize={}, parts={}, " +
+                                    "prunedEntries={}, prunedBytes={}, contextHash={}",
+                            bucketName, storageKey, stats.entries(), target.getBytesWritten(), target.getPartCount(),
+                            stats.prunedEntries(), stats.prunedBytes(), contextHash);
+                    recordPruned(stats);
+                    return new SourceUploadResult(storageKey, contextHash, target.getBytesWritten(), manifest.baseImages());
+                }
             }
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Source upload failed: {}", e.getMessage(), e);
+            throw new BusinessException(ErrorCode.SOURCE_UPLOAD_FAILED, "소스 업로드 실패: " + e.getMessage());
+        } finally {
+            // 실패 시 불완전한 멀티파트 업로드 정리 (완료된 업로드에는 영향 없음)
+            if (target != null) {
+                target.abort();
+            }
+        }
+    }
 
-            // Step 3: GitHub ZIP 최상위 디렉토리 제거 후 재패키징
-            // GitHub 아카이브 구조: "owner-repo-sha/Dockerfile" → "Dockerfile" (Kaniko context 호환)
-            byte[] repackaged = stripTopLevelDir(zipBytes);
-
-            // Step 4: NCP Object Storage 업로드
-            PutObjectRequest putRequest = PutObjectRequest.builder()
+    /**
+     * 멀티파트 업로드는 완료 시점에만 객체가 보이므로 HeadObject 성공은 곧 재사용 가능한 완전한 소스를 의미한다.
+     * 조회 자체가 실패하면 캐시 미스로 보고 다시 업로드한다. 있으면 객체 크기를 반환한다.
+     */
+    private Optional<Long> storedSourceSize(String storageKey) {
+        try {
+            return Optional.of(s3Client.headObject(HeadObjectRequest.builder()
                     .bucket(bucketName)
                     .key(storageKey)
-                    .contentType("application/zip")
-                    .build();
+                    .build()).contentLength());
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() != 404) {
+                log.warn("Source cache lookup failed: key={}, status={}, error={}", storageKey, e.statusCode(), e.getMessage());
+            }
+            return Optional.empty();
+        }
+    }
+
+    private String sourceKeyFor(Deployment deployment) {
+        return "sources/" + deployment.getSourceRepository().getId() + "/" + deployment.getCommitHash()
+                + "/" + contextFormat.getFileName();
+    }
 
-            s3Client.putObject(putRequest, RequestBody.fromBytes(repackaged));
-            log.info("Source uploaded: bucket={}, key={}, originalSize={}, repackagedSize={}",
-                    bucketName, storageKey, zipBytes.length, repackaged.length);
+    private InputStream openSourceArchiveStream(String gitToken, Deployment deployment) throws IOException, InterruptedException {
+        SourceRepository repo = deployment.getSourceRepository();
 
-            return storageKey;
-        } catch (BusinessException e) {
-            throw e;
+        // Step 1: GitHub API 호출 → 302 redirect URL 획득 (auth 필요)
+        String apiUrl = "https://api.github.com/repos/" + repo.getOwner() + "/" +
+                repo.getRepoName() + "/" + contextFormat.getGithubArchive() + "/" + deployment.getCommitHash();
+
+        HttpRequest authRequest = HttpRequest.newBuilder()
+                .uri(URI.create(apiUrl))
+                .header("Authorization", "Bearer " + gitToken)
+                .header("Accept", "application/vnd.github+json")
+                .header("X-GitHub-Api-Version", "2022-11-28")
+                .GET()
+                .build();
+
+        HttpResponse<Void> redirectResponse = httpClient.send(
+                authRequest, HttpResponse.BodyHandlers.discarding());
+
+        String downloadUrl = redirectResponse.headers().firstValue("Location")
+                .orElseThrow(() -> new BusinessException(
+                        ErrorCode.SOURCE_UPLOAD_FAILED, "GitHub 아카이브 redirect URL을 받지 못했습니다"));
+
+        // Step 2: redirect URL에서 ZIP 스트림 획득 (auth 헤더 없이, 본문은 호출자가 읽으며 업로드)
+        HttpRequest downloadRequest = HttpRequest.newBuilder()
+                .uri(URI.create(downloadUrl))
+                .GET()
+                .build();
+
+        HttpResponse<InputStream> response = httpClient.send(
+                downloadRequest, HttpResponse.BodyHandlers.ofInputStream());
+
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new BusinessException(ErrorCode.SOURCE_UPLOAD_FAILED,
+                    "GitHub 아카이브 다운로드 실패: HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    @Override
+    public Optional<String> findExistingImage(String gitToken, Deployment deployment) {
+        try {
+            // 태그가 short SHA이므로 HEAD/short SHA는 먼저 전체 커밋 SHA로 해석
+            try (var permit = callLimiter.acquire(ExternalSystem.GITHUB)) {
+                resolveCommitHashIfNeeded(gitToken, deployment);
+            }
+
+            String imageUri = imageUriFor(deployment);
+            boolean exists;
+            try (var permit = callLimiter.acquire(ExternalSystem.CONTAINER_REGISTRY)) {
+                exists = registryClient.manifestExists(imageUri);
+            }
+
+            if (exists) {
+                log.info("Image already in registry, skipping build: deploymentId={}, image={}",
+                        deployment.getId(), imageUri);
+                return Optional.of(imageUri);
+            }
+            return Optional.empty();
         } catch (Exception e) {
-            log.error("Source upload failed: {}", e.getMessage(), e);
-            throw new BusinessException(ErrorCode.SOURCE_UPLOAD_FAILED, "소스 업로드 실패: " + e.getMessage());
+            // 사전 확인 실패는 빌드 경로로 진행 (업로드 단계에서 동일 오류가 다시 드러난다)
+            log.warn("Existing image check failed: deploymentId={}, error={}", deployment.getId(), e.getMessage());
+            return Optional.empty();
         }
     }
 
     @Override
-    public BuildResult triggerBuild(String storageKey, Deployment deployment) {
-        SourceRepository repo = deployment.getSourceRepository();
-        String imageName = repo.getOwner() + "-" + repo.getRepoName();
-        String imageUri = ImageTagGenerator.buildImageUri(registryEndpoint, imageName, deployment.getCommitHash());
+    public String retagImage(String sourceImageUri, Deployment deployment) {
+        String targetImageUri = imageUriFor(deployment);
+        if (targetImageUri.equals(sourceImageUri)) {
+            return sourceImageUri;
+        }
+        try (var permit = callLimiter.acquire(ExternalSystem.CONTAINER_REGISTRY)) {
+            return registryClient.retag(sourceImageUri, targetImageUri) ? targetImageUri : sourceImageUri;
+        }
+    }
+
+    @Override
+    public BuildResult triggerBuild(String storageKey, Deployment deployment, BuildOptions options) {
+        String imageUri = imageUriFor(deployment);
         String jobName = "klepaas-build-" + deployment.getId();
 
         try {
-            Job job = buildKanikoJob(jobName, storageKey, imageUri, deployment);
-            kubernetesClient.batch().v1().jobs()
-                    .inNamespace(namespace)
-                    .resource(job)
-                    .create();
+            Job job = buildKanikoJob(jobName, storageKey, imageUri, deployment, options);
+            try (var permit = callLimiter.acquire(ExternalSystem.KUBERNETES_API)) {
+                kubernetesClient.batch().v1().jobs()
+                        .inNamespace(namespace)
+                        .resource(job)
+                        .create();
+            }
 
-            log.info("Kaniko Job created: jobName={}, deploymentId={}, image={}",
-                    jobName, deployment.getId(), imageUri);
+            log.info("Kaniko Job created: jobName={}, deploymentId={}, image={}, layerCache={}, profile={}",
+                    jobName, deployment.getId(), imageUri, options.layerCacheEnabled(), options.profile());
 
             // projectId = namespace (Job 조회 시 필요), externalBuildId = jobName
             return new BuildResult(jobName, namespace, imageUri);
@@ -163,6 +395,12 @@ public class NcpInfraService implements CloudInfraProvider {
 
     @Override
     public BuildStatusResult getBuildStatus(String projectId, String buildId) {
+        try (var permit = callLimiter.acquire(ExternalSystem.KUBERNETES_API)) {
+            return fetchBuildStatus(projectId, buildId);
+        }
+    }
+
+    private BuildStatusResult fetchBuildStatus(String projectId, String buildId) {
         // projectId = namespace, buildId = Kaniko Job name
         Job job = kubernetesClient.batch().v1().jobs()
                 .inNamespace(projectId)
@@ -177,9 +415,9 @@ public class NcpInfraService implements CloudInfraProvider {
         boolean succeeded = status.getSucceeded() != null && status.getSucceeded() > 0;
         boolean failed = status.getFailed() != null && status.getFailed() > 0;
 
-        // Job이 아직 완료 안 됐으면 Pod 상태도 체크 (FailedMount, ImagePullBackOff 등 조기 감지)
+        // Job이 아직 완료 안 됐으면 Pod 상태도 체크 (FailedMount, ImagePullBackOff 등 조기 감지, informer 캐시에서 평가)
         if (!succeeded && !failed) {
-            String podFailureReason = detectPodFailure(projectId, buildId);
+            String podFailureReason = kanikoJobWatcher.findPodFailure(buildId);
             if (podFailureReason != null) {
                 log.warn("Kaniko Pod early failure detected: job={}, reason={}", buildId, podFailureReason);
                 return new BuildStatusResult(true, false, null, podFailureReason);
@@ -195,83 +433,201 @@ public class NcpInfraService implements CloudInfraProvider {
         return new BuildStatusResult(completed, succeeded, null, message);
     }
 
-    /**
-     * Pod가 영구적으로 시작 불가한 상태인지 감지.
-     * Job.status.failed는 컨테이너가 실행 후 종료된 경우만 올라가므로,
-     * FailedMount/ImagePullBackOff 등 컨테이너 시작 전 실패는 별도 체크 필요.
-     */
-    private String detectPodFailure(String namespace, String jobName) {
-        PodList podList = kubernetesClient.pods()
-                .inNamespace(namespace)
-                .withLabel("job-name", jobName)
-                .list();
+    @Override
+    public CompletableFuture<BuildStatusResult> watchBuildCompletion(String projectId, String buildId) {
+        // projectId = namespace (informer가 동일 namespace를 구독), buildId = Kaniko Job name
+        return kanikoJobWatcher.watch(buildId);
+    }
 
-        for (Pod pod : podList.getItems()) {
-            PodStatus podStatus = pod.getStatus();
+    @Override
+    public Optional<BuildTimings> getBuildTimings(String projectId, String buildId) {
+        try (var permit = callLimiter.acquire(ExternalSystem.KUBERNETES_API)) {
+            Job job = kubernetesClient.batch().v1().jobs()
+                    .inNamespace(projectId)
+                    .withName(buildId)
+                    .get();
+            if (job == null) {
+                return Optional.empty();
+            }
 
-            // Pod 자체가 Failed 상태
-            if ("Failed".equals(podStatus.getPhase())) {
-                return "Pod failed: " + podStatus.getReason();
+            Pod pod = latestBuildPod(projectId, buildId);
+            if (pod == null || pod.getStatus() == null) {
+                return Optional.empty();
             }
 
-            // initContainer 실패 감지 (source-downloader: S3 다운로드/압축 해제 실패 등)
-            List<ContainerStatus> initStatuses = podStatus.getInitContainerStatuses();
-            if (initStatuses != null) {
-                for (ContainerStatus cs : initStatuses) {
-                    if (cs.getState() != null && cs.getState().getTerminated() != null) {
-                        int exitCode = cs.getState().getTerminated().getExitCode();
-                        if (exitCode != 0) {
-                            return "initContainer '" + cs.getName() + "' 실패 (exitCode=" + exitCode +
-                                    "): kubectl logs -n " + namespace + " " +
-                                    pod.getMetadata().getName() + " -c " + cs.getName();
-                        }
-                    }
-                }
+            // tar.gz context 모드는 initContainer 없이 Kaniko가 context를 직접 내려받으므로 context 시각이 없다
+            ContainerStateTerminated context = terminatedState(pod.getStatus().getInitContainerStatuses(), "source-downloader");
+            ContainerStateTerminated build = terminatedState(pod.getStatus().getContainerStatuses(), "kaniko");
+            if (build == null) {
+                return Optional.empty();
             }
 
-            // 컨테이너 waiting reason 체크 (이미지 풀 실패, 설정 오류 등)
-            List<ContainerStatus> containerStatuses = podStatus.getContainerStatuses();
-            if (containerStatuses != null) {
-                for (ContainerStatus cs : containerStatuses) {
-                    if (cs.getState() != null && cs.getState().getWaiting() != null) {
-                        String reason = cs.getState().getWaiting().getReason();
-                        String message = cs.getState().getWaiting().getMessage();
-                        if ("ImagePullBackOff".equals(reason) || "ErrImagePull".equals(reason)
-                                || "CreateContainerConfigError".equals(reason)
-                                || "InvalidImageName".equals(reason)) {
-                            return reason + (message != null ? ": " + message : "");
-                        }
-                    }
-                }
+            return Optional.of(new BuildTimings(
+                    Instant.parse(job.getMetadata().getCreationTimestamp()),
+                    context != null ? Instant.parse(context.getStartedAt()) : null,
+                    context != null ? Instant.parse(context.getFinishedAt()) : null,
+                    Instant.parse(build.getStartedAt()),
+                    Instant.parse(build.getFinishedAt())));
+        } catch (Exception e) {
+            log.debug("Build timings unavailable: job={}, error={}", buildId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<BuildCacheStats> getBuildCacheStats(String projectId, String buildId) {
+        try (var permit = callLimiter.acquire(ExternalSystem.KUBERNETES_API)) {
+            Pod pod = latestBuildPod(projectId, buildId);
+            if (pod == null) {
+                return Optional.empty();
+            }
+            String nodeName = pod.getSpec().getNodeName() != null ? pod.getSpec().getNodeName() : "unknown";
+            if (hasContainer(pod.getSpec().getInitContainers(), "cache-warmer")) {
+                recordBaseImageCache(projectId, pod, nodeName);
+            }
+            if (!usesLayerCache(pod)) {
+                return Optional.empty();
             }
 
-            // Pod conditions 체크 — Unschedulable 등
-            if (podStatus.getConditions() != null) {
-                for (PodCondition condition : podStatus.getConditions()) {
-                    if ("False".equals(condition.getStatus())
-                            && "PodScheduled".equals(condition.getType())
-                            && "Unschedulable".equals(condition.getReason())) {
-                        return "Pod unschedulable: " + condition.getMessage();
+            int hits = 0;
+            int misses = 0;
+            // 로그 전체를 메모리에 올리지 않고 줄 단위로 집계
+            try (Reader logReader = kubernetesClient.pods()
+                    .inNamespace(projectId)
+                    .withName(pod.getMetadata().getName())
+                    .inContainer("kaniko")
+                    .getLogReader();
+                 BufferedReader reader = new BufferedReader(logReader)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.contains(CACHE_HIT_LOG)) {
+                        hits++;
+                    } else if (line.contains(CACHE_MISS_LOG)) {
+                        misses++;
                     }
                 }
             }
 
-            // FailedMount 감지 — Pod events 조회
-            boolean hasFailedMount = kubernetesClient.v1().events()
-                    .inNamespace(namespace)
-                    .withField("involvedObject.name", pod.getMetadata().getName())
-                    .list()
-                    .getItems()
-                    .stream()
-                    .anyMatch(e -> "Warning".equals(e.getType()) && "FailedMount".equals(e.getReason()));
-
-            if (hasFailedMount) {
-                return "FailedMount: Secret 또는 ConfigMap을 찾을 수 없음 (kubectl describe pod " +
-                        pod.getMetadata().getName() + " -n " + namespace + " 로 확인)";
+            recordNodeCache(nodeName, "layer", hits, misses);
+            log.info("Kaniko layer cache: job={}, node={}, hits={}, misses={}", buildId, nodeName, hits, misses);
+            return Optional.of(new BuildCacheStats(hits, misses));
+        } catch (Exception e) {
+            log.debug("Build cache stats unavailable: job={}, error={}", buildId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * backoff 재시도로 Pod가 여러 개면 마지막 시도 기준
+     */
+    private Pod latestBuildPod(String namespace, String jobName) {
+        return kubernetesClient.pods()
+                .inNamespace(namespace)
+                .withLabel("job-name", jobName)
+                .list()
+                .getItems()
+                .stream()
+                .max(Comparator.comparing(p -> p.getMetadata().getCreationTimestamp()))
+                .orElse(null);
+    }
+
+    /**
+     * warmer가 이미 노드 캐시에 있다고 보고한 이미지는 hit, 나머지 대상 이미지는 miss (새로 받아 캐시에 적재)
+     */
+    private void recordBaseImageCache(String namespace, Pod pod, String nodeName) throws IOException {
+        Container warmer = pod.getSpec().getInitContainers().stream()
+                .filter(c -> "cache-warmer".equals(c.getName()))
+                .findFirst()
+                .orElseThrow();
+        long images = warmer.getArgs().stream().filter(a -> a.startsWith("--image=")).count();
+
+        int hits = 0;
+        try (Reader logReader = kubernetesClient.pods()
+                .inNamespace(namespace)
+                .withName(pod.getMetadata().getName())
+                .inContainer("cache-warmer")
+                .getLogReader();
+             BufferedReader reader = new BufferedReader(logReader)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains(BASE_IMAGE_CACHED_LOG)) {
+                    hits++;
+                }
             }
         }
+        int misses = (int) Math.max(0, images - hits);
+        recordNodeCache(nodeName, "base_image", hits, misses);
+        log.info("Kaniko node cache: pod={}, node={}, baseImageHits={}, baseImageMisses={}",
+                pod.getMetadata().getName(), nodeName, hits, misses);
+    }
+
+    private void recordPruned(RepackStats stats) {
+        DistributionSummary.builder(CONTEXT_PRUNED_SUMMARY)
+                .description("build context 재구성 시 제외해 업로드하지 않은 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(stats.prunedBytes());
+        Counter.builder(CONTEXT_PRUNED_ENTRIES_COUNTER)
+                .description("build context 재구성 시 제외한 엔트리 수")
+                .register(meterRegistry)
+                .increment(stats.prunedEntries());
+    }
+
+    private void recordNodeCache(String nodeName, String cache, int hits, int misses) {
+        meterRegistry.counter(NODE_CACHE_COUNTER, "node", nodeName, "cache", cache, "result", "hit").increment(hits);
+        meterRegistry.counter(NODE_CACHE_COUNTER, "node", nodeName, "cache", cache, "result", "miss").increment(misses);
+    }
+
+    private static boolean hasContainer(List<Container> containers, String name) {
+        return containers != null && containers.stream().anyMatch(c -> name.equals(c.getName()));
+    }
+
+    private boolean usesLayerCache(Pod pod) {
+        return pod.getSpec().getContainers().stream()
+                .filter(c -> "kaniko".equals(c.getName()))
+                .anyMatch(c -> c.getArgs() != null && c.getArgs().contains("--cache=true"));
+    }
+
+    private ContainerStateTerminated terminatedState(List<ContainerStatus> statuses, String containerName) {
+        if (statuses == null) {
+            return null;
+        }
+        return statuses.stream()
+                .filter(cs -> containerName.equals(cs.getName()))
+                .map(cs -> cs.getState() != null ? cs.getState().getTerminated() : null)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public AutoCloseable followBuildLogs(String projectId, String buildId,
+                                         Consumer<BuildLogLine> onLine, Runnable onComplete) {
+        return buildLogTailer.follow(projectId, buildId, onLine, onComplete);
+    }
 
-        return null;
+    @Override
+    public List<BuildLogLine> getBuildLogs(String projectId, String buildId) {
+        try (var permit = callLimiter.acquire(ExternalSystem.KUBERNETES_API)) {
+            return buildLogTailer.read(projectId, buildId);
+        } catch (Exception e) {
+            log.warn("Build logs unavailable: job={}, error={}", buildId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public void cancelBuild(String projectId, String buildId) {
+        try (var permit = callLimiter.acquire(ExternalSystem.KUBERNETES_API)) {
+            kubernetesClient.batch().v1().jobs()
+                    .inNamespace(projectId)
+                    .withName(buildId)
+                    .withPropagationPolicy(DeletionPropagation.BACKGROUND)
+                    .delete();
+            log.info("Kaniko Job deleted: job={}, namespace={}", buildId, projectId);
+        } catch (Exception e) {
+            log.warn("Kaniko Job delete failed: job={}, error={}", buildId, e.getMessage());
+        }
     }
 
     @Override
@@ -279,7 +635,8 @@ public class NcpInfraService implements CloudInfraProvider {
         log.info("Scale requested via NCP: resource={}, replicas={}", resourceName, replicas);
     }
 
-    private Job buildKanikoJob(String jobName, String storageKey, String imageUri, Deployment deployment) {
+    private Job buildKanikoJob(String jobName, String storageKey, String imageUri, Deployment deployment,
+                               BuildOptions options) {
         String shortSha = ImageTagGenerator.toShortSha(deployment.getCommitHash());
 
         Map<String, String> labels = Map.of(
@@ -288,48 +645,118 @@ public class NcpInfraService implements CloudInfraProvider {
                 "klepaas.io/commit-sha", shortSha
         );
 
-        // initContainer: NCP Object Storage에서 ZIP 다운로드 후 /workspace에 압축 해제
-        // Kaniko에게 S3를 직접 읽게 하지 않으므로 endpoint 호환성 문제 제거
-        String downloadCmd = "aws s3 cp s3://" + bucketName + "/" + storageKey + " /tmp/source.zip" +
-                " --endpoint-url " + NCP_STORAGE_ENDPOINT +
-                " && python3 -c \"import zipfile; zipfile.ZipFile('/tmp/source.zip').extractall('/workspace')\"" +
-                " && rm /tmp/source.zip";
-
-        Container initContainer = new ContainerBuilder()
-                .withName("source-downloader")
-                .withImage("amazon/aws-cli:latest")
-                .withCommand("/bin/sh", "-c")
-                .withArgs(downloadCmd)
-                .withEnv(
-                        new EnvVarBuilder().withName("AWS_ACCESS_KEY_ID").withValue(ncpAccessKey).build(),
-                        new EnvVarBuilder().withName("AWS_SECRET_ACCESS_KEY").withValue(ncpSecretKey).build()
-                )
-                .withVolumeMounts(new VolumeMountBuilder()
-                        .withName("workspace")
-                        .withMountPath("/workspace")
-                        .build())
-                .build();
-
-        // Kaniko: 로컬 디렉토리 컨텍스트 사용 (S3 endpoint 의존성 제거)
-        Container kanikoContainer = new ContainerBuilder()
+        BuildProfile profile = options.profile();
+        ContainerBuilder kaniko = new ContainerBuilder()
                 .withName("kaniko")
                 .withImage(kanikoImage)
-                .withArgs(
-                        "--context=dir:///workspace",
-                        "--destination=" + imageUri,
-                        "--compressed-caching=false",
-                        "--snapshot-mode=redo"
-                )
-                .withVolumeMounts(
-                        new VolumeMountBuilder()
+                .withNewResources()
+                    .addToRequests("cpu", new Quantity(profile.getCpuRequest()))
+                    .addToRequests("memory", new Quantity(profile.getMemoryRequest()))
+                    .addToLimits("cpu", new Quantity(profile.getCpuLimit()))
+                    .addToLimits("memory", new Quantity(profile.getMemoryLimit()))
+                .endResources()
+                .addToVolumeMounts(new VolumeMountBuilder()
+                        .withName("docker-config")
+                        .withMountPath("/kaniko/.docker")
+                        .build());
+        List<Container> initContainers = new ArrayList<>();
+        List<Volume> volumes = new ArrayList<>();
+        volumes.add(new VolumeBuilder()
+                .withName("docker-config")
+                .withNewSecret()
+                    .withSecretName(imagePullSecretName)
+                    .withItems(new KeyToPathBuilder()
+                            .withKey(".dockerconfigjson")
+                            .withPath("config.json")
+                            .build())
+                .endSecret()
+                .build());
+
+        String context;
+        if (contextFormat == ContextFormat.TAR_GZ) {
+            // Kaniko가 해당 객체 하나만 읽을 수 있는 짧은 presigned URL로 tar.gz context를 직접 내려받는다.
+            // Dockerfile RUN 단계가 Kaniko 컨테이너 환경변수를 읽을 수 있으므로 계정 키는 넘기지 않는다
+            context = presignContextUrl(storageKey);
+        } else {
+            // initContainer: Object Storage에서 ZIP 다운로드 후 /workspace에 압축 해제
+            context = "dir:///workspace";
+            String downloadCmd = "aws s3 cp s3://" + bucketName + "/" + storageKey + " /tmp/source.zip" +
+                    " --endpoint-url " + storageEndpoint +
+                    " && python3 -c \"import zipfile; zipfile.ZipFile('/tmp/source.zip').extractall('/workspace')\"" +
+                    " && rm /tmp/source.zip";
+
+            initContainers.add(new ContainerBuilder()
+                    .withName("source-downloader")
+                    .withImage("amazon/aws-cli:latest")
+                    .withCommand("/bin/sh", "-c")
+                    .withArgs(downloadCmd)
+                    .withEnv(storageCredentialEnv())
+                    .withVolumeMounts(new VolumeMountBuilder()
+                            .withName("workspace")
+                            .withMountPath("/workspace")
+                            .build())
+                    .build());
+            volumes.add(new VolumeBuilder()
+                    .withName("workspace")
+                    .withNewEmptyDir()
+                    .endEmptyDir()
+                    .build());
+            kaniko.addToVolumeMounts(new VolumeMountBuilder()
+                    .withName("workspace")
+                    .withMountPath("/workspace")
+                    .build());
+        }
+
+        List<String> args = new ArrayList<>(List.of(
+                "--context=" + context,
+                "--destination=" + imageUri,
+                "--compressed-caching=false",
+                "--snapshot-mode=" + profile.getSnapshotMode()
+        ));
+        if (options.layerCacheEnabled()) {
+            // RUN 단계 결과를 레지스트리 캐시 repo에 저장/조회 (의존성 설치 등 변경 없는 단계 재실행 생략)
+            args.add("--cache=true");
+            args.add("--cache-repo=" + cacheRepoFor(deployment));
+            args.add("--cache-ttl=" + kanikoCacheTtl);
+        }
+        if (nodeCacheEnabled) {
+            // 베이스 이미지를 노드 로컬 캐시에서 읽어 레지스트리 pull 생략 (같은 노드의 이후 빌드가 재사용)
+            args.add("--cache-dir=" + NODE_CACHE_DIR);
+            VolumeMount cacheMount = new VolumeMountBuilder()
+                    .withName("node-cache")
+                    .withMountPath(NODE_CACHE_DIR)
+                    .build();
+            // 빌드 컨테이너는 사용자 Dockerfile을 실행하므로 노드 캐시를 읽기만 한다 (쓰기는 cache-warmer만)
+            kaniko.addToVolumeMounts(new VolumeMountBuilder(cacheMount)
+                    .withReadOnly(true)
+                    .build());
+            volumes.add(new VolumeBuilder()
+                    .withName("node-cache")
+                    .withNewHostPath()
+                        .withPath(nodeCacheHostPath)
+                        .withType("DirectoryOrCreate")
+                    .endHostPath()
+                    .build());
+
+            List<String> baseImages = deployment.getBaseImageList();
+            if (!baseImages.isEmpty()) {
+                List<String> warmerArgs = new ArrayList<>();
+                warmerArgs.add("--cache-dir=" + NODE_CACHE_DIR);
+                baseImages.forEach(image -> warmerArgs.add("--image=" + image));
+                initContainers.add(new ContainerBuilder()
+                        .withName("cache-warmer")
+                        .withImage(kanikoWarmerImage)
+                        .withArgs(warmerArgs)
+                        .withVolumeMounts(cacheMount, new VolumeMountBuilder()
                                 .withName("docker-config")
                                 .withMountPath("/kaniko/.docker")
-                                .build(),
-                        new VolumeMountBuilder()
-                                .withName("workspace")
-                                .withMountPath("/workspace")
-                                .build()
-                )
+                                .build())
+                        .build());
+            }
+        }
+
+        Container kanikoContainer = kaniko
+                .withArgs(args)
                 .build();
 
         return new JobBuilder()
@@ -347,39 +774,142 @@ public class NcpInfraService implements CloudInfraProvider {
                         .endMetadata()
                         .withNewSpec()
                             .withRestartPolicy("Never")
-                            .withInitContainers(initContainer)
+                            .withAffinity(buildNodeAffinity(profile, deployment))
+                            .withTolerations(new TolerationBuilder()
+                                    .withKey(buildNodeTaint)
+                                    .withOperator("Exists")
+                                    .withEffect("NoSchedule")
+                                    .build())
+                            .withInitContainers(initContainers)
                             .withContainers(kanikoContainer)
-                            .withVolumes(
-                                    new VolumeBuilder()
-                                            .withName("workspace")
-                                            .withNewEmptyDir()
-                                            .endEmptyDir()
-                                            .build(),
-                                    new VolumeBuilder()
-                                            .withName("docker-config")
-                                            .withNewSecret()
-                                                .withSecretName(imagePullSecretName)
-                                                .withItems(new KeyToPathBuilder()
-                                                        .withKey(".dockerconfigjson")
-                                                        .withPath("config.json")
-                                                        .build())
-                                            .endSecret()
-                                            .build()
-                            )
+                            .withVolumes(volumes)
                         .endSpec()
                     .endTemplate()
                 .endSpec()
                 .build();
     }
 
+    /**
+     * 프로필에 맞는 빌드 노드 풀을 우선 선호하고, 다음으로 아무 빌드 노드나 선호한다.
+     * 빌드 노드 taint를 허용하므로 빌드 전용 노드가 있으면 앱 노드 대신 그쪽에 배치된다.
+     */
+    private Affinity buildNodeAffinity(BuildProfile profile, Deployment deployment) {
+        NodeAffinityBuilder nodeAffinity = new NodeAffinityBuilder()
+                .addNewPreferredDuringSchedulingIgnoredDuringExecution()
+                    .withWeight(100)
+                    .withNewPreference()
+                        .addNewMatchExpression()
+                            .withKey(buildNodeLabel)
+                            .withOperator("In")
+                            .withValues(profile.getNodePool())
+                        .endMatchExpression()
+                    .endPreference()
+                .endPreferredDuringSchedulingIgnoredDuringExecution()
+                .addNewPreferredDuringSchedulingIgnoredDuringExecution()
+                    .withWeight(50)
+                    .withNewPreference()
+                        .addNewMatchExpression()
+                            .withKey(buildNodeLabel)
+                            .withOperator("Exists")
+                        .endMatchExpression()
+                    .endPreference()
+                .endPreferredDuringSchedulingIgnoredDuringExecution();
+
+        if (repoAffinity) {
+            // 같은 저장소는 같은 노드를 선호 (필수 조건이 아니므로 노드가 없거나 가득 차면 다른 노드로 스케줄)
+            List<String> preferred = buildNodePlacement.preferredNodes(
+                    String.valueOf(deployment.getSourceRepository().getId()), profile, REPO_AFFINITY_WEIGHTS.length);
+            for (int i = 0; i < preferred.size(); i++) {
+                nodeAffinity.addNewPreferredDuringSchedulingIgnoredDuringExecution()
+                        .withWeight(REPO_AFFINITY_WEIGHTS[i])
+                        .withNewPreference()
+                            .addNewMatchField()
+                                .withKey("metadata.name")
+                                .withOperator("In")
+                                .withValues(preferred.get(i))
+                            .endMatchField()
+                        .endPreference()
+                        .endPreferredDuringSchedulingIgnoredDuringExecution();
+            }
+        }
+
+        if (buildNodeRequired) {
+            nodeAffinity.withNewRequiredDuringSchedulingIgnoredDuringExecution()
+                    .addNewNodeSelectorTerm()
+                        .addNewMatchExpression()
+                            .withKey(buildNodeLabel)
+                            .withOperator("Exists")
+                        .endMatchExpression()
+                    .endNodeSelectorTerm()
+                    .endRequiredDuringSchedulingIgnoredDuringExecution();
+        }
+
+        return new AffinityBuilder()
+                .withNodeAffinity(nodeAffinity.build())
+                .build();
+    }
+
+    /**
+     * Kaniko https:// context는 tar.gz를 내려받아 해제한다 (http endpoint는 지원하지 않음)
+     */
+    private String presignContextUrl(String storageKey) {
+        String url = s3Presigner.presignGetObject(GetObjectPresignRequest.builder()
+                        .signatureDuration(Duration.ofMillis(contextUrlTtl))
+                        .getObjectRequest(GetObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(storageKey)
+                                .build())
+                        .build())
+                .url()
+                .toString();
+        if (!url.startsWith("https://")) {
+            throw new BusinessException(ErrorCode.BUILD_TRIGGER_FAILED,
+                    "TAR_GZ context는 https Object Storage endpoint가 필요합니다 (ZIP 모드를 사용하세요)");
+        }
+        return url;
+    }
+
+    private List<EnvVar> storageCredentialEnv() {
+        return List.of(
+                new EnvVarBuilder().withName("AWS_ACCESS_KEY_ID").withValue(ncpAccessKey).build(),
+                new EnvVarBuilder().withName("AWS_SECRET_ACCESS_KEY").withValue(ncpSecretKey).build()
+        );
+    }
+
+    private void publishStage(Deployment deployment, PipelineStage stage, LocalDateTime startedAt) {
+        eventPublisher.publishEvent(new PipelineStageCompletedEvent(
+                deployment.getId(), stage, startedAt, LocalDateTime.now(), true));
+    }
+
+    private String imageUriFor(Deployment deployment) {
+        return ImageTagGenerator.buildImageUri(registryEndpoint, imageNameFor(deployment), deployment.getCommitHash());
+    }
+
+    /**
+     * 레이어 캐시 전용 repo ({registryEndpoint}/{owner}-{repoName}-cache). 앱 이미지 태그 목록에 캐시 레이어가 섞이지 않도록 분리
+     */
+    private String cacheRepoFor(Deployment deployment) {
+        return registryEndpoint + "/" + imageNameFor(deployment) + "-cache";
+    }
+
+    private String imageNameFor(Deployment deployment) {
+        SourceRepository repo = deployment.getSourceRepository();
+        return repo.getOwner() + "-" + repo.getRepoName();
+    }
+
+    /**
+     * HEAD와 short SHA를 전체 커밋 SHA로 해석. 소스 캐시 키와 이미지 태그가 같은 커밋에 대해 항상 같은 값이 되도록 한다.
+     */
     private void resolveCommitHashIfNeeded(String gitToken, Deployment deployment) throws IOException, InterruptedException {
-        if (!"HEAD".equalsIgnoreCase(deployment.getCommitHash())) {
+        String commitHash = deployment.getCommitHash();
+        if (commitHash != null && FULL_SHA.matcher(commitHash).matches()) {
             return;
         }
 
         SourceRepository repo = deployment.getSourceRepository();
+        String ref = (commitHash == null || "HEAD".equalsIgnoreCase(commitHash)) ? deployment.getBranchName() : commitHash;
         String apiUrl = "https://api.github.com/repos/" + repo.getOwner() + "/" +
-                repo.getRepoName() + "/commits/" + deployment.getBranchName();
+                repo.getRepoName() + "/commits/" + ref;
 
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(apiUrl))
@@ -392,13 +922,13 @@ public class NcpInfraService implements CloudInfraProvider {
         HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
             throw new BusinessException(ErrorCode.SOURCE_UPLOAD_FAILED,
-                    "브랜치 HEAD 커밋 조회 실패: HTTP " + response.statusCode());
+                    "커밋 조회 실패: ref=" + ref + ", HTTP " + response.statusCode());
         }
 
         String resolvedSha = extractCommitSha(response.body());
         deployment.updateCommitHash(resolvedSha);
-        log.info("Resolved HEAD to commit SHA: deploymentId={}, branch={}, sha={}",
-                deployment.getId(), deployment.getBranchName(), resolvedSha);
+        log.info("Resolved commit SHA: deploymentId={}, ref={}, sha={}",
+                deployment.getId(), ref, resolvedSha);
     }
 
     private String extractCommitSha(String body) {
@@ -417,30 +947,146 @@ public class NcpInfraService implements CloudInfraProvider {
     }
 
     /**
-     * GitHub 아카이브 ZIP의 최상위 디렉토리 제거.
-     * GitHub ZIP 구조: "owner-repo-sha/path" → "path" (Kaniko는 root에 Dockerfile 필요)
+     * 해당 커밋의 .dockerignore 조회. 없거나 조회에 실패하면 전체 소스를 그대로 업로드한다.
      */
-    private byte[] stripTopLevelDir(byte[] zipBytes) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (ZipInputStream zin = new ZipInputStream(new ByteArrayInputStream(zipBytes));
-             ZipOutputStream zout = new ZipOutputStream(baos)) {
-
-            ZipEntry entry;
-            while ((entry = zin.getNextEntry()) != null) {
-                String name = entry.getName();
-                int firstSlash = name.indexOf('/');
-
-                // 최상위 디렉토리 자체 엔트리 (예: "owner-repo-sha/") → 스킵
-                if (firstSlash < 0 || firstSlash == name.length() - 1) {
-                    continue;
+    private DockerIgnore fetchDockerIgnore(String gitToken, Deployment deployment) {
+        SourceRepository repo = deployment.getSourceRepository();
+        String apiUrl = "https://api.github.com/repos/" + repo.getOwner() + "/" +
+                repo.getRepoName() + "/contents/.dockerignore?ref=" + deployment.getCommitHash();
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(apiUrl))
+                .header("Authorization", "Bearer " + gitToken)
+                .header("Accept", "application/vnd.github.raw+json")
+                .header("X-GitHub-Api-Version", "2022-11-28")
+                .GET()
+                .build();
+
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 404) {
+                return DockerIgnore.empty();
+            }
+            if (response.statusCode() != 200) {
+                log.warn(".dockerignore lookup failed, skipping pruning: deploymentId={}, status={}",
+                        deployment.getId(), response.statusCode());
+                return DockerIgnore.empty();
+            }
+            return DockerIgnore.parse(response.body());
+        } catch (IOException e) {
+            log.warn(".dockerignore lookup failed, skipping pruning: deploymentId={}, error={}",
+                    deployment.getId(), e.getMessage());
+            return DockerIgnore.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SOURCE_UPLOAD_FAILED, ".dockerignore 조회 중 인터럽트됨");
+        }
+    }
+
+    /**
+     * GitHub 아카이브(zipball/tarball)를 같은 형식의 build context로 재구성.
+     * - 최상위 디렉토리 제거: "owner-repo-sha/path" → "path" (Kaniko는 root에 Dockerfile 필요)
+     * - .dockerignore에 매칭되는 엔트리 제외 (Kaniko의 context 다운로드/압축 해제량 감소)
+     * - 포함된 경로, 파일 내용 해시, Dockerfile 내용을 매니페스트에 기록 (사전 검증 및 context 해시용)
+     * 엔트리 단위로 스트리밍하므로 아카이브 전체를 메모리에 올리지 않는다 (Dockerfile만 예외).
+     */
+    private <E extends ArchiveEntry> RepackStats repackContext(ArchiveInputStream<?> source, ArchiveOutputStream<E> context,
+                                                               BiFunction<ArchiveEntry, String, E> entryFactory,
+                                                               DockerIgnore dockerIgnore, BuildContextManifest manifest)
+            throws IOException {
+        int entryCount = 0;
+        int prunedEntries = 0;
+        long prunedBytes = 0;
+        ArchiveEntry entry;
+        while ((entry = source.getNextEntry()) != null) {
+            String name = entry.getName();
+            int firstSlash = name.indexOf('/');
+
+            // 최상위 디렉토리 자체 엔트리 (예: "owner-repo-sha/")와 tarball의 pax_global_header → 스킵
+            if (firstSlash < 0 || firstSlash == name.length() - 1) {
+                continue;
+            }
+            // git은 하드 링크/장치 파일을 만들지 않으므로 그 외 tar 엔트리 타입은 무시
+            if (entry instanceof TarArchiveEntry tar && !tar.isFile() && !tar.isDirectory() && !tar.isSymbolicLink()) {
+                continue;
+            }
+
+            String newName = name.substring(firstSlash + 1);
+            if (dockerIgnore.isExcluded(newName)) {
+                // 스트리밍 ZIP은 헤더에 크기가 없을 수 있으므로 실제로 읽어서 절감량 집계
+                prunedBytes += source.transferTo(OutputStream.nullOutputStream());
+                prunedEntries++;
+                continue;
+            }
+
+            context.putArchiveEntry(entryFactory.apply(entry, newName));
+            int mode = modeOf(entry);
+            if (entry.isDirectory()) {
+                manifest.addDirectory(newName, mode);
+            } else if (entry instanceof TarArchiveEntry tar && tar.isSymbolicLink()) {
+                // tar 심볼릭 링크는 본문이 없으므로 링크 대상으로 해시
+                manifest.addSymlink(newName, mode, tar.getLinkName());
+            } else {
+                // 파일 내용 해시를 함께 계산 (build context 해시용)
+                MessageDigest digest = BuildContextManifest.newDigest();
+                if (newName.equals(BuildContextManifest.DOCKERFILE)) {
+                    byte[] dockerfile = source.readAllBytes();
+                    manifest.setDockerfile(new String(dockerfile, StandardCharsets.UTF_8));
+                    digest.update(dockerfile);
+                    context.write(dockerfile);
+                } else {
+                    source.transferTo(new DigestOutputStream(context, digest));
                 }
+                manifest.addFile(newName, mode, digest.digest());
+            }
+            context.closeArchiveEntry();
+            entryCount++;
+        }
+        return new RepackStats(entryCount, prunedEntries, prunedBytes);
+    }
 
-                String newName = name.substring(firstSlash + 1);
-                zout.putNextEntry(new ZipEntry(newName));
-                zin.transferTo(zout);
-                zout.closeEntry();
+    // ZIP은 unix 플랫폼으로 기록된 경우에만 모드가 있다 (없으면 0)
+    private static int modeOf(ArchiveEntry entry) {
+        if (entry instanceof TarArchiveEntry tar) {
+            return tar.getMode();
+        }
+        if (entry instanceof ZipArchiveEntry zip && zip.getPlatform() == ZipArchiveEntry.PLATFORM_UNIX) {
+            return zip.getUnixMode();
+        }
+        return 0;
+    }
+
+    private static ZipArchiveEntry toZipEntry(ArchiveEntry source, String name) {
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        if (source instanceof ZipArchiveEntry zip) {
+            if (zip.getTime() != -1) {
+                entry.setTime(zip.getTime());
+            }
+            if (zip.getPlatform() == ZipArchiveEntry.PLATFORM_UNIX) {
+                entry.setUnixMode(zip.getUnixMode());
             }
         }
-        return baos.toByteArray();
+        return entry;
+    }
+
+    // 파일 모드(실행 권한)와 심볼릭 링크를 그대로 유지
+    private static TarArchiveEntry toTarEntry(ArchiveEntry source, String name) {
+        TarArchiveEntry tar = (TarArchiveEntry) source;
+        TarArchiveEntry entry;
+        if (tar.isSymbolicLink()) {
+            entry = new TarArchiveEntry(name, TarConstants.LF_SYMLINK);
+            entry.setLinkName(tar.getLinkName());
+        } else {
+            entry = new TarArchiveEntry(name);
+            if (tar.isFile()) {
+                entry.setSize(tar.getSize());
+            }
+        }
+        entry.setMode(tar.getMode());
+        entry.setModTime(tar.getModTime());
+        return entry;
+    }
+
+    private record RepackStats(int entries, int prunedEntries, long prunedBytes) {
     }
 }
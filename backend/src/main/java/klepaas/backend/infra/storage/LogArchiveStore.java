@@ -0,0 +1,147 @@
+package klepaas.backend.infra.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import klepaas.backend.infra.concurrency.ExternalCallLimiter;
+import klepaas.backend.infra.concurrency.ExternalCallLimiter.ExternalSystem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 배포 로그 아카이브 (Object Storage).
+ * 로그를 gzip 청크 단위로 저장하고, 청크별 시작 offset/줄 수를 담은 작은 인덱스로 범위 조회 시 필요한 청크만 읽는다.
+ * <pre>
+ * {prefix}/{deploymentId}/index.json
+ * {prefix}/{deploymentId}/{chunkNo}.log.gz
+ * </pre>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LogArchiveStore {
+
+    private final S3Client s3Client;
+    private final ExternalCallLimiter callLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${cloud.ncp.storage.bucket}")
+    private String bucketName;
+
+    @Value("${deployment.logs.archive.prefix:logs}")
+    private String prefix;
+
+    public record Chunk(String key, long firstOffset, int lines) {
+        public long endOffset() {
+            return firstOffset + lines;
+        }
+    }
+
+    public record Index(Long deploymentId, long totalLines, List<Chunk> chunks) {
+    }
+
+    public Chunk writeChunk(Long deploymentId, int chunkNo, long firstOffset, List<String> lines) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(compressed), StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String key = prefix + "/" + deploymentId + "/" + String.format("%06d", chunkNo) + ".log.gz";
+        put(key, "application/gzip", compressed.toByteArray());
+        return new Chunk(key, firstOffset, lines.size());
+    }
+
+    public void writeIndex(Index index) {
+        try {
+            put(indexKey(index.deploymentId()), "application/json", objectMapper.writeValueAsBytes(index));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Optional<Index> readIndex(Long deploymentId) {
+        try (var permit = callLimiter.acquire(ExternalSystem.OBJECT_STORAGE);
+             InputStream in = s3Client.getObject(GetObjectRequest.builder()
+                     .bucket(bucketName)
+                     .key(indexKey(deploymentId))
+                     .build())) {
+            return Optional.of(objectMapper.readValue(in, Index.class));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * [from, to) 범위와 겹치는 청크만 순서대로 내려받아 해당 줄만 반환 (청크 전체를 메모리에 올리지 않고 줄 단위로 읽는다)
+     */
+    public List<String> readLines(Index index, long from, long to) {
+        List<String> result = new ArrayList<>();
+        for (Chunk chunk : index.chunks()) {
+            if (chunk.endOffset() <= from || chunk.firstOffset() >= to) {
+                continue;
+            }
+            try (var permit = callLimiter.acquire(ExternalSystem.OBJECT_STORAGE);
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(
+                         new GZIPInputStream(s3Client.getObject(GetObjectRequest.builder()
+                                 .bucket(bucketName)
+                                 .key(chunk.key())
+                                 .build())),
+                         StandardCharsets.UTF_8))) {
+                long offset = chunk.firstOffset();
+                String line;
+                while (offset < to && (line = reader.readLine()) != null) {
+                    if (offset >= from) {
+                        result.add(line);
+                    }
+                    offset++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return result;
+    }
+
+    private void put(String key, String contentType, byte[] body) {
+        try (var permit = callLimiter.acquire(ExternalSystem.OBJECT_STORAGE)) {
+            s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .contentType(contentType)
+                            .build(),
+                    RequestBody.fromBytes(body));
+        }
+        log.debug("Log archive object written: key={}, bytes={}", key, body.length);
+    }
+
+    private String indexKey(Long deploymentId) {
+        return prefix + "/" + deploymentId + "/index.json";
+    }
+}
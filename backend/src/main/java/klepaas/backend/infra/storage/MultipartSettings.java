@@ -0,0 +1,24 @@
+package klepaas.backend.infra.storage;
+
+/**
+ * 멀티파트 업로드 설정.
+ * 배포당 최대 메모리는 대략 partSize × (parallelism + 1) 이다.
+ *
+ * @param partSize         파트 크기 (S3 최소 5MB)
+ * @param parallelism      동시에 업로드하는 파트 수
+ * @param maxPartAttempts  파트별 최대 시도 횟수 (실패한 파트만 재전송)
+ */
+public record MultipartSettings(
+        int partSize,
+        int parallelism,
+        int maxPartAttempts
+) {
+    public MultipartSettings {
+        if (partSize < S3MultipartOutputStream.MIN_PART_SIZE) {
+            throw new IllegalArgumentException("partSize는 5MB 이상이어야 합니다: " + partSize);
+        }
+        if (parallelism < 1 || maxPartAttempts < 1) {
+            throw new IllegalArgumentException("parallelism과 maxPartAttempts는 1 이상이어야 합니다");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package klepaas.backend.infra.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+/**
+ * 병렬 멀티파트 업로드 스트림 생성.
+ */
+@Component
+public class ObjectStorageUploader {
+
+    private final S3AsyncClient s3AsyncClient;
+    private final MeterRegistry meterRegistry;
+    private final MultipartSettings settings;
+
+    public ObjectStorageUploader(S3AsyncClient s3AsyncClient,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${deployment.source.upload-part-size:5242880}") int partSize,
+                                 @Value("${deployment.source.upload-parallelism:4}") int parallelism,
+                                 @Value("${deployment.source.upload-part-attempts:3}") int maxPartAttempts) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.meterRegistry = meterRegistry;
+        this.settings = new MultipartSettings(partSize, parallelism, maxPartAttempts);
+    }
+
+    public S3MultipartOutputStream open(String bucket, String key, String contentType) {
+        return new S3MultipartOutputStream(s3AsyncClient, bucket, key, contentType, settings, meterRegistry);
+    }
+}
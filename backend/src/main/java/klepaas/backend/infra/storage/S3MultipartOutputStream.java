@@ -0,0 +1,334 @@
+package klepaas.backend.infra.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * S3 멀티파트 업로드로 바로 흘려보내는 OutputStream.
+ * 파트가 차면 비동기 클라이언트로 업로드를 시작하고 다음 파트를 계속 채운다.
+ * 동시 업로드 파트 수가 parallelism에 도달하면 쓰기가 대기하므로(backpressure) 메모리 사용량은 객체 크기와 무관하다.
+ * 각 파트는 Content-MD5로 서버 검증을 받고, 응답 ETag도 MD5와 대조하며, 실패한 파트만 재전송한다.
+ * 전체 크기가 한 파트보다 작으면 단일 PutObject로 업로드한다.
+ *
+ * <p>{@link #close()}가 업로드를 완료하므로, 쓰기 도중 실패하면 close 대신 {@link #abort()}를 호출해야
+ * 불완전한 객체가 남지 않는다. 완료 후 abort는 아무 동작도 하지 않는다.
+ */
+@Slf4j
+public class S3MultipartOutputStream extends OutputStream {
+
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024; // S3 최소 파트 크기 (마지막 파트 제외)
+
+    private static final long RETRY_BACKOFF_MILLIS = 200;
+
+    private final S3AsyncClient s3Client;
+    private final String bucket;
+    private final String key;
+    private final String contentType;
+    private final MultipartSettings settings;
+    private final Semaphore inFlight;
+
+    private final Timer partSuccessTimer;
+    private final Timer partFailureTimer;
+    private final Counter partRetryCounter;
+    private final DistributionSummary throughput;
+
+    private byte[] buffer;
+    private int position;
+
+    private String uploadId;
+    private int partCount;
+    private final List<CompletableFuture<CompletedPart>> partFutures = new ArrayList<>();
+    private volatile Throwable partFailure;
+    private long bytesWritten;
+    private final long startedAtNanos = System.nanoTime();
+    private boolean completed;
+    private boolean aborted;
+
+    public S3MultipartOutputStream(S3AsyncClient s3Client, String bucket, String key, String contentType,
+                                   MultipartSettings settings, MeterRegistry meterRegistry) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.key = key;
+        this.contentType = contentType;
+        this.settings = settings;
+        this.inFlight = new Semaphore(settings.parallelism());
+        this.buffer = new byte[settings.partSize()];
+
+        this.partSuccessTimer = partTimer(meterRegistry, "success");
+        this.partFailureTimer = partTimer(meterRegistry, "failure");
+        this.partRetryCounter = Counter.builder("klepaas.storage.upload.part.retries")
+                .description("재전송한 멀티파트 파트 수")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("klepaas.storage.upload.throughput")
+                .description("소스 업로드 처리량")
+                .baseUnit("bytes_per_second")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        Objects.checkFromIndexSize(off, len, b.length);
+        while (len > 0) {
+            int chunk = Math.min(len, buffer.length - position);
+            System.arraycopy(b, off, buffer, position, chunk);
+            position += chunk;
+            off += chunk;
+            len -= chunk;
+            bytesWritten += chunk;
+            if (position == buffer.length) {
+                submitBufferedPart();
+            }
+        }
+    }
+
+    /**
+     * 남은 버퍼를 업로드하고 모든 파트가 끝나면 객체를 완성한다.
+     */
+    @Override
+    public void close() throws IOException {
+        if (completed || aborted) {
+            return;
+        }
+
+        try {
+            if (uploadId == null) {
+                putSingleObject();
+            } else {
+                if (position > 0) {
+                    submitBufferedPart();
+                }
+                completeMultipartUpload();
+            }
+        } catch (CompletionException e) {
+            throw new IOException("업로드 실패: " + key + " - " + rootCause(e).getMessage(), rootCause(e));
+        }
+        completed = true;
+
+        double seconds = Math.max(1e-3, (System.nanoTime() - startedAtNanos) / 1e9);
+        throughput.record(bytesWritten / seconds);
+        log.info("Object uploaded: key={}, bytes={}, parts={}, throughput={}KB/s",
+                key, bytesWritten, getPartCount(), Math.round(bytesWritten / seconds / 1024));
+    }
+
+    /**
+     * 진행 중인 멀티파트 업로드 취소. 이미 완료되었거나 파트를 올리기 전이면 아무 동작도 하지 않는다.
+     * 진행 중인 파트가 끝난 뒤 취소해야 스토리지에 고아 파트가 남지 않는다.
+     */
+    public void abort() {
+        if (completed || aborted) {
+            return;
+        }
+        aborted = true;
+        if (uploadId == null) {
+            return;
+        }
+
+        CompletableFuture.allOf(partFutures.toArray(CompletableFuture[]::new))
+                .handle((ignored, e) -> null)
+                .join();
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build()).join();
+            log.info("Multipart upload aborted: key={}, uploadId={}", key, uploadId);
+        } catch (Exception e) {
+            log.warn("Multipart upload abort failed: key={}, uploadId={}, error={}", key, uploadId, e.getMessage());
+        }
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public int getPartCount() {
+        return uploadId == null ? (completed ? 1 : 0) : partCount;
+    }
+
+    private void submitBufferedPart() throws IOException {
+        if (partFailure != null) {
+            throw new IOException("파트 업로드 실패: " + key + " - " + partFailure.getMessage(), partFailure);
+        }
+        if (uploadId == null) {
+            try {
+                uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .build()).join().uploadId();
+            } catch (CompletionException e) {
+                throw new IOException("멀티파트 업로드 생성 실패: " + key, rootCause(e));
+            }
+        }
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("파트 업로드 대기 중 인터럽트됨: " + key, e);
+        }
+
+        byte[] data = buffer;
+        int length = position;
+        int partNumber = ++partCount;
+        byte[] md5 = md5(data, length);
+
+        CompletableFuture<CompletedPart> future = uploadPart(partNumber, data, length, md5, 1)
+                .whenComplete((part, e) -> {
+                    inFlight.release();
+                    if (e != null) {
+                        partFailure = rootCause(e);
+                    }
+                });
+        partFutures.add(future);
+
+        // 업로드 중인 버퍼는 파트 future가 참조하므로 새 버퍼로 교체
+        buffer = new byte[settings.partSize()];
+        position = 0;
+    }
+
+    private CompletableFuture<CompletedPart> uploadPart(int partNumber, byte[] data, int length, byte[] md5, int attempt) {
+        long startNanos = System.nanoTime();
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) length)
+                .contentMD5(Base64.getEncoder().encodeToString(md5))
+                .build();
+
+        return s3Client.uploadPart(request, AsyncRequestBody.fromByteBuffer(ByteBuffer.wrap(data, 0, length)))
+                .thenApply(response -> {
+                    verifyETag(partNumber, response.eTag(), md5);
+                    partSuccessTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+                })
+                .handle((part, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(part);
+                    }
+                    partFailureTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    if (attempt >= settings.maxPartAttempts()) {
+                        return CompletableFuture.<CompletedPart>failedFuture(rootCause(error));
+                    }
+
+                    log.warn("Part upload failed, retrying: key={}, part={}, attempt={}, error={}",
+                            key, partNumber, attempt, rootCause(error).getMessage());
+                    partRetryCounter.increment();
+                    return CompletableFuture.runAsync(() -> { },
+                                    CompletableFuture.delayedExecutor(RETRY_BACKOFF_MILLIS * attempt, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> uploadPart(partNumber, data, length, md5, attempt + 1));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private void completeMultipartUpload() {
+        CompletableFuture.allOf(partFutures.toArray(CompletableFuture[]::new)).join();
+
+        List<CompletedPart> parts = partFutures.stream()
+                .map(CompletableFuture::join)
+                .sorted(Comparator.comparing(CompletedPart::partNumber))
+                .toList();
+
+        s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .build()).join();
+    }
+
+    private void putSingleObject() {
+        byte[] md5 = md5(buffer, position);
+        s3Client.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength((long) position)
+                        .contentMD5(Base64.getEncoder().encodeToString(md5))
+                        .build(),
+                AsyncRequestBody.fromByteBuffer(ByteBuffer.wrap(buffer, 0, position))).join();
+    }
+
+    /**
+     * 단일 파트 ETag는 본문 MD5(hex)이다. 암호화 설정 등으로 MD5 형식이 아니면 Content-MD5 서버 검증만 신뢰한다.
+     */
+    private void verifyETag(int partNumber, String eTag, byte[] md5) {
+        if (eTag == null) {
+            return;
+        }
+        String normalized = eTag.replace("\"", "");
+        if (normalized.length() == 32 && !normalized.equalsIgnoreCase(HexFormat.of().formatHex(md5))) {
+            throw new IllegalStateException("파트 체크섬 불일치: part=" + partNumber + ", etag=" + normalized);
+        }
+    }
+
+    private static byte[] md5(byte[] data, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            digest.update(data, 0, length);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5를 사용할 수 없습니다", e);
+        }
+    }
+
+    private static Timer partTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("klepaas.storage.upload.part.duration")
+                .description("멀티파트 파트 업로드 소요 시간")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Throwable rootCause(Throwable e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (completed || aborted) {
+            throw new IOException("이미 종료된 업로드 스트림입니다: " + key);
+        }
+    }
+}
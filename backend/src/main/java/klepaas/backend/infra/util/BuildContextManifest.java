@@ -0,0 +1,385 @@
+package klepaas.backend.infra.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드되는 build context의 경량 매니페스트.
+ * - Dockerfile 사전 검증: Kaniko Job을 띄우기 전에 Dockerfile 존재, FROM 구성, COPY/ADD 소스 경로를 확인해
+ *   빌드 슬롯과 initContainer 다운로드를 쓰지 않고 실패를 드러낸다.
+ * - context 해시: 경로, 엔트리 종류/모드, 파일 내용으로 계산한 결정적 해시. 문서/CI 파일만 바뀐 커밋은 같은 해시가 되어 빌드를 건너뛸 수 있다.
+ *
+ * <p>변수($ARG)가 들어간 경로, 다른 stage/이미지에서 복사하는 --from, ADD URL, heredoc은 정적으로 확인할 수 없어 통과시킨다.
+ */
+public class BuildContextManifest {
+
+    public static final String DOCKERFILE = "Dockerfile";
+
+    private static final int MAX_PROBLEMS = 5;
+    private static final Pattern HEREDOC = Pattern.compile("<<-?[\"']?([A-Za-z_]\\w*)[\"']?");
+    private static final Pattern JSON_STRING = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    private static final byte FILE = 'F';
+    private static final byte DIRECTORY = 'D';
+    private static final byte SYMLINK = 'L';
+
+    /** 파일 경로와 그 상위 디렉토리 전체 */
+    private final Set<String> paths = new HashSet<>();
+    /** 엔트리 경로 → 종류 + 권한 비트 + 내용 SHA-256 (경로 순 정렬, 아카이브 엔트리 순서와 무관하게 해시가 같도록) */
+    private final SortedMap<String, byte[]> entryDigests = new TreeMap<>();
+    private String dockerfile;
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+
+    /**
+     * @param mode 아카이브에 기록된 파일 모드 (권한 비트만 해시에 반영, 실행 권한 변경도 context 변경으로 본다)
+     */
+    public void addFile(String path, int mode, byte[] contentDigest) {
+        add(path);
+        entryDigests.put(path, entryDigest(FILE, mode, contentDigest));
+    }
+
+    public void addSymlink(String path, int mode, String target) {
+        add(path);
+        entryDigests.put(path, entryDigest(SYMLINK, mode, target.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 빈 디렉토리도 COPY 결과에 남으므로 디렉토리 엔트리와 모드도 해시에 포함한다.
+     */
+    public void addDirectory(String path, int mode) {
+        add(path);
+        String normalized = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        entryDigests.put(normalized, entryDigest(DIRECTORY, mode, new byte[0]));
+    }
+
+    /**
+     * 엔트리 경로, 종류, 권한 비트, 내용 해시를 경로 순으로 이어 계산한 SHA-256 (hex).
+     */
+    public String contextHash() {
+        MessageDigest digest = newDigest();
+        entryDigests.forEach((path, entryDigest) -> {
+            digest.update(path.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(entryDigest);
+        });
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] entryDigest(byte type, int mode, byte[] content) {
+        return ByteBuffer.allocate(1 + Integer.BYTES + content.length)
+                .put(type)
+                .putInt(mode & 07777)
+                .put(content)
+                .array();
+    }
+
+    public void add(String path) {
+        String normalized = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        while (!normalized.isEmpty() && paths.add(normalized)) {
+            int slash = normalized.lastIndexOf('/');
+            normalized = slash < 0 ? "" : normalized.substring(0, slash);
+        }
+    }
+
+    public void setDockerfile(String dockerfile) {
+        this.dockerfile = dockerfile;
+    }
+
+    /**
+     * @return 발견한 문제 목록 (최대 5개). 비어 있으면 빌드를 진행해도 된다.
+     */
+    public List<String> validate() {
+        List<String> problems = new ArrayList<>();
+        if (dockerfile == null) {
+            problems.add("저장소 루트에 Dockerfile이 없습니다");
+            return problems;
+        }
+
+        List<Instruction> instructions = parse(dockerfile);
+        List<String> stageNames = instructions.stream()
+                .filter(instruction -> instruction.keyword().equals("FROM"))
+                .map(BuildContextManifest::stageName)
+                .toList();
+
+        int stage = -1;
+        for (Instruction instruction : instructions) {
+            if (problems.size() >= MAX_PROBLEMS) {
+                break;
+            }
+            switch (instruction.keyword()) {
+                case "FROM" -> {
+                    stage++;
+                    checkStageReference(instruction, baseImage(instruction), stage, stageNames, problems);
+                }
+                case "ARG" -> { }
+                case "COPY", "ADD" -> {
+                    if (stage < 0) {
+                        problems.add(instruction.describe() + ": FROM 이전에 사용할 수 없습니다");
+                    } else {
+                        checkSources(instruction, stage, stageNames, problems);
+                    }
+                }
+                default -> {
+                    if (stage < 0) {
+                        problems.add(instruction.describe() + ": Dockerfile은 FROM으로 시작해야 합니다");
+                    }
+                }
+            }
+        }
+
+        if (stageNames.isEmpty() && problems.isEmpty()) {
+            problems.add("Dockerfile에 FROM 명령이 없습니다");
+        }
+        return problems;
+    }
+
+    /**
+     * FROM에서 참조하는 외부 베이스 이미지 (이전 stage, scratch, 변수가 들어간 이미지 제외). 노드 로컬 캐시 warm-up 대상.
+     */
+    public List<String> baseImages() {
+        if (dockerfile == null) {
+            return List.of();
+        }
+        List<String> stageNames = new ArrayList<>();
+        List<String> images = new ArrayList<>();
+        for (Instruction instruction : parse(dockerfile)) {
+            if (!instruction.keyword().equals("FROM")) {
+                continue;
+            }
+            String image = baseImage(instruction);
+            if (image != null && !image.contains("$") && !image.equalsIgnoreCase("scratch")
+                    && !stageNames.contains(image.toLowerCase(Locale.ROOT)) && !images.contains(image)) {
+                images.add(image);
+            }
+            stageNames.add(stageName(instruction));
+        }
+        return images;
+    }
+
+    /**
+     * 현재 또는 이후에 정의되는 stage 이름은 외부 이미지로 해석되어 pull 단계에서 실패하므로 미리 거른다.
+     */
+    private static void checkStageReference(Instruction instruction, String reference, int stage,
+                                            List<String> stageNames, List<String> problems) {
+        if (reference == null) {
+            return;
+        }
+        int index = reference.chars().allMatch(Character::isDigit)
+                ? Integer.parseInt(reference)
+                : stageNames.indexOf(reference.toLowerCase(Locale.ROOT));
+        if (index >= stage) {
+            problems.add(instruction.describe() + ": 아직 정의되지 않은 stage '" + reference + "' 참조");
+        }
+    }
+
+    private void checkSources(Instruction instruction, int stage, List<String> stageNames, List<String> problems) {
+        List<String> flags = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        String body = instruction.args().strip();
+
+        while (body.startsWith("--")) {
+            int space = indexOfWhitespace(body);
+            flags.add(space < 0 ? body : body.substring(0, space));
+            body = space < 0 ? "" : body.substring(space).strip();
+        }
+        if (HEREDOC.matcher(body).find()) {
+            return;
+        }
+
+        if (body.startsWith("[")) {
+            Matcher matcher = JSON_STRING.matcher(body);
+            while (matcher.find()) {
+                args.add(matcher.group(1).replace("\\\"", "\""));
+            }
+        } else if (!body.isEmpty()) {
+            args.addAll(List.of(body.split("\\s+")));
+        }
+
+        if (args.size() < 2) {
+            problems.add(instruction.describe() + ": 소스와 대상 경로가 필요합니다");
+            return;
+        }
+
+        for (String flag : flags) {
+            if (flag.toLowerCase(Locale.ROOT).startsWith("--from=")) {
+                // 소스가 다른 stage/이미지에 있으므로 stage 참조만 확인
+                checkStageReference(instruction, flag.substring("--from=".length()), stage, stageNames, problems);
+                return;
+            }
+        }
+
+        boolean isAdd = instruction.keyword().equals("ADD");
+        for (String source : args.subList(0, args.size() - 1)) {
+            if (source.contains("$") || (isAdd && (source.contains("://") || source.startsWith("git@")))) {
+                continue;
+            }
+            String path = normalize(source);
+            if (path == null) {
+                problems.add(instruction.describe() + ": build context 밖의 경로 " + source);
+            } else if (!exists(path)) {
+                problems.add(instruction.describe() + ": build context에 " + source + " 이(가) 없습니다");
+            }
+        }
+    }
+
+    private boolean exists(String path) {
+        if (path.isEmpty()) {
+            return true;
+        }
+        if (path.chars().noneMatch(ch -> ch == '*' || ch == '?' || ch == '[')) {
+            return paths.contains(path);
+        }
+        Pattern glob = Pattern.compile(globToRegex(path));
+        return paths.stream().anyMatch(candidate -> glob.matcher(candidate).matches());
+    }
+
+    /**
+     * "./a/../b/" → "b". context 루트 밖을 가리키면 null.
+     */
+    private static String normalize(String source) {
+        List<String> parts = new ArrayList<>();
+        for (String part : source.split("/")) {
+            if (part.isEmpty() || part.equals(".")) {
+                continue;
+            }
+            if (part.equals("..")) {
+                if (parts.isEmpty()) {
+                    return null;
+                }
+                parts.remove(parts.size() - 1);
+            } else {
+                parts.add(part);
+            }
+        }
+        return String.join("/", parts);
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char ch : glob.toCharArray()) {
+            switch (ch) {
+                case '*' -> regex.append("[^/]*");
+                case '?' -> regex.append("[^/]");
+                case '[', ']' -> regex.append(ch);
+                default -> {
+                    if ("\\.{}()+-^$|".indexOf(ch) >= 0) {
+                        regex.append('\\');
+                    }
+                    regex.append(ch);
+                }
+            }
+        }
+        return regex.toString();
+    }
+
+    private static String stageName(Instruction from) {
+        List<String> positional = positionalArgs(from);
+        if (positional.size() >= 3 && positional.get(1).equalsIgnoreCase("AS")) {
+            return positional.get(2).toLowerCase(Locale.ROOT);
+        }
+        return null;
+    }
+
+    private static String baseImage(Instruction from) {
+        List<String> positional = positionalArgs(from);
+        return positional.isEmpty() ? null : positional.get(0);
+    }
+
+    private static List<String> positionalArgs(Instruction instruction) {
+        List<String> positional = new ArrayList<>();
+        for (String token : instruction.args().strip().split("\\s+")) {
+            if (!token.isEmpty() && !token.startsWith("--")) {
+                positional.add(token);
+            }
+        }
+        return positional;
+    }
+
+    /**
+     * 주석과 줄 이어쓰기(\)를 처리해 명령 단위로 분리. heredoc 본문은 건너뛴다.
+     */
+    static List<Instruction> parse(String dockerfile) {
+        List<Instruction> instructions = new ArrayList<>();
+        String[] lines = dockerfile.replace("\r", "").split("\n");
+
+        StringBuilder current = null;
+        int startLine = 0;
+        String heredocTerminator = null;
+
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            String stripped = line.strip();
+
+            if (heredocTerminator != null) {
+                if (stripped.equals(heredocTerminator)) {
+                    heredocTerminator = null;
+                }
+                continue;
+            }
+            if (stripped.startsWith("#") || (current == null && stripped.isEmpty())) {
+                continue;
+            }
+
+            if (current == null) {
+                current = new StringBuilder();
+                startLine = i + 1;
+            }
+            if (stripped.endsWith("\\")) {
+                current.append(stripped, 0, stripped.length() - 1).append(' ');
+                continue;
+            }
+            current.append(stripped);
+
+            String text = current.toString().strip();
+            current = null;
+            if (text.isEmpty()) {
+                continue;
+            }
+            int space = indexOfWhitespace(text);
+            String keyword = (space < 0 ? text : text.substring(0, space)).toUpperCase(Locale.ROOT);
+            String args = space < 0 ? "" : text.substring(space).strip();
+            instructions.add(new Instruction(keyword, args, startLine));
+
+            Matcher heredoc = HEREDOC.matcher(args);
+            if (heredoc.find()) {
+                heredocTerminator = heredoc.group(1);
+            }
+        }
+        return instructions;
+    }
+
+    private static int indexOfWhitespace(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    record Instruction(String keyword, String args, int line) {
+
+        String describe() {
+            return "Dockerfile " + line + "행 " + keyword;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package klepaas.backend.infra.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Object Storage에 올리는 build context 형식 (클라우드 벤더별 설정).
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ContextFormat {
+
+    // GitHub zipball → zip. Kaniko Job의 initContainer가 내려받아 압축 해제
+    ZIP("zipball", "source.zip", "application/zip"),
+    // GitHub tarball → tar.gz. Kaniko가 presigned https URL context로 직접 읽으므로 initContainer가 필요 없다 (https endpoint 필요)
+    TAR_GZ("tarball", "context.tar.gz", "application/gzip");
+
+    private final String githubArchive;
+    private final String fileName;
+    private final String contentType;
+}
@@ -0,0 +1,154 @@
+package klepaas.backend.infra.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * .dockerignore 규칙 매처. Docker CLI와 같은 방식으로 해석한다.
+ * - 빈 줄과 '#'으로 시작하는 줄은 무시, 앞뒤 공백 제거, 앞의 '/'와 "./" 제거
+ * - '*'는 '/'를 제외한 문자열, '?'는 '/'를 제외한 한 글자, '**'는 디렉토리 깊이와 무관하게 매칭
+ * - 규칙이 경로 자신이나 상위 디렉토리에 매칭되면 제외, '!' 규칙은 다시 포함, 마지막에 매칭된 규칙이 우선
+ * - Dockerfile과 .dockerignore는 규칙과 무관하게 항상 포함 (Docker도 빌드 시 항상 전송)
+ */
+public final class DockerIgnore {
+
+    private static final DockerIgnore EMPTY = new DockerIgnore(List.of());
+    private static final Set<String> ALWAYS_INCLUDED = Set.of("Dockerfile", ".dockerignore");
+    private static final String REGEX_META = "\\.[]{}()*+-?^$|";
+
+    private final List<Rule> rules;
+
+    private DockerIgnore(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static DockerIgnore empty() {
+        return EMPTY;
+    }
+
+    public static DockerIgnore parse(String content) {
+        if (content == null || content.isBlank()) {
+            return EMPTY;
+        }
+
+        List<Rule> rules = new ArrayList<>();
+        for (String line : content.replace("\uFEFF", "").split("\\r?\\n")) {
+            String pattern = line.strip();
+            if (pattern.isEmpty() || pattern.startsWith("#")) {
+                continue;
+            }
+
+            boolean exception = pattern.startsWith("!");
+            if (exception) {
+                pattern = pattern.substring(1).strip();
+            }
+            pattern = clean(pattern);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            rules.add(new Rule(Pattern.compile(toRegex(pattern)), exception));
+        }
+        return rules.isEmpty() ? EMPTY : new DockerIgnore(List.copyOf(rules));
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * @param path 빌드 context 루트 기준 상대 경로 (디렉토리는 '/'로 끝나도 된다)
+     */
+    public boolean isExcluded(String path) {
+        String normalized = clean(path);
+        if (rules.isEmpty() || normalized.isEmpty() || ALWAYS_INCLUDED.contains(normalized)) {
+            return false;
+        }
+
+        List<String> candidates = pathAndParents(normalized);
+        boolean excluded = false;
+        for (Rule rule : rules) {
+            // 현재 결과를 바꿀 수 있는 규칙만 평가
+            if (excluded != rule.exception()) {
+                continue;
+            }
+            for (String candidate : candidates) {
+                if (rule.pattern().matcher(candidate).matches()) {
+                    excluded = !rule.exception();
+                    break;
+                }
+            }
+        }
+        return excluded;
+    }
+
+    /** "a/b/c" → ["a", "a/b", "a/b/c"] */
+    private static List<String> pathAndParents(String path) {
+        List<String> candidates = new ArrayList<>();
+        int slash = path.indexOf('/');
+        while (slash >= 0) {
+            candidates.add(path.substring(0, slash));
+            slash = path.indexOf('/', slash + 1);
+        }
+        candidates.add(path);
+        return candidates;
+    }
+
+    private static String clean(String path) {
+        String cleaned = path.replaceAll("/{2,}", "/");
+        while (cleaned.startsWith("./")) {
+            cleaned = cleaned.substring(2);
+        }
+        if (cleaned.startsWith("/")) {
+            cleaned = cleaned.substring(1);
+        }
+        if (cleaned.endsWith("/")) {
+            cleaned = cleaned.substring(0, cleaned.length() - 1);
+        }
+        return cleaned.equals(".") ? "" : cleaned;
+    }
+
+    private static String toRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '*') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+                    i++;
+                    if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '/') {
+                        regex.append("(.*/)?"); // "**/" → 0개 이상의 디렉토리
+                        i++;
+                    } else {
+                        regex.append(".*");
+                    }
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (ch == '?') {
+                regex.append("[^/]");
+            } else if (ch == '[' && pattern.indexOf(']', i + 1) > i + 1) {
+                int end = pattern.indexOf(']', i + 1);
+                String charClass = pattern.substring(i + 1, end);
+                if (charClass.startsWith("!")) {
+                    charClass = "^" + charClass.substring(1);
+                }
+                regex.append('[').append(charClass.replace("[", "\\[")).append(']');
+                i = end;
+            } else {
+                appendLiteral(regex, ch);
+            }
+        }
+        return regex.toString();
+    }
+
+    private static void appendLiteral(StringBuilder regex, char ch) {
+        if (REGEX_META.indexOf(ch) >= 0) {
+            regex.append('\\');
+        }
+        regex.append(ch);
+    }
+
+    private record Rule(Pattern pattern, boolean exception) {
+    }
+}
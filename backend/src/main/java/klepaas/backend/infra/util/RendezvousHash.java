@@ -0,0 +1,45 @@
+package klepaas.backend.infra.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rendezvous(HRW) 해싱: 키마다 노드 선호 순위를 정한다.
+ * 노드가 추가/제거돼도 해당 노드가 1순위였던 키만 순위가 바뀌므로 나머지 저장소의 노드 로컬 캐시가 유지된다.
+ */
+public final class RendezvousHash {
+
+    private RendezvousHash() {
+    }
+
+    /**
+     * 키에 대한 선호도가 높은 순으로 정렬된 후보 목록
+     */
+    public static List<String> rank(String key, Collection<String> candidates) {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException("key must not be blank");
+        }
+        return candidates.stream()
+                .distinct()
+                .sorted(Comparator.comparingLong((String candidate) -> score(key, candidate))
+                        .reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+    }
+
+    private static long score(String key, String candidate) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest((key + "\0" + candidate).getBytes(StandardCharsets.UTF_8));
+            // 부호 비트를 버려 음수 없이 비교
+            return ByteBuffer.wrap(hash).getLong() >>> 1;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
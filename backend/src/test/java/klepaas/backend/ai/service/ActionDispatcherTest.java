@@ -84,7 +84,7 @@ class ActionDispatcherTest {
     @DisplayName("STATUS 디스패치 시 DeploymentService 호출")
     void dispatchStatus() {
         var parsedIntent = new ParsedIntent(Intent.STATUS, Map.of("deployment_id", 1), 0.9, "상태 확인");
-        var statusResponse = new DeploymentStatusResponse(1L, DeploymentStatus.SUCCESS, null);
+        var statusResponse = new DeploymentStatusResponse(1L, DeploymentStatus.SUCCESS, null, null);
         given(deploymentService.getDeploymentStatus(1L)).willReturn(statusResponse);
 
         FormattedResponseDto result = (FormattedResponseDto) actionDispatcher.dispatch(parsedIntent, 1L);
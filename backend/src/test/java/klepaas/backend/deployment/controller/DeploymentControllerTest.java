@@ -10,6 +10,7 @@ import klepaas.backend.deployment.dto.DeploymentResponse;
 import klepaas.backend.deployment.dto.DeploymentStatusResponse;
 import klepaas.backend.deployment.entity.DeploymentStatus;
 import klepaas.backend.deployment.service.DeploymentService;
+import klepaas.backend.deployment.service.DeploymentTimelineService;
 import klepaas.backend.user.entity.Role;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -48,6 +49,9 @@ class DeploymentControllerTest {
     @MockitoBean
     private DeploymentService deploymentService;
 
+    @MockitoBean
+    private DeploymentTimelineService timelineService;
+
     @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
@@ -92,7 +96,7 @@ class DeploymentControllerTest {
     @Test
     @DisplayName("GET /api/v1/deployments/{id}/status - 배포 상태 조회")
     void getDeploymentStatus() throws Exception {
-        var response = new DeploymentStatusResponse(1L, DeploymentStatus.BUILDING, null);
+        var response = new DeploymentStatusResponse(1L, DeploymentStatus.BUILDING, null, null);
         given(deploymentService.getDeploymentStatus(1L)).willReturn(response);
 
         mockMvc.perform(get("/api/v1/deployments/1/status")
@@ -111,7 +111,8 @@ class RepositoryControllerTest {
     @Test
     @DisplayName("GET /api/v1/repositories/{id}/config - 배포 설정 조회")
     void getDeploymentConfig() throws Exception {
-        var config = new DeploymentConfigResponse(1L, 1L, 1, 3, Map.of(), 8080, "repo.klepaas.io");
+        var config = new DeploymentConfigResponse(1L, 1L, 1, 3, Map.of(), 8080, "repo.klepaas.io", false, null,
+                null, null, null, null, null, true);
         given(repositoryService.getDeploymentConfig(1L)).willReturn(config);
 
         mockMvc.perform(get("/api/v1/repositories/1/config")
@@ -124,7 +125,8 @@ class RepositoryControllerTest {
     @Test
     @DisplayName("PUT /api/v1/repositories/{id}/config - 배포 설정 수정")
     void updateDeploymentConfig() throws Exception {
-        var updatedConfig = new DeploymentConfigResponse(1L, 1L, 2, 5, Map.of("ENV", "prod"), 3000, "custom.klepaas.io");
+        var updatedConfig = new DeploymentConfigResponse(1L, 1L, 2, 5, Map.of("ENV", "prod"), 3000, "custom.klepaas.io", false, null,
+                null, null, null, null, null, true);
         given(repositoryService.updateDeploymentConfig(anyLong(), any())).willReturn(updatedConfig);
 
         mockMvc.perform(put("/api/v1/repositories/1/config")
@@ -0,0 +1,87 @@
+package klepaas.backend.deployment.service;
+
+import klepaas.backend.deployment.entity.BuildProfile;
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.PipelineStage;
+import klepaas.backend.deployment.repository.DeploymentRepository;
+import klepaas.backend.deployment.repository.DeploymentStageEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class BuildProfileAdvisorTest {
+
+    private static final long MB = 1024L * 1024L;
+
+    @Mock
+    private DeploymentRepository deploymentRepository;
+    @Mock
+    private DeploymentStageEventRepository stageEventRepository;
+    @InjectMocks
+    private BuildProfileAdvisor advisor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(advisor, "mediumBuildMs", 180_000L);
+        ReflectionTestUtils.setField(advisor, "largeBuildMs", 600_000L);
+        ReflectionTestUtils.setField(advisor, "mediumContextMb", 50L);
+        ReflectionTestUtils.setField(advisor, "largeContextMb", 500L);
+    }
+
+    @Test
+    @DisplayName("이력이 없으면 MEDIUM")
+    void defaultWithoutHistory() {
+        given(stageEventRepository.findRecentSucceededDurations(eq(1L), eq(PipelineStage.BUILD), any()))
+                .willReturn(List.of());
+        given(deploymentRepository.findFirstBySourceRepositoryIdAndContextSizeBytesIsNotNullOrderByIdDesc(1L))
+                .willReturn(Optional.empty());
+
+        assertThat(advisor.recommend(1L).profile()).isEqualTo(BuildProfile.MEDIUM);
+    }
+
+    @Test
+    @DisplayName("빌드 시간 중앙값과 context 크기 중 더 큰 프로필을 추천")
+    void largerOfDurationAndSize() {
+        given(stageEventRepository.findRecentSucceededDurations(eq(1L), eq(PipelineStage.BUILD), any()))
+                .willReturn(List.of(60_000L, 90_000L, 700_000L));
+        given(deploymentRepository.findFirstBySourceRepositoryIdAndContextSizeBytesIsNotNullOrderByIdDesc(1L))
+                .willReturn(Optional.of(deploymentWithContextSize(120 * MB)));
+
+        BuildProfileAdvisor.Recommendation recommendation = advisor.recommend(1L);
+
+        assertThat(recommendation.medianBuildMs()).isEqualTo(90_000L);
+        assertThat(recommendation.sampleCount()).isEqualTo(3);
+        assertThat(recommendation.profile()).isEqualTo(BuildProfile.MEDIUM);
+    }
+
+    @Test
+    @DisplayName("오래 걸리는 빌드는 context가 작아도 LARGE")
+    void slowBuildsRecommendLarge() {
+        given(stageEventRepository.findRecentSucceededDurations(eq(1L), eq(PipelineStage.BUILD), any()))
+                .willReturn(List.of(650_000L, 720_000L));
+        given(deploymentRepository.findFirstBySourceRepositoryIdAndContextSizeBytesIsNotNullOrderByIdDesc(1L))
+                .willReturn(Optional.of(deploymentWithContextSize(5 * MB)));
+
+        assertThat(advisor.recommend(1L).profile()).isEqualTo(BuildProfile.LARGE);
+    }
+
+    private Deployment deploymentWithContextSize(long bytes) {
+        Deployment deployment = Deployment.builder().branchName("main").commitHash("abc1234").build();
+        deployment.markAsUploaded("sources/1/abc1234/context.tar.gz", null, bytes, List.of());
+        return deployment;
+    }
+}
@@ -0,0 +1,92 @@
+package klepaas.backend.deployment.service;
+
+import klepaas.backend.deployment.entity.BuildProfile;
+import klepaas.backend.deployment.event.DeploymentPipelineFinishedEvent;
+import klepaas.backend.infra.kubernetes.BuildNodeCapacity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class BuildSlotGovernorTest {
+
+    @Mock
+    private BuildNodeCapacity buildNodeCapacity;
+    @Mock
+    private TaskScheduler pipelineScheduler;
+    @InjectMocks
+    private BuildSlotGovernor governor;
+
+    private final List<Long> started = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(governor, "maxSlots", 2);
+        ReflectionTestUtils.setField(governor, "resourceAware", false);
+    }
+
+    @Test
+    @DisplayName("슬롯이 차면 대기열에 넣고, 반납 순서대로 FIFO로 슬롯을 내준다")
+    void queueUntilSlotReleased() {
+        assertThat(governor.tryAcquire(1L, BuildProfile.SMALL)).isTrue();
+        assertThat(governor.tryAcquire(2L, BuildProfile.SMALL)).isTrue();
+        assertThat(governor.tryAcquire(3L, BuildProfile.SMALL)).isFalse();
+
+        governor.enqueue(3L, BuildProfile.SMALL, () -> started.add(3L));
+        governor.enqueue(4L, BuildProfile.SMALL, () -> started.add(4L));
+        assertThat(governor.getQueuePosition(4L)).isEqualTo(2);
+
+        governor.release(1L);
+        assertThat(started).containsExactly(3L);
+
+        // 파이프라인 종료 이벤트로도 반납된다 (이미 반납된 슬롯은 무시)
+        governor.onPipelineFinished(new DeploymentPipelineFinishedEvent(2L));
+        governor.onPipelineFinished(new DeploymentPipelineFinishedEvent(2L));
+        assertThat(started).containsExactly(3L, 4L);
+        assertThat(governor.getQueuePosition(4L)).isNull();
+    }
+
+    @Test
+    @DisplayName("resource-aware 모드에서는 빌드 노드에 자리가 있어야 슬롯을 내주고, 뒤 요청이 대기열을 앞지르지 못한다")
+    void resourceAwareFifo() {
+        ReflectionTestUtils.setField(governor, "resourceAware", true);
+        given(buildNodeCapacity.fits(eq(BuildProfile.LARGE), anyMap())).willReturn(false);
+
+        assertThat(governor.tryAcquire(1L, BuildProfile.LARGE)).isFalse();
+        governor.enqueue(1L, BuildProfile.LARGE, () -> started.add(1L));
+
+        assertThat(governor.tryAcquire(2L, BuildProfile.SMALL)).isFalse();
+        assertThat(started).isEmpty();
+        assertThat(governor.getQueuePosition(1L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기 중 취소된 배포는 슬롯 없이 콜백을 실행해 대기열에서 빠진다")
+    void withdrawQueued() {
+        governor.tryAcquire(1L, BuildProfile.SMALL);
+        governor.tryAcquire(2L, BuildProfile.SMALL);
+        governor.enqueue(3L, BuildProfile.SMALL, () -> started.add(3L));
+        governor.enqueue(4L, BuildProfile.SMALL, () -> started.add(4L));
+
+        governor.withdraw(3L);
+
+        assertThat(started).containsExactly(3L);
+        assertThat(governor.getQueuePosition(4L)).isEqualTo(1);
+        governor.release(1L);
+        assertThat(started).containsExactly(3L, 4L);
+    }
+}
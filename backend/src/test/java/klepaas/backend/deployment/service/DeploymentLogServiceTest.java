@@ -0,0 +1,175 @@
+package klepaas.backend.deployment.service;
+
+import klepaas.backend.deployment.dto.DeploymentLogResponse;
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.event.DeploymentPipelineFinishedEvent;
+import klepaas.backend.global.websocket.WebSocketNotificationService;
+import klepaas.backend.infra.CloudInfraProvider;
+import klepaas.backend.infra.CloudInfraProviderFactory;
+import klepaas.backend.infra.dto.BuildLogLine;
+import klepaas.backend.infra.dto.BuildResult;
+import klepaas.backend.infra.storage.LogArchiveStore;
+import klepaas.backend.infra.storage.LogArchiveStore.Chunk;
+import klepaas.backend.infra.storage.LogArchiveStore.Index;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeploymentLogServiceTest {
+
+    @Mock
+    private CloudInfraProviderFactory infraProviderFactory;
+    @Mock
+    private WebSocketNotificationService wsNotificationService;
+    @Mock
+    private LogArchiveStore logArchiveStore;
+    @Mock
+    private TaskScheduler pipelineScheduler;
+    @Mock
+    private Executor buildLogExecutor;
+    @Mock
+    private CloudInfraProvider provider;
+    @InjectMocks
+    private DeploymentLogService logService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(logService, "bufferLines", 5);
+        ReflectionTestUtils.setField(logService, "maxBatchLines", 3);
+        ReflectionTestUtils.setField(logService, "maxReadLines", 100);
+    }
+
+    @Test
+    @DisplayName("밀린 줄은 최신 줄만 묶어 보내고 누락 수를 알리며, REST는 같은 offset으로 이어서 반환")
+    void coalesceAndResume() {
+        Consumer<BuildLogLine> sink = follow(1L, 7L);
+        for (int i = 0; i < 4; i++) {
+            sink.accept(new BuildLogLine("kaniko", "step " + i));
+        }
+
+        logService.flushAll();
+        verify(wsNotificationService).sendDeploymentLog(1L, 7L, 1, 4,
+                List.of("[kaniko] step 1", "[kaniko] step 2", "[kaniko] step 3"), 1);
+
+        // 새 줄이 없으면 보내지 않는다
+        logService.flushAll();
+        verify(wsNotificationService, never()).sendDeploymentLog(eq(1L), eq(7L), eq(4L), anyLong(), any(), anyLong());
+
+        for (int i = 4; i < 7; i++) {
+            sink.accept(new BuildLogLine("kaniko", "step " + i));
+        }
+        Deployment deployment = mock(Deployment.class);
+        given(deployment.getId()).willReturn(1L);
+
+        // 버퍼 상한(5줄)을 넘어 버려진 앞부분은 건너뛰고 남은 첫 offset부터 반환
+        DeploymentLogResponse all = logService.getLogs(deployment, 0L, null, null);
+        assertThat(all.offset()).isEqualTo(2);
+        assertThat(all.nextOffset()).isEqualTo(7);
+        assertThat(all.totalLines()).isEqualTo(7);
+        assertThat(all.logs()).hasSize(5).startsWith("[kaniko] step 2");
+        assertThat(all.streaming()).isTrue();
+
+        DeploymentLogResponse resumed = logService.getLogs(deployment, 6L, null, null);
+        assertThat(resumed.logs()).containsExactly("[kaniko] step 6");
+    }
+
+    @Test
+    @DisplayName("청크 단위로 아카이브하고 버려진 앞부분은 청크에서, 끝부분은 메모리에서 읽으며 파이프라인 종료 시 인덱스 기록")
+    void archiveChunks() {
+        ReflectionTestUtils.setField(logService, "archiveEnabled", true);
+        ReflectionTestUtils.setField(logService, "chunkLines", 3);
+        ReflectionTestUtils.setField(logService, "chunkBytes", 1024L);
+        ReflectionTestUtils.setField(logService, "bufferLines", 2);
+        ReflectionTestUtils.setField(logService, "buildLogExecutor", (Executor) Runnable::run);
+        given(logArchiveStore.writeChunk(eq(1L), anyInt(), anyLong(), anyList()))
+                .willAnswer(inv -> new Chunk("logs/1/" + inv.getArgument(1),
+                        inv.<Long>getArgument(2), inv.<List<String>>getArgument(3).size()));
+
+        ArgumentCaptor<Runnable> onComplete = ArgumentCaptor.forClass(Runnable.class);
+        Consumer<BuildLogLine> sink = follow(1L, 7L, onComplete);
+        for (int i = 0; i < 7; i++) {
+            sink.accept(new BuildLogLine("kaniko", "step " + i));
+        }
+        verify(logArchiveStore).writeChunk(1L, 0, 0L, List.of("[kaniko] step 0", "[kaniko] step 1", "[kaniko] step 2"));
+        verify(logArchiveStore).writeChunk(1L, 1, 3L, List.of("[kaniko] step 3", "[kaniko] step 4", "[kaniko] step 5"));
+
+        Deployment deployment = mock(Deployment.class);
+        given(deployment.getId()).willReturn(1L);
+        given(logArchiveStore.readLines(any(), eq(0L), eq(4L)))
+                .willReturn(List.of("[kaniko] step 0", "[kaniko] step 1", "[kaniko] step 2", "[kaniko] step 3"));
+
+        DeploymentLogResponse head = logService.getLogs(deployment, 0L, 4, null);
+        assertThat(head.logs()).hasSize(4).startsWith("[kaniko] step 0");
+        assertThat(head.nextOffset()).isEqualTo(4);
+
+        DeploymentLogResponse tail = logService.getLogs(deployment, null, null, 2);
+        assertThat(tail.offset()).isEqualTo(5);
+        assertThat(tail.logs()).containsExactly("[kaniko] step 5", "[kaniko] step 6");
+
+        onComplete.getValue().run();
+        logService.onPipelineFinished(new DeploymentPipelineFinishedEvent(1L));
+
+        verify(logArchiveStore).writeChunk(1L, 2, 6L, List.of("[kaniko] step 6"));
+        ArgumentCaptor<Index> index = ArgumentCaptor.forClass(Index.class);
+        verify(logArchiveStore).writeIndex(index.capture());
+        assertThat(index.getValue().totalLines()).isEqualTo(7);
+        assertThat(index.getValue().chunks()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("아카이브 작업이 executor에서 거절되어도 파이프라인 종료 이벤트로 예외를 넘기지 않고 버퍼 정리만 예약")
+    void archiveRejected() {
+        ReflectionTestUtils.setField(logService, "archiveEnabled", true);
+        ReflectionTestUtils.setField(logService, "chunkLines", 100);
+        ReflectionTestUtils.setField(logService, "chunkBytes", 1024L);
+        willThrow(new RejectedExecutionException("saturated")).given(buildLogExecutor).execute(any());
+        logService.append(1L, 7L, "rollout", "롤아웃 진행 중...");
+
+        assertThatCode(() -> logService.onPipelineFinished(new DeploymentPipelineFinishedEvent(1L)))
+                .doesNotThrowAnyException();
+
+        verify(logArchiveStore, never()).writeIndex(any());
+        verify(pipelineScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private Consumer<BuildLogLine> follow(Long deploymentId, Long userId) {
+        return follow(deploymentId, userId, ArgumentCaptor.forClass(Runnable.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<BuildLogLine> follow(Long deploymentId, Long userId, ArgumentCaptor<Runnable> onComplete) {
+        ArgumentCaptor<Consumer<BuildLogLine>> sink = ArgumentCaptor.forClass(Consumer.class);
+        given(provider.followBuildLogs(eq("default"), eq("klepaas-build-1"), sink.capture(), onComplete.capture()))
+                .willReturn(() -> { });
+        logService.follow(deploymentId, userId, provider,
+                new BuildResult("klepaas-build-1", "default", "registry.example.com/owner-repo:abc1234"));
+        return sink.getValue();
+    }
+}
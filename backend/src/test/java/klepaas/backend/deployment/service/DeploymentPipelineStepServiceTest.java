@@ -0,0 +1,106 @@
+package klepaas.backend.deployment.service;
+
+import klepaas.backend.auth.service.GitHubInstallationTokenService;
+import klepaas.backend.deployment.entity.CloudVendor;
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.DeploymentStatus;
+import klepaas.backend.deployment.entity.PipelineCheckpoint;
+import klepaas.backend.deployment.entity.SourceRepository;
+import klepaas.backend.deployment.repository.DeploymentRepository;
+import klepaas.backend.global.service.NotificationService;
+import klepaas.backend.infra.CloudInfraProvider;
+import klepaas.backend.infra.CloudInfraProviderFactory;
+import klepaas.backend.infra.dto.SourceUploadResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeploymentPipelineStepServiceTest {
+
+    private static final String SHARED_KEY = "sources/10/abc1234def5678/source.zip";
+
+    @Mock
+    private DeploymentRepository deploymentRepository;
+    @Mock
+    private CloudInfraProviderFactory infraProviderFactory;
+    @Mock
+    private CloudInfraProvider infraProvider;
+    @Mock
+    private GitHubInstallationTokenService installationTokenService;
+    @Mock
+    private NotificationService notificationService;
+    @InjectMocks
+    private DeploymentPipelineStepService stepService;
+
+    private SourceRepository repo;
+    private Deployment deployment;
+
+    @BeforeEach
+    void setUp() {
+        repo = SourceRepository.builder()
+                .owner("owner").repoName("repo").gitUrl("https://github.com/owner/repo")
+                .cloudVendor(CloudVendor.NCP).build();
+        ReflectionTestUtils.setField(repo, "id", 10L);
+        deployment = Deployment.builder().sourceRepository(repo).branchName("main").commitHash("abc1234def5678").build();
+        ReflectionTestUtils.setField(deployment, "id", 2L);
+
+        given(deploymentRepository.findById(2L)).willReturn(Optional.of(deployment));
+        given(installationTokenService.getInstallationToken("owner", "repo")).willReturn("installation-token");
+        given(infraProviderFactory.getProvider(CloudVendor.NCP)).willReturn(infraProvider);
+        // 공유 소스 객체 캐시 적중: 다시 내려받지 않았으므로 context 해시/베이스 이미지를 계산하지 않는다
+        given(infraProvider.uploadSourceToStorage("installation-token", deployment))
+                .willReturn(new SourceUploadResult(SHARED_KEY, null, 4096L, null));
+    }
+
+    @Test
+    @DisplayName("소스 캐시 적중 시 같은 객체를 처음 업로드한 배포의 context 해시와 베이스 이미지를 이어받는다")
+    void cacheHitWithLedger() {
+        Deployment first = Deployment.builder().sourceRepository(repo).branchName("main").commitHash("abc1234def5678").build();
+        first.markAsUploaded(SHARED_KEY, "c0ffee", 4096L, List.of("node:20", "nginx:alpine"));
+        given(deploymentRepository.findFirstByStorageObjectKeyAndContextHashIsNotNullOrderByIdDesc(SHARED_KEY))
+                .willReturn(Optional.of(first));
+
+        String storageKey = stepService.executeUpload(2L);
+
+        assertThat(storageKey).isEqualTo(SHARED_KEY);
+        assertThat(deployment.getStorageObjectKey()).isEqualTo(SHARED_KEY);
+        assertThat(deployment.getContextHash()).isEqualTo("c0ffee");
+        assertThat(deployment.getBaseImageList()).containsExactly("node:20", "nginx:alpine");
+        assertThat(deployment.getContextSizeBytes()).isEqualTo(4096L);
+        assertThat(deployment.getCheckpoint()).isEqualTo(PipelineCheckpoint.SOURCE_UPLOADED);
+    }
+
+    @Test
+    @DisplayName("소스 캐시 적중인데 이어받을 기록이 없으면 context 해시 없이 진행해 context 기반 이미지 재사용을 건너뛴다")
+    void cacheHitWithoutLedger() {
+        given(deploymentRepository.findFirstByStorageObjectKeyAndContextHashIsNotNullOrderByIdDesc(SHARED_KEY))
+                .willReturn(Optional.empty());
+
+        String storageKey = stepService.executeUpload(2L);
+
+        assertThat(storageKey).isEqualTo(SHARED_KEY);
+        assertThat(deployment.getContextHash()).isNull();
+        assertThat(deployment.getBaseImageList()).isEmpty();
+        assertThat(deployment.getStatus()).isEqualTo(DeploymentStatus.BUILDING);
+        assertThat(deployment.getCheckpoint()).isEqualTo(PipelineCheckpoint.SOURCE_UPLOADED);
+
+        assertThat(stepService.findImageByContextHash(2L)).isEmpty();
+        verify(deploymentRepository, never())
+                .findFirstBySourceRepositoryIdAndStatusAndContextHashAndImageUriIsNotNullOrderByIdDesc(any(), any(), any());
+    }
+}
@@ -0,0 +1,63 @@
+package klepaas.backend.deployment.service;
+
+import klepaas.backend.deployment.entity.CloudVendor;
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.SourceRepository;
+import klepaas.backend.deployment.repository.DeploymentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeploymentRecoveryServiceTest {
+
+    @Mock
+    private DeploymentRepository deploymentRepository;
+    @Mock
+    private DeploymentScheduler deploymentScheduler;
+    @InjectMocks
+    private DeploymentRecoveryService recoveryService;
+
+    @Test
+    @DisplayName("진행 중 상태의 배포는 모두 RECOVERY 우선순위로 스케줄러에 제출한다")
+    void resumeInFlightDeployments() {
+        ReflectionTestUtils.setField(recoveryService, "recoveryEnabled", true);
+        SourceRepository repo = SourceRepository.builder()
+                .owner("owner").repoName("repo").gitUrl("https://github.com/owner/repo")
+                .cloudVendor(CloudVendor.NCP).build();
+        ReflectionTestUtils.setField(repo, "id", 10L);
+        Deployment deployment = Deployment.builder().sourceRepository(repo).branchName("main").commitHash("abc1234").build();
+
+        given(deploymentRepository.findIdsByStatusIn(any())).willReturn(List.of(3L, 7L));
+        given(deploymentRepository.findById(anyLong())).willReturn(Optional.of(deployment));
+        given(deploymentRepository.findUserIdByDeploymentId(anyLong())).willReturn(Optional.of(1L));
+
+        recoveryService.recoverInFlightDeployments();
+
+        verify(deploymentScheduler).submit(3L, 10L, 1L, DeploymentScheduler.Priority.RECOVERY);
+        verify(deploymentScheduler).submit(7L, 10L, 1L, DeploymentScheduler.Priority.RECOVERY);
+    }
+
+    @Test
+    @DisplayName("복구가 비활성화되면 아무 배포도 재개하지 않는다")
+    void skipWhenDisabled() {
+        ReflectionTestUtils.setField(recoveryService, "recoveryEnabled", false);
+
+        recoveryService.recoverInFlightDeployments();
+
+        verify(deploymentScheduler, never()).submit(any(), any(), any(), any());
+    }
+}
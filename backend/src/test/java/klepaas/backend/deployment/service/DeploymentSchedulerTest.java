@@ -0,0 +1,95 @@
+package klepaas.backend.deployment.service;
+
+import klepaas.backend.deployment.event.DeploymentPipelineFinishedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeploymentSchedulerTest {
+
+    @Mock
+    private DeploymentPipelineService pipelineService;
+    @Mock
+    private DeploymentPipelineStepService stepService;
+    @InjectMocks
+    private DeploymentScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "maxActive", 10);
+        ReflectionTestUtils.setField(scheduler, "maxActivePerUser", 2);
+    }
+
+    @Test
+    @DisplayName("같은 저장소의 배포는 앞선 배포가 끝날 때까지 대기한다")
+    void serializePerRepository() {
+        scheduler.submit(1L, 100L, 1L, DeploymentScheduler.Priority.USER);
+        scheduler.submit(2L, 100L, 1L, DeploymentScheduler.Priority.USER);
+
+        verify(pipelineService).executePipeline(1L);
+        verify(pipelineService, never()).executePipeline(2L);
+        assertThat(scheduler.getQueuePosition(2L)).isEqualTo(1);
+
+        scheduler.onPipelineFinished(new DeploymentPipelineFinishedEvent(1L));
+
+        verify(pipelineService).executePipeline(2L);
+        assertThat(scheduler.getQueuePosition(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("사용자별 동시 실행 상한을 넘는 배포는 대기한다")
+    void capPerUser() {
+        scheduler.submit(1L, 100L, 1L, DeploymentScheduler.Priority.WEBHOOK);
+        scheduler.submit(2L, 101L, 1L, DeploymentScheduler.Priority.WEBHOOK);
+        scheduler.submit(3L, 102L, 1L, DeploymentScheduler.Priority.WEBHOOK);
+        scheduler.submit(4L, 200L, 2L, DeploymentScheduler.Priority.WEBHOOK);
+
+        verify(pipelineService).executePipeline(1L);
+        verify(pipelineService).executePipeline(2L);
+        verify(pipelineService, never()).executePipeline(3L);
+        verify(pipelineService).executePipeline(4L);
+    }
+
+    @Test
+    @DisplayName("사용자 요청 배포는 webhook 배포보다 먼저, 사용자 간에는 라운드 로빈으로 실행된다")
+    void priorityAndRoundRobin() {
+        ReflectionTestUtils.setField(scheduler, "maxActive", 1);
+        scheduler.submit(1L, 100L, 1L, DeploymentScheduler.Priority.WEBHOOK);   // 즉시 실행
+        scheduler.submit(2L, 101L, 1L, DeploymentScheduler.Priority.WEBHOOK);
+        scheduler.submit(3L, 102L, 1L, DeploymentScheduler.Priority.WEBHOOK);
+        scheduler.submit(4L, 200L, 2L, DeploymentScheduler.Priority.WEBHOOK);
+        scheduler.submit(5L, 300L, 3L, DeploymentScheduler.Priority.USER);
+
+        assertThat(scheduler.getQueuePosition(5L)).isEqualTo(1);
+
+        scheduler.onPipelineFinished(new DeploymentPipelineFinishedEvent(1L));
+        scheduler.onPipelineFinished(new DeploymentPipelineFinishedEvent(5L));
+        scheduler.onPipelineFinished(new DeploymentPipelineFinishedEvent(2L));
+
+        InOrder order = inOrder(pipelineService);
+        order.verify(pipelineService).executePipeline(1L);
+        order.verify(pipelineService).executePipeline(5L);
+        order.verify(pipelineService).executePipeline(2L);
+        order.verify(pipelineService).executePipeline(4L);
+    }
+
+    @Test
+    @DisplayName("재시작 복구 배포는 resumePipeline으로 실행한다")
+    void recoveryUsesResume() {
+        scheduler.submit(1L, 100L, 1L, DeploymentScheduler.Priority.RECOVERY);
+
+        verify(pipelineService).resumePipeline(1L);
+    }
+}
@@ -3,6 +3,7 @@ package klepaas.backend.deployment.service;
 import klepaas.backend.deployment.dto.CreateDeploymentRequest;
 import klepaas.backend.deployment.dto.DeploymentResponse;
 import klepaas.backend.deployment.dto.DeploymentStatusResponse;
+import klepaas.backend.deployment.dto.RestartResponse;
 import klepaas.backend.deployment.entity.CloudVendor;
 import klepaas.backend.deployment.entity.Deployment;
 import klepaas.backend.deployment.entity.DeploymentStatus;
@@ -12,8 +13,13 @@ import klepaas.backend.deployment.repository.DeploymentRepository;
 import klepaas.backend.deployment.repository.ScalingHistoryRepository;
 import klepaas.backend.deployment.repository.SourceRepositoryRepository;
 import klepaas.backend.global.exception.EntityNotFoundException;
+import klepaas.backend.infra.CloudInfraProvider;
 import klepaas.backend.infra.CloudInfraProviderFactory;
+import klepaas.backend.infra.dto.BuildResult;
+import klepaas.backend.infra.dto.RolloutProgress;
+import klepaas.backend.infra.dto.RolloutTarget;
 import klepaas.backend.infra.kubernetes.KubernetesManifestGenerator;
+import klepaas.backend.infra.kubernetes.RolloutWatcher;
 import klepaas.backend.user.entity.Role;
 import klepaas.backend.user.entity.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,18 +30,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,11 +62,19 @@ class DeploymentServiceTest {
     @Mock
     private ScalingHistoryRepository scalingHistoryRepository;
     @Mock
-    private DeploymentPipelineService pipelineService;
+    private DeploymentScheduler deploymentScheduler;
+    @Mock
+    private BuildSlotGovernor buildSlotGovernor;
+    @Mock
+    private DeploymentLogService deploymentLogService;
     @Mock
     private CloudInfraProviderFactory infraProviderFactory;
     @Mock
     private KubernetesManifestGenerator k8sGenerator;
+    @Mock
+    private RolloutWatcher rolloutWatcher;
+    @Mock
+    private CloudInfraProvider infraProvider;
     @InjectMocks
     private DeploymentService deploymentService;
 
@@ -91,7 +111,7 @@ class DeploymentServiceTest {
     class CreateDeployment {
 
         @Test
-        @DisplayName("성공: 배포 생성 후 비동기 파이프라인 실행")
+        @DisplayName("성공: 배포 생성 후 커밋 시점에 스케줄러에 제출")
         void success() {
             var request = new CreateDeploymentRequest(1L, "main", "abc1234");
             given(sourceRepositoryRepository.findById(1L)).willReturn(Optional.of(testRepo));
@@ -111,7 +131,127 @@ class DeploymentServiceTest {
                 TransactionSynchronizationManager.clearSynchronization();
             }
 
-            verify(pipelineService).executePipeline(any());
+            verify(deploymentScheduler).submit(any(), any(), any(), eq(DeploymentScheduler.Priority.WEBHOOK));
+        }
+
+        @Test
+        @DisplayName("성공: 같은 브랜치의 대기/빌드 중 배포는 SUPERSEDED 처리하고 빌드 Job을 취소")
+        void supersedeOlderDeployments() {
+            ReflectionTestUtils.setField(testDeployment, "id", 1L);
+            testDeployment.markAsBuilding("klepaas-build-1", "default", "registry.example.com/testowner-testrepo:abc1234");
+
+            var request = new CreateDeploymentRequest(1L, "main", "def5678");
+            given(sourceRepositoryRepository.findById(1L)).willReturn(Optional.of(testRepo));
+            given(deploymentRepository.save(any(Deployment.class))).willAnswer(invocation -> {
+                Deployment saved = invocation.getArgument(0);
+                ReflectionTestUtils.setField(saved, "id", 2L);
+                return saved;
+            });
+            given(deploymentRepository.findBySourceRepositoryIdAndBranchNameAndStatusIn(any(), eq("main"), any()))
+                    .willReturn(List.of(testDeployment));
+            given(deploymentRepository.findBuildById(1L)).willReturn(Optional.of(new BuildResult(
+                    "klepaas-build-1", "default", "registry.example.com/testowner-testrepo:abc1234")));
+            given(infraProviderFactory.getProvider(CloudVendor.NCP)).willReturn(infraProvider);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                deploymentService.createDeployment(request);
+
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(org.springframework.transaction.support.TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(testDeployment.getStatus()).isEqualTo(DeploymentStatus.SUPERSEDED);
+            assertThat(testDeployment.getSupersededById()).isEqualTo(2L);
+            verify(infraProvider).cancelBuild("default", "klepaas-build-1");
+            verify(deploymentScheduler).submit(eq(2L), any(), any(), eq(DeploymentScheduler.Priority.WEBHOOK));
+        }
+
+        @Test
+        @DisplayName("성공: 대체 처리 시점 스냅샷에 없던 빌드 Job도 커밋 후 다시 조회해 취소")
+        void cancelBuildTriggeredDuringSupersede() {
+            // 스냅샷은 빌드 트리거 전 상태 (externalBuildId 없음)
+            ReflectionTestUtils.setField(testDeployment, "id", 1L);
+
+            var request = new CreateDeploymentRequest(1L, "main", "def5678");
+            given(sourceRepositoryRepository.findById(1L)).willReturn(Optional.of(testRepo));
+            given(deploymentRepository.save(any(Deployment.class))).willAnswer(invocation -> {
+                Deployment saved = invocation.getArgument(0);
+                ReflectionTestUtils.setField(saved, "id", 2L);
+                return saved;
+            });
+            given(deploymentRepository.findBySourceRepositoryIdAndBranchNameAndStatusIn(any(), eq("main"), any()))
+                    .willReturn(List.of(testDeployment));
+            // 그 사이 이전 파이프라인이 빌드 Job을 만들고 커밋
+            given(deploymentRepository.findBuildById(1L)).willReturn(Optional.of(new BuildResult(
+                    "klepaas-build-1", "default", "registry.example.com/testowner-testrepo:abc1234")));
+            given(infraProviderFactory.getProvider(CloudVendor.NCP)).willReturn(infraProvider);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                deploymentService.createDeployment(request);
+
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(org.springframework.transaction.support.TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            verify(infraProvider).cancelBuild("default", "klepaas-build-1");
+            verify(buildSlotGovernor, never()).withdraw(1L);
+        }
+
+        @Test
+        @DisplayName("성공: 같은 커밋으로 성공한 배포가 있으면 이미지를 재사용해 빌드를 건너뛴다")
+        void reuseKnownGoodImage() {
+            testDeployment.reuseImage("abc1234def5678", "registry.example.com/testowner-testrepo:abc1234");
+            testDeployment.completeSuccess();
+
+            var request = new CreateDeploymentRequest(1L, "main", "abc1234");
+            given(sourceRepositoryRepository.findById(1L)).willReturn(Optional.of(testRepo));
+            given(deploymentRepository.findCommitHashesByPrefix(any(), eq(DeploymentStatus.SUCCESS), eq("abc1234"), any()))
+                    .willReturn(List.of("abc1234def5678"));
+            given(deploymentRepository
+                    .findFirstBySourceRepositoryIdAndStatusAndCommitHashAndImageUriIsNotNullOrderByIdDesc(
+                            any(), eq(DeploymentStatus.SUCCESS), eq("abc1234def5678")))
+                    .willReturn(Optional.of(testDeployment));
+            given(deploymentRepository.save(any(Deployment.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+            TransactionSynchronizationManager.initSynchronization();
+            DeploymentResponse response;
+            try {
+                response = deploymentService.createDeployment(request, 1L);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(response.commitHash()).isEqualTo("abc1234def5678");
+            assertThat(response.imageUri()).isEqualTo("registry.example.com/testowner-testrepo:abc1234");
+        }
+
+        @Test
+        @DisplayName("short SHA가 성공 배포의 여러 커밋에 걸리면 이미지를 재사용하지 않고 빌드한다")
+        void ambiguousCommitPrefix() {
+            var request = new CreateDeploymentRequest(1L, "main", "abc1234");
+            given(sourceRepositoryRepository.findById(1L)).willReturn(Optional.of(testRepo));
+            given(deploymentRepository.findCommitHashesByPrefix(any(), eq(DeploymentStatus.SUCCESS), eq("abc1234"), any()))
+                    .willReturn(List.of("abc1234def5678", "abc1234fff0000"));
+            given(deploymentRepository.save(any(Deployment.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+            TransactionSynchronizationManager.initSynchronization();
+            DeploymentResponse response;
+            try {
+                response = deploymentService.createDeployment(request, 1L);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(response.commitHash()).isEqualTo("abc1234");
+            assertThat(response.imageUri()).isNull();
+            verify(deploymentRepository, never())
+                    .findFirstBySourceRepositoryIdAndStatusAndCommitHashAndImageUriIsNotNullOrderByIdDesc(any(), any(), any());
         }
 
         @Test
@@ -197,15 +337,19 @@ class DeploymentServiceTest {
     class RestartDeployment {
 
         @Test
-        @DisplayName("성공: scale 0 → 1로 재시작")
+        @DisplayName("성공: 레플리카 수를 유지한 롤링 재시작 후 새 Pod 준비까지 대기")
         void success() {
+            RolloutTarget target = new RolloutTarget("testowner-testrepo", 4L);
             given(deploymentRepository.findById(1L)).willReturn(Optional.of(testDeployment));
-            doNothing().when(k8sGenerator).scale(anyString(), any(int.class));
+            given(k8sGenerator.restart("testowner-testrepo")).willReturn(target);
+            given(rolloutWatcher.watch(eq(target), any()))
+                    .willReturn(CompletableFuture.completedFuture(new RolloutProgress(3, 3, 3, 3, true, null)));
 
-            deploymentService.restartDeployment(1L);
+            RestartResponse response = deploymentService.restartDeployment(1L);
 
-            verify(k8sGenerator).scale("testowner-testrepo", 0);
-            verify(k8sGenerator).scale("testowner-testrepo", 1);
+            assertThat(response.appName()).isEqualTo("testowner-testrepo");
+            assertThat(response.replicas()).isEqualTo(3);
+            verify(k8sGenerator, never()).scale(anyString(), anyInt());
         }
     }
 }
@@ -0,0 +1,143 @@
+package klepaas.backend.deployment.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import klepaas.backend.deployment.dto.StageLatencyResponse;
+import klepaas.backend.deployment.entity.CloudVendor;
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.DeploymentStageEvent;
+import klepaas.backend.deployment.entity.PipelineStage;
+import klepaas.backend.deployment.entity.SourceRepository;
+import klepaas.backend.deployment.event.PipelineStageCompletedEvent;
+import klepaas.backend.deployment.repository.DeploymentRepository;
+import klepaas.backend.deployment.repository.DeploymentStageEventRepository;
+import klepaas.backend.deployment.repository.DeploymentStageEventRepository.StageDuration;
+import klepaas.backend.global.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeploymentTimelineServiceTest {
+
+    @Mock
+    private DeploymentRepository deploymentRepository;
+    @Mock
+    private DeploymentStageEventRepository stageEventRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DeploymentTimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        timelineService = new DeploymentTimelineService(
+                deploymentRepository, stageEventRepository, meterRegistry, transactionManager);
+    }
+
+    @Test
+    @DisplayName("단계 종료 이벤트는 타임라인에 저장되고 vendor/repo 태그 히스토그램에 기록된다")
+    void recordStageEvent() {
+        SourceRepository repo = SourceRepository.builder()
+                .owner("owner").repoName("repo").gitUrl("https://github.com/owner/repo")
+                .cloudVendor(CloudVendor.NCP).build();
+        Deployment deployment = Deployment.builder().sourceRepository(repo).branchName("main").commitHash("abc1234").build();
+        given(deploymentRepository.findById(1L)).willReturn(Optional.of(deployment));
+        given(stageEventRepository.save(any(DeploymentStageEvent.class))).willAnswer(inv -> inv.getArgument(0));
+
+        LocalDateTime startedAt = LocalDateTime.of(2026, 1, 1, 0, 0, 0);
+        timelineService.onStageCompleted(new PipelineStageCompletedEvent(
+                1L, PipelineStage.BUILD, startedAt, startedAt.plusSeconds(90), true));
+
+        var timer = meterRegistry.find("klepaas.deployment.stage.duration")
+                .tags("stage", "BUILD", "vendor", "NCP", "repo", "owner/repo", "outcome", "success")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(java.util.concurrent.TimeUnit.SECONDS)).isEqualTo(90.0);
+    }
+
+    @Test
+    @DisplayName("BUILD 단계의 레이어 캐시 적중/미적중 수는 타임라인과 카운터에 기록된다")
+    void recordBuildCacheStats() {
+        SourceRepository repo = SourceRepository.builder()
+                .owner("owner").repoName("repo").gitUrl("https://github.com/owner/repo")
+                .cloudVendor(CloudVendor.NCP).build();
+        Deployment deployment = Deployment.builder().sourceRepository(repo).branchName("main").commitHash("abc1234").build();
+        given(deploymentRepository.findById(1L)).willReturn(Optional.of(deployment));
+        given(stageEventRepository.save(any(DeploymentStageEvent.class))).willAnswer(inv -> inv.getArgument(0));
+
+        LocalDateTime startedAt = LocalDateTime.of(2026, 1, 1, 0, 0, 0);
+        timelineService.onStageCompleted(new PipelineStageCompletedEvent(
+                1L, PipelineStage.BUILD, startedAt, startedAt.plusSeconds(30), true, 5, 2));
+
+        ArgumentCaptor<DeploymentStageEvent> saved = ArgumentCaptor.forClass(DeploymentStageEvent.class);
+        verify(stageEventRepository).save(saved.capture());
+        assertThat(saved.getValue().getCacheHits()).isEqualTo(5);
+        assertThat(saved.getValue().getCacheMisses()).isEqualTo(2);
+        assertThat(meterRegistry.counter("klepaas.build.cache.layers", "repo", "owner/repo", "result", "hit").count())
+                .isEqualTo(5.0);
+        assertThat(meterRegistry.counter("klepaas.build.cache.layers", "repo", "owner/repo", "result", "miss").count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("단계별 p50/p95는 nearest-rank 방식으로 계산한다")
+    void stageLatencyPercentiles() {
+        List<StageDuration> samples = LongStream.rangeClosed(1, 20)
+                .mapToObj(i -> sample(PipelineStage.BUILD, i * 1000))
+                .collect(java.util.stream.Collectors.toList());
+        samples.add(sample(PipelineStage.K8S_DEPLOY, 500));
+        given(stageEventRepository.findSucceededDurationsSince(any(), isNull())).willReturn(samples);
+
+        StageLatencyResponse response = timelineService.getStageLatency(null, 24);
+
+        assertThat(response.stages()).hasSize(2);
+        StageLatencyResponse.StageStat build = response.stages().get(0);
+        assertThat(build.stage()).isEqualTo(PipelineStage.BUILD);
+        assertThat(build.count()).isEqualTo(20);
+        assertThat(build.p50Ms()).isEqualTo(10_000);
+        assertThat(build.p95Ms()).isEqualTo(19_000);
+        assertThat(build.maxMs()).isEqualTo(20_000);
+        assertThat(response.stages().get(1).p95Ms()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("집계 기간이 범위를 벗어나면 예외")
+    void rejectInvalidWindow() {
+        assertThatThrownBy(() -> timelineService.getStageLatency(null, 0))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private StageDuration sample(PipelineStage stage, long durationMs) {
+        return new StageDuration() {
+            @Override
+            public PipelineStage getStage() {
+                return stage;
+            }
+
+            @Override
+            public long getDurationMs() {
+                return durationMs;
+            }
+        };
+    }
+}
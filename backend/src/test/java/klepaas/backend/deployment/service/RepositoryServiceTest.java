@@ -3,6 +3,7 @@ package klepaas.backend.deployment.service;
 import klepaas.backend.auth.config.GitHubAppConfig;
 import klepaas.backend.auth.oauth.GitHubAppClient;
 import klepaas.backend.deployment.dto.*;
+import klepaas.backend.deployment.entity.BuildProfile;
 import klepaas.backend.deployment.entity.CloudVendor;
 import klepaas.backend.deployment.entity.DeploymentConfig;
 import klepaas.backend.deployment.entity.SourceRepository;
@@ -201,7 +202,8 @@ class RepositoryServiceTest {
         @Test
         @DisplayName("성공: 배포 설정 업데이트")
         void success() {
-            var request = new UpdateDeploymentConfigRequest(2, 5, Map.of("ENV", "prod"), 3000, "custom.klepaas.io");
+            var request = new UpdateDeploymentConfigRequest(2, 5, Map.of("ENV", "prod"), 3000, "custom.klepaas.io",
+                    true, BuildProfile.LARGE, "250m", "1", "256Mi", "512Mi", 60, null, null);
             given(sourceRepositoryRepository.findById(1L)).willReturn(Optional.of(testRepo));
             given(deploymentConfigRepository.findBySourceRepositoryId(1L))
                     .willReturn(Optional.of(testConfig));
@@ -212,6 +214,71 @@ class RepositoryServiceTest {
             assertThat(response.maxReplicas()).isEqualTo(5);
             assertThat(response.containerPort()).isEqualTo(3000);
             assertThat(response.domainUrl()).isEqualTo("custom.klepaas.io");
+            assertThat(response.buildCacheEnabled()).isTrue();
+            assertThat(response.buildProfile()).isEqualTo(BuildProfile.LARGE);
+            assertThat(response.cpuRequest()).isEqualTo("250m");
+            assertThat(response.memoryLimit()).isEqualTo("512Mi");
+            assertThat(response.targetCpuUtilization()).isEqualTo(60);
+            assertThat(response.autoscalingEnabled()).isTrue();
+        }
+
+        @Test
+        @DisplayName("성공: 빌드 캐시 설정을 생략하면 기존 값 유지")
+        void keepBuildCacheWhenOmitted() {
+            testConfig.updateConfig(1, 1, Map.of(), 8080, "repo.klepaas.io", true, null);
+            var request = new UpdateDeploymentConfigRequest(1, 3, Map.of(), 8080, "repo.klepaas.io", null, null,
+                    null, null, null, null, null, null, null);
+            given(sourceRepositoryRepository.findById(1L)).willReturn(Optional.of(testRepo));
+            given(deploymentConfigRepository.findBySourceRepositoryId(1L))
+                    .willReturn(Optional.of(testConfig));
+
+            DeploymentConfigResponse response = repositoryService.updateDeploymentConfig(1L, request);
+
+            assertThat(response.maxReplicas()).isEqualTo(3);
+            assertThat(response.buildCacheEnabled()).isTrue();
+        }
+
+        @Test
+        @DisplayName("성공: 리소스 설정과 빌드 프로필을 생략하면 기존 값 유지")
+        void keepResourcesAndBuildProfileWhenOmitted() {
+            testConfig.updateConfig(1, 3, Map.of(), 8080, "repo.klepaas.io", true, BuildProfile.LARGE);
+            testConfig.updateResources("250m", "1", "256Mi", "512Mi", 60);
+            var request = new UpdateDeploymentConfigRequest(1, 3, Map.of(), 8080, "repo.klepaas.io", null, null,
+                    null, null, null, null, null, null, null);
+            given(sourceRepositoryRepository.findById(1L)).willReturn(Optional.of(testRepo));
+            given(deploymentConfigRepository.findBySourceRepositoryId(1L))
+                    .willReturn(Optional.of(testConfig));
+
+            DeploymentConfigResponse response = repositoryService.updateDeploymentConfig(1L, request);
+
+            assertThat(response.buildProfile()).isEqualTo(BuildProfile.LARGE);
+            assertThat(response.cpuRequest()).isEqualTo("250m");
+            assertThat(response.cpuLimit()).isEqualTo("1");
+            assertThat(response.memoryRequest()).isEqualTo("256Mi");
+            assertThat(response.memoryLimit()).isEqualTo("512Mi");
+            assertThat(response.targetCpuUtilization()).isEqualTo(60);
+        }
+
+        @Test
+        @DisplayName("성공: reset 플래그로만 빌드 프로필과 리소스 설정을 기본값으로 되돌린다")
+        void resetResourcesAndBuildProfile() {
+            testConfig.updateConfig(1, 3, Map.of(), 8080, "repo.klepaas.io", true, BuildProfile.LARGE);
+            testConfig.updateResources("250m", "1", "256Mi", "512Mi", 60);
+            var request = new UpdateDeploymentConfigRequest(1, 3, Map.of(), 8080, "repo.klepaas.io", null, null,
+                    null, null, null, null, null, true, true);
+            given(sourceRepositoryRepository.findById(1L)).willReturn(Optional.of(testRepo));
+            given(deploymentConfigRepository.findBySourceRepositoryId(1L))
+                    .willReturn(Optional.of(testConfig));
+
+            DeploymentConfigResponse response = repositoryService.updateDeploymentConfig(1L, request);
+
+            assertThat(response.buildProfile()).isNull();
+            assertThat(response.cpuRequest()).isNull();
+            assertThat(response.cpuLimit()).isNull();
+            assertThat(response.memoryRequest()).isNull();
+            assertThat(response.memoryLimit()).isNull();
+            assertThat(response.targetCpuUtilization()).isNull();
+            assertThat(response.buildCacheEnabled()).isTrue();
         }
     }
 }
@@ -0,0 +1,54 @@
+package klepaas.backend.global.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncConfigTest {
+
+    @Test
+    @DisplayName("가상 스레드 모드에서는 배포/빌드 로그 executor가 작업마다 가상 스레드를 띄운다")
+    void virtualThreadExecutors() throws Exception {
+        AsyncConfig config = new AsyncConfig();
+        ReflectionTestUtils.setField(config, "virtualThreadsEnabled", true);
+
+        assertRunsOnVirtualThread(config.deployExecutor(), "deploy-vt-");
+        assertRunsOnVirtualThread(config.buildLogExecutor(20), "build-log-vt-");
+    }
+
+    @Test
+    @DisplayName("플랫폼 스레드 모드에서는 크기가 제한된 스레드 풀을 사용한다")
+    void platformThreadPools() {
+        AsyncConfig config = new AsyncConfig();
+        ReflectionTestUtils.setField(config, "virtualThreadsEnabled", false);
+
+        ThreadPoolTaskExecutor deploy = (ThreadPoolTaskExecutor) config.deployExecutor();
+        ThreadPoolTaskExecutor buildLog = (ThreadPoolTaskExecutor) config.buildLogExecutor(20);
+        try {
+            assertThat(deploy.getMaxPoolSize()).isEqualTo(10);
+            assertThat(deploy.getQueueCapacity()).isEqualTo(25);
+            assertThat(buildLog.getMaxPoolSize()).isEqualTo(20);
+        } finally {
+            deploy.shutdown();
+            buildLog.shutdown();
+        }
+    }
+
+    private static void assertRunsOnVirtualThread(Executor executor, String namePrefix) throws Exception {
+        assertThat(executor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        executor.execute(() -> thread.complete(Thread.currentThread()));
+
+        Thread worker = thread.get(5, TimeUnit.SECONDS);
+        assertThat(worker.isVirtual()).isTrue();
+        assertThat(worker.getName()).startsWith(namePrefix);
+    }
+}
@@ -0,0 +1,86 @@
+package klepaas.backend.global.config;
+
+import klepaas.backend.deployment.entity.BuildProfile;
+import klepaas.backend.deployment.entity.DeploymentStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnumColumnMigrationTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createBaselineSchema() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:baseline-" + System.nanoTime(), "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // baseline 엔티티로 Hibernate가 만든 테이블 (상태 7개짜리 ENUM 컬럼)
+        jdbcTemplate.execute("""
+                CREATE TABLE deployments (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    repository_id BIGINT,
+                    status ENUM ('PENDING','UPLOADING_SOURCE','BUILDING','DEPLOYING','SUCCESS','FAILED','CANCELED') NOT NULL
+                )""");
+        jdbcTemplate.execute("INSERT INTO deployments (repository_id, status) VALUES (1, 'SUCCESS')");
+        // 이후 ddl-auto update가 추가한 컬럼/테이블
+        jdbcTemplate.execute("ALTER TABLE deployments ADD COLUMN checkpoint ENUM ('SOURCE_UPLOADED','BUILD_TRIGGERED')");
+        jdbcTemplate.execute("ALTER TABLE deployments ADD COLUMN build_profile ENUM ('SMALL','MEDIUM','LARGE')");
+        jdbcTemplate.execute("""
+                CREATE TABLE deployment_stage_events (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    stage ENUM ('BUILD','ROLLOUT') NOT NULL
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE deployment_configs (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    build_profile ENUM ('SMALL','MEDIUM','LARGE')
+                )""");
+    }
+
+    @AfterEach
+    void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("baseline DB의 ENUM 컬럼을 VARCHAR로 바꿔 새 값을 저장할 수 있다")
+    void migrateBaselineEnumColumns() {
+        new EnumColumnMigration(dataSource, null).migrate();
+
+        jdbcTemplate.execute("INSERT INTO deployments (repository_id, status) VALUES (1, '"
+                + DeploymentStatus.SUPERSEDED.name() + "')");
+        jdbcTemplate.execute("INSERT INTO deployments (repository_id, status) VALUES (1, '"
+                + DeploymentStatus.QUEUED_FOR_BUILD.name() + "')");
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM deployments ORDER BY id", String.class))
+                .containsExactly("SUCCESS", "SUPERSEDED", "QUEUED_FOR_BUILD");
+
+        for (EnumColumnMigration.EnumColumn column : EnumColumnMigration.COLUMNS) {
+            assertThat(dataType(column)).isEqualTo("CHARACTER VARYING");
+        }
+        jdbcTemplate.execute("INSERT INTO deployment_configs (build_profile) VALUES ('" + BuildProfile.LARGE.name() + "')");
+    }
+
+    @Test
+    @DisplayName("이미 VARCHAR인 컬럼은 다시 변환하지 않는다")
+    void skipConvertedColumns() {
+        new EnumColumnMigration(dataSource, null).migrate();
+        // 다시 변환하면 VARCHAR(30)으로 돌아가므로 길이로 재실행 여부 확인
+        jdbcTemplate.execute("ALTER TABLE deployments ALTER COLUMN status SET DATA TYPE VARCHAR(10)");
+
+        new EnumColumnMigration(dataSource, null).migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT CHARACTER_MAXIMUM_LENGTH FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'DEPLOYMENTS' AND COLUMN_NAME = 'STATUS'", Long.class)).isEqualTo(10L);
+    }
+
+    private String dataType(EnumColumnMigration.EnumColumn column) {
+        return jdbcTemplate.queryForObject("SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = ? AND COLUMN_NAME = ?", String.class, column.table(), column.column());
+    }
+}
@@ -0,0 +1,117 @@
+package klepaas.backend.infra.concurrency;
+
+import klepaas.backend.global.exception.BusinessException;
+import klepaas.backend.global.exception.ErrorCode;
+import klepaas.backend.infra.concurrency.ExternalCallLimiter.ExternalSystem;
+import klepaas.backend.infra.concurrency.ExternalCallLimiter.Permit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExternalCallLimiterTest {
+
+    private ExternalCallLimiter limiter;
+    private ExecutorService caller;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new ExternalCallLimiter(1, 2, 2, 2);
+        caller = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        caller.shutdownNow();
+        Thread.interrupted();
+    }
+
+    @Test
+    @DisplayName("상한에 도달하면 permit이 반환될 때까지 대기하고, 다른 시스템 호출은 영향받지 않는다")
+    void blocksAtLimit() throws Exception {
+        Permit held = limiter.acquire(ExternalSystem.GITHUB);
+        assertThat(limiter.availablePermits(ExternalSystem.GITHUB)).isZero();
+
+        Future<Permit> waiting = caller.submit(() -> limiter.acquire(ExternalSystem.GITHUB));
+        assertThatThrownBy(() -> waiting.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        try (Permit storage = limiter.acquire(ExternalSystem.OBJECT_STORAGE)) {
+            assertThat(limiter.availablePermits(ExternalSystem.OBJECT_STORAGE)).isEqualTo(1);
+        }
+
+        held.close();
+        Permit acquired = waiting.get(5, TimeUnit.SECONDS);
+        assertThat(limiter.availablePermits(ExternalSystem.GITHUB)).isZero();
+        acquired.close();
+        assertThat(limiter.availablePermits(ExternalSystem.GITHUB)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("permit을 여러 번 닫아도 한 번만 반환해 상한이 늘어나지 않는다")
+    void closeIsIdempotent() {
+        Permit permit = limiter.acquire(ExternalSystem.KUBERNETES_API);
+        assertThat(limiter.availablePermits(ExternalSystem.KUBERNETES_API)).isEqualTo(1);
+
+        permit.close();
+        permit.close();
+
+        assertThat(limiter.availablePermits(ExternalSystem.KUBERNETES_API)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("대기 중 인터럽트되면 인터럽트 플래그를 복원하고 예외를 던지며 permit을 차지하지 않는다")
+    void interruptedWhileWaiting() throws Exception {
+        Permit held = limiter.acquire(ExternalSystem.GITHUB);
+
+        CompletableFuture<Boolean> interruptFlag = new CompletableFuture<>();
+        Future<?> waiting = caller.submit(() -> {
+            try {
+                limiter.acquire(ExternalSystem.GITHUB);
+                interruptFlag.complete(false);
+            } catch (BusinessException e) {
+                interruptFlag.complete(Thread.currentThread().isInterrupted()
+                        && e.getErrorCode() == ErrorCode.INTERNAL_ERROR);
+            }
+        });
+        while (!limiterHasQueuedCaller()) {
+            Thread.onSpinWait();
+        }
+        waiting.cancel(true);
+
+        assertThat(interruptFlag.get(5, TimeUnit.SECONDS)).isTrue();
+        held.close();
+        assertThat(limiter.availablePermits(ExternalSystem.GITHUB)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("이미 인터럽트된 스레드는 permit을 기다리지 않고 바로 실패한다")
+    void alreadyInterrupted() {
+        Thread.currentThread().interrupt();
+
+        assertThatThrownBy(() -> limiter.acquire(ExternalSystem.CONTAINER_REGISTRY))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("CONTAINER_REGISTRY");
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(limiter.availablePermits(ExternalSystem.CONTAINER_REGISTRY)).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean limiterHasQueuedCaller() {
+        Map<ExternalSystem, Semaphore> semaphores =
+                (Map<ExternalSystem, Semaphore>) ReflectionTestUtils.getField(limiter, "semaphores");
+        return semaphores.get(ExternalSystem.GITHUB).hasQueuedThreads();
+    }
+}
@@ -0,0 +1,66 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.NodeBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import klepaas.backend.deployment.entity.BuildProfile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildNodeCapacityTest {
+
+    @Test
+    @DisplayName("실행 중 Pod requests를 뺀 노드별 여유분으로 판단한다")
+    void subtractsRunningPods() {
+        Node node = node("build-1", "4", "8Gi");
+        Pod running = pod("3500m", "4Gi");
+
+        assertThat(BuildNodeCapacity.fits(BuildProfile.SMALL, List.of(node), n -> List.of(running), List.of()))
+                .isTrue();
+        assertThat(BuildNodeCapacity.fits(BuildProfile.MEDIUM, List.of(node), n -> List.of(running), List.of()))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("슬롯은 받았지만 아직 배치되지 않은 빌드의 requests도 예약분으로 뺀다")
+    void reservesUnscheduledGrants() {
+        Node node = node("build-1", "4", "8Gi");
+
+        assertThat(BuildNodeCapacity.fits(BuildProfile.LARGE, List.of(node), n -> List.of(), List.of()))
+                .isTrue();
+        assertThat(BuildNodeCapacity.fits(BuildProfile.LARGE, List.of(node), n -> List.of(),
+                List.of(BuildProfile.LARGE, BuildProfile.MEDIUM))).isFalse();
+    }
+
+    private static Node node(String name, String cpu, String memory) {
+        return new NodeBuilder()
+                .withNewMetadata().withName(name).endMetadata()
+                .withNewStatus()
+                    .withAllocatable(Map.of("cpu", new Quantity(cpu), "memory", new Quantity(memory)))
+                    .addNewCondition().withType("Ready").withStatus("True").endCondition()
+                .endStatus()
+                .build();
+    }
+
+    private static Pod pod(String cpu, String memory) {
+        return new PodBuilder()
+                .withNewSpec()
+                    .addNewContainer()
+                        .withName("app")
+                        .withNewResources()
+                            .addToRequests("cpu", new Quantity(cpu))
+                            .addToRequests("memory", new Quantity(memory))
+                        .endResources()
+                    .endContainer()
+                .endSpec()
+                .withNewStatus().withPhase("Running").endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.EventBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildPodFailureRulesTest {
+
+    @Test
+    @DisplayName("initContainer가 0이 아닌 코드로 종료되면 실패")
+    void initContainerExit() {
+        Pod pod = pod()
+                .editStatus()
+                    .withPhase("Pending")
+                    .addToInitContainerStatuses(new ContainerStatusBuilder()
+                            .withName("source-downloader")
+                            .withNewState().withNewTerminated().withExitCode(1).endTerminated().endState()
+                            .build())
+                .endStatus()
+                .build();
+
+        assertThat(BuildPodFailureRules.evaluate(pod))
+                .startsWith("initContainer 'source-downloader' 실패 (exitCode=1)");
+    }
+
+    @Test
+    @DisplayName("이미지 pull 실패와 스케줄 불가는 실패, 일반 대기 상태는 진행 중")
+    void waitingAndScheduling() {
+        Pod pullFailure = pod()
+                .editStatus()
+                    .addToContainerStatuses(new ContainerStatusBuilder()
+                            .withName("kaniko")
+                            .withNewState().withNewWaiting().withReason("ImagePullBackOff").endWaiting().endState()
+                            .build())
+                .endStatus()
+                .build();
+        Pod unschedulable = pod()
+                .editStatus()
+                    .addNewCondition()
+                        .withType("PodScheduled").withStatus("False").withReason("Unschedulable")
+                        .withMessage("0/3 nodes are available")
+                    .endCondition()
+                .endStatus()
+                .build();
+        Pod creating = pod()
+                .editStatus()
+                    .addToContainerStatuses(new ContainerStatusBuilder()
+                            .withName("kaniko")
+                            .withNewState().withNewWaiting().withReason("ContainerCreating").endWaiting().endState()
+                            .build())
+                .endStatus()
+                .build();
+
+        assertThat(BuildPodFailureRules.evaluate(pullFailure)).isEqualTo("ImagePullBackOff");
+        assertThat(BuildPodFailureRules.evaluate(unschedulable)).isEqualTo("Pod unschedulable: 0/3 nodes are available");
+        assertThat(BuildPodFailureRules.evaluate(creating)).isNull();
+    }
+
+    @Test
+    @DisplayName("FailedMount Warning 이벤트만 실패로 본다")
+    void failedMountEvent() {
+        Event failedMount = event("Warning", "FailedMount");
+        Event backOff = event("Warning", "BackOff");
+
+        assertThat(BuildPodFailureRules.evaluate(failedMount)).startsWith("FailedMount");
+        assertThat(BuildPodFailureRules.evaluate(backOff)).isNull();
+    }
+
+    private static PodBuilder pod() {
+        return new PodBuilder()
+                .withNewMetadata().withName("klepaas-build-1-abcde").withNamespace("default").endMetadata()
+                .withNewStatus().withPhase("Pending").endStatus();
+    }
+
+    private static Event event(String type, String reason) {
+        return new EventBuilder()
+                .withType(type)
+                .withReason(reason)
+                .withNewInvolvedObject().withKind("Pod").withName("klepaas-build-1-abcde").withNamespace("default")
+                .endInvolvedObject()
+                .build();
+    }
+}
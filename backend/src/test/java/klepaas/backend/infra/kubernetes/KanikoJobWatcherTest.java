@@ -0,0 +1,96 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Store;
+import klepaas.backend.infra.dto.BuildStatusResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class KanikoJobWatcherTest {
+
+    @Mock
+    private SharedIndexInformer<Job> jobInformer;
+    @Mock
+    private Store<Job> jobStore;
+
+    private KanikoJobWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        watcher = new KanikoJobWatcher(null);
+        ReflectionTestUtils.setField(watcher, "namespace", "default");
+    }
+
+    @Test
+    @DisplayName("watch 등록 전에 이미 끝난 Job은 informer 캐시 상태로 즉시 완료")
+    void completesFromCachedStatus() {
+        ReflectionTestUtils.setField(watcher, "informer", jobInformer);
+        given(jobInformer.getStore()).willReturn(jobStore);
+        given(jobStore.getByKey("default/klepaas-build-1")).willReturn(job("klepaas-build-1", 1, null));
+
+        CompletableFuture<BuildStatusResult> future = watcher.watch("klepaas-build-1");
+
+        assertThat(future).isCompletedWithValue(new BuildStatusResult(true, true, null, "success"));
+        assertThat(pendingBuilds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("완료 전에 Job이 삭제되면 실패로 완료하고, 완료 후 삭제면 최종 상태를 따른다")
+    void completesOnDelete() {
+        CompletableFuture<BuildStatusResult> running = watcher.watch("klepaas-build-1");
+        CompletableFuture<BuildStatusResult> succeeded = watcher.watch("klepaas-build-2");
+
+        ReflectionTestUtils.invokeMethod(watcher, "handleJobDeleted", job("klepaas-build-1", null, null));
+        ReflectionTestUtils.invokeMethod(watcher, "handleJobDeleted", job("klepaas-build-2", 1, null));
+
+        assertThat(running.join().success()).isFalse();
+        assertThat(running.join().message()).contains("완료 전에 삭제됨");
+        assertThat(succeeded.join().success()).isTrue();
+        assertThat(pendingBuilds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("타임아웃으로 끝난 watch는 대기 목록에서 제거되고 이후 Job 이벤트를 무시한다")
+    void timeoutRemovesPendingWatch() {
+        CompletableFuture<BuildStatusResult> future = watcher.watch("klepaas-build-1");
+        // 파이프라인의 orTimeout과 같은 예외 완료 (완료 스레드에서 대기 목록 정리까지 끝나도록 직접 완료)
+        future.completeExceptionally(new TimeoutException());
+
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(pendingBuilds()).isEmpty();
+
+        ReflectionTestUtils.invokeMethod(watcher, "handleJobEvent", job("klepaas-build-1", 1, null));
+        assertThat(future.isCompletedExceptionally()).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, CompletableFuture<BuildStatusResult>> pendingBuilds() {
+        return (Map<String, CompletableFuture<BuildStatusResult>>) ReflectionTestUtils.getField(watcher, "pendingBuilds");
+    }
+
+    private static Job job(String name, Integer succeeded, Integer failed) {
+        return new JobBuilder()
+                .withNewMetadata().withName(name).withNamespace("default").endMetadata()
+                .withNewStatus().withSucceeded(succeeded).withFailed(failed).endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.FieldsV1;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.autoscaling.v2.HorizontalPodAutoscaler;
+import klepaas.backend.deployment.entity.DeploymentConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KubernetesManifestGeneratorTest {
+
+    private static final Map<String, String> LABELS = Map.of("app.kubernetes.io/name", "owner-repo");
+
+    private KubernetesManifestGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new KubernetesManifestGenerator(null, null);
+        ReflectionTestUtils.setField(generator, "namespace", "default");
+        ReflectionTestUtils.setField(generator, "imagePullSecretName", "ncp-cr");
+        ReflectionTestUtils.setField(generator, "progressDeadlineSeconds", 600);
+        ReflectionTestUtils.setField(generator, "defaultCpuRequest", "100m");
+        ReflectionTestUtils.setField(generator, "defaultCpuLimit", "");
+        ReflectionTestUtils.setField(generator, "defaultMemoryRequest", "128Mi");
+        ReflectionTestUtils.setField(generator, "defaultMemoryLimit", "512Mi");
+        ReflectionTestUtils.setField(generator, "defaultTargetCpuUtilization", 70);
+    }
+
+    @Test
+    @DisplayName("maxReplicas > minReplicas면 HPA를 만들고 Deployment replicas는 HPA에 맡긴다")
+    void autoscaling() {
+        DeploymentConfig config = config(2, 5);
+        config.updateResources("250m", "1", "256Mi", null, 60);
+
+        Deployment deployment = generator.buildDeployment("owner-repo", "image:tag", config, LABELS);
+        HorizontalPodAutoscaler hpa = generator.buildAutoscaler("owner-repo", config, LABELS);
+
+        assertThat(deployment.getSpec().getReplicas()).isNull();
+        ResourceRequirements resources = deployment.getSpec().getTemplate().getSpec().getContainers().getFirst()
+                .getResources();
+        assertThat(resources.getRequests()).containsEntry("cpu", new Quantity("250m"))
+                .containsEntry("memory", new Quantity("256Mi"));
+        assertThat(resources.getLimits()).containsEntry("cpu", new Quantity("1"))
+                .containsEntry("memory", new Quantity("512Mi"));
+
+        assertThat(hpa.getSpec().getScaleTargetRef().getName()).isEqualTo("owner-repo");
+        assertThat(hpa.getSpec().getMinReplicas()).isEqualTo(2);
+        assertThat(hpa.getSpec().getMaxReplicas()).isEqualTo(5);
+        assertThat(hpa.getSpec().getMetrics().getFirst().getResource().getTarget().getAverageUtilization())
+                .isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("maxReplicas == minReplicas면 HPA 없이 고정 replicas와 기본 requests를 적용")
+    void fixedReplicas() {
+        DeploymentConfig config = config(2, 2);
+
+        Deployment deployment = generator.buildDeployment("owner-repo", "image:tag", config, LABELS);
+
+        assertThat(generator.buildAutoscaler("owner-repo", config, LABELS)).isNull();
+        assertThat(deployment.getSpec().getReplicas()).isEqualTo(2);
+        ResourceRequirements resources = deployment.getSpec().getTemplate().getSpec().getContainers().getFirst()
+                .getResources();
+        assertThat(resources.getRequests()).containsEntry("cpu", new Quantity("100m"));
+        assertThat(resources.getLimits()).doesNotContainKey("cpu");
+    }
+
+    @Test
+    @DisplayName("고정 replicas로 apply된 앱을 HPA로 전환하면 현재 replicas로 소유권을 먼저 넘긴 뒤 replicas를 뺀다")
+    void handoverReplicasWhenSwitchingToAutoscaling() {
+        Deployment live = liveDeployment(3, "f:replicas");
+        DeploymentConfig config = config(2, 5);
+
+        Deployment handover = generator.buildReplicasHandover(live);
+        Deployment deployment = generator.buildDeployment("owner-repo", "image:tag", config, LABELS);
+
+        assertThat(handover.getMetadata().getName()).isEqualTo("owner-repo");
+        assertThat(handover.getSpec().getReplicas()).isEqualTo(3);
+        assertThat(handover.getSpec().getTemplate()).isNull();
+        assertThat(deployment.getSpec().getReplicas()).isNull();
+    }
+
+    @Test
+    @DisplayName("apply field manager가 replicas를 소유하지 않으면(신규/전환 완료) 소유권 이전 없음")
+    void noHandoverWithoutReplicasOwnership() {
+        assertThat(generator.buildReplicasHandover(null)).isNull();
+        assertThat(generator.buildReplicasHandover(liveDeployment(3, "f:template"))).isNull();
+    }
+
+    private static Deployment liveDeployment(int replicas, String ownedSpecField) {
+        FieldsV1 fields = new FieldsV1();
+        fields.setAdditionalProperty("f:spec", Map.of(ownedSpecField, Map.of()));
+        return new DeploymentBuilder()
+                .withNewMetadata()
+                    .withName("owner-repo")
+                    .withNamespace("default")
+                    .addToManagedFields(new ManagedFieldsEntryBuilder()
+                            .withManager(KubernetesManifestGenerator.APPLY_FIELD_MANAGER)
+                            .withOperation("Apply")
+                            .withFieldsType("FieldsV1")
+                            .withFieldsV1(fields)
+                            .build())
+                .endMetadata()
+                .withNewSpec().withReplicas(replicas).endSpec()
+                .build();
+    }
+
+    private static DeploymentConfig config(int min, int max) {
+        return DeploymentConfig.builder()
+                .minReplicas(min)
+                .maxReplicas(max)
+                .envVars(Map.of())
+                .containerPort(8080)
+                .domainUrl("repo.klepaas.io")
+                .build();
+    }
+}
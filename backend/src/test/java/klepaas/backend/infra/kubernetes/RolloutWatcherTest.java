@@ -0,0 +1,66 @@
+package klepaas.backend.infra.kubernetes;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import klepaas.backend.infra.dto.RolloutProgress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RolloutWatcherTest {
+
+    @Test
+    @DisplayName("observedGeneration이 apply generation에 도달하기 전에는 이전 상태가 준비돼 있어도 진행 중")
+    void waitsForObservedGeneration() {
+        Deployment stale = deployment(3, 2, 3, 3, 3, 3);
+
+        RolloutProgress progress = RolloutWatcher.evaluate(stale, 3);
+
+        assertThat(progress.complete()).isFalse();
+        assertThat(progress.updatedReplicas()).isZero();
+    }
+
+    @Test
+    @DisplayName("새 Pod가 모두 available이고 이전 Pod가 정리돼야 완료")
+    void completesWhenOldReplicasGone() {
+        Deployment rolling = deployment(3, 3, 4, 3, 3, 3);
+        Deployment done = deployment(3, 3, 3, 3, 3, 3);
+
+        assertThat(RolloutWatcher.evaluate(rolling, 3).complete()).isFalse();
+        assertThat(RolloutWatcher.evaluate(done, 3).complete()).isTrue();
+    }
+
+    @Test
+    @DisplayName("ProgressDeadlineExceeded면 실패 사유를 반환")
+    void progressDeadlineExceeded() {
+        Deployment stuck = new DeploymentBuilder(deployment(2, 3, 3, 1, 2, 1))
+                .editStatus()
+                    .addNewCondition()
+                        .withType("Progressing").withStatus("False").withReason("ProgressDeadlineExceeded")
+                        .withMessage("ReplicaSet \"app-7d9\" has timed out progressing.")
+                    .endCondition()
+                .endStatus()
+                .build();
+
+        RolloutProgress progress = RolloutWatcher.evaluate(stuck, 3);
+
+        assertThat(progress.complete()).isFalse();
+        assertThat(progress.failure()).startsWith("롤아웃 기한 초과");
+    }
+
+    private static Deployment deployment(int desired, long observedGeneration, int replicas,
+                                         int updated, int ready, int available) {
+        return new DeploymentBuilder()
+                .withNewMetadata().withName("owner-repo").withNamespace("default").withGeneration(3L).endMetadata()
+                .withNewSpec().withReplicas(desired).endSpec()
+                .withNewStatus()
+                    .withObservedGeneration(observedGeneration)
+                    .withReplicas(replicas)
+                    .withUpdatedReplicas(updated)
+                    .withReadyReplicas(ready)
+                    .withAvailableReplicas(available)
+                .endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package klepaas.backend.infra.registry;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContainerRegistryClientTest {
+
+    private static final String MANIFEST_TYPE = "application/vnd.oci.image.manifest.v1+json";
+    private static final byte[] MANIFEST = "{\"schemaVersion\":2}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, byte[]> pushed = new ConcurrentHashMap<>();
+    private volatile String pushedContentType;
+    private HttpServer registry;
+    private String registryHost;
+    private final ContainerRegistryClient client = new ContainerRegistryClient("http", "", "");
+
+    @BeforeEach
+    void startRegistry() throws IOException {
+        // 로컬 레지스트리 대역: HEAD/GET/PUT /v2/{name}/manifests/{tag}
+        pushed.put("/v2/owner-repo/manifests/abc1234", MANIFEST);
+        registry = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        registry.createContext("/v2/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            switch (exchange.getRequestMethod()) {
+                case "HEAD" -> exchange.sendResponseHeaders(pushed.containsKey(path) ? 200 : 404, -1);
+                case "GET" -> {
+                    byte[] manifest = pushed.get(path);
+                    if (manifest == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                    } else {
+                        exchange.getResponseHeaders().add("Content-Type", MANIFEST_TYPE);
+                        exchange.sendResponseHeaders(200, manifest.length);
+                        exchange.getResponseBody().write(manifest);
+                    }
+                }
+                case "PUT" -> {
+                    pushedContentType = exchange.getRequestHeaders().getFirst("Content-Type");
+                    pushed.put(path, exchange.getRequestBody().readAllBytes());
+                    exchange.sendResponseHeaders(201, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+            exchange.close();
+        });
+        registry.start();
+        registryHost = "127.0.0.1:" + registry.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopRegistry() {
+        registry.stop(0);
+    }
+
+    @Test
+    @DisplayName("같은 태그의 manifest가 있으면 true")
+    void manifestExists() {
+        assertThat(client.manifestExists(registryHost + "/owner-repo:abc1234")).isTrue();
+    }
+
+    @Test
+    @DisplayName("태그가 없으면 false")
+    void manifestMissing() {
+        assertThat(client.manifestExists(registryHost + "/owner-repo:def5678")).isFalse();
+    }
+
+    @Test
+    @DisplayName("retag는 기존 manifest를 같은 Content-Type으로 새 태그에 PUT한다")
+    void retag() {
+        boolean retagged = client.retag(registryHost + "/owner-repo:abc1234", registryHost + "/owner-repo:def5678");
+
+        assertThat(retagged).isTrue();
+        assertThat(pushed.get("/v2/owner-repo/manifests/def5678")).isEqualTo(MANIFEST);
+        assertThat(pushedContentType).isEqualTo(MANIFEST_TYPE);
+        assertThat(client.manifestExists(registryHost + "/owner-repo:def5678")).isTrue();
+    }
+
+    @Test
+    @DisplayName("원본 manifest가 없으면 retag하지 않는다")
+    void retagMissingSource() {
+        assertThat(client.retag(registryHost + "/owner-repo:0000000", registryHost + "/owner-repo:def5678")).isFalse();
+        assertThat(pushed).doesNotContainKey("/v2/owner-repo/manifests/def5678");
+    }
+
+    @Test
+    @DisplayName("레지스트리에 연결할 수 없으면 빌드 경로로 진행하도록 false")
+    void registryUnavailable() {
+        assertThat(client.manifestExists("127.0.0.1:1/owner-repo:abc1234")).isFalse();
+    }
+}
@@ -0,0 +1,160 @@
+package klepaas.backend.infra.service;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import klepaas.backend.deployment.entity.BuildProfile;
+import klepaas.backend.deployment.entity.CloudVendor;
+import klepaas.backend.deployment.entity.Deployment;
+import klepaas.backend.deployment.entity.SourceRepository;
+import klepaas.backend.global.exception.BusinessException;
+import klepaas.backend.infra.dto.BuildOptions;
+import klepaas.backend.infra.util.ContextFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NcpInfraServiceKanikoJobTest {
+
+    private static final String ACCESS_KEY = "ncp-access-key";
+    private static final String SECRET_KEY = "ncp-secret-key";
+    private static final String IMAGE_URI = "registry.example.com/owner-repo:abc1234";
+
+    private S3Presigner presigner;
+    private NcpInfraService service;
+    private Deployment deployment;
+
+    @BeforeEach
+    void setUp() {
+        presigner = presigner("https://kr.object.ncloudstorage.com");
+        service = newService(presigner);
+
+        SourceRepository repo = SourceRepository.builder()
+                .owner("owner").repoName("repo").gitUrl("https://github.com/owner/repo")
+                .cloudVendor(CloudVendor.NCP).build();
+        ReflectionTestUtils.setField(repo, "id", 10L);
+        deployment = Deployment.builder().sourceRepository(repo).branchName("main").commitHash("abc1234def5678").build();
+        ReflectionTestUtils.setField(deployment, "id", 2L);
+    }
+
+    @AfterEach
+    void closePresigner() {
+        presigner.close();
+    }
+
+    @Test
+    @DisplayName("ZIP 모드: initContainer가 계정 키로 소스를 emptyDir에 풀고 Kaniko는 dir context를 읽는다")
+    void zipContext() {
+        ReflectionTestUtils.setField(service, "contextFormat", ContextFormat.ZIP);
+
+        PodSpec pod = buildJob("sources/10/abc1234def5678/source.zip").getSpec().getTemplate().getSpec();
+
+        Container kaniko = pod.getContainers().getFirst();
+        assertThat(kaniko.getArgs()).contains("--context=dir:///workspace", "--destination=" + IMAGE_URI);
+        assertThat(kaniko.getVolumeMounts()).extracting(VolumeMount::getName).contains("workspace");
+        assertThat(pod.getVolumes()).filteredOn(v -> "workspace".equals(v.getName()))
+                .singleElement()
+                .satisfies(v -> assertThat(v.getEmptyDir()).isNotNull());
+
+        Container downloader = pod.getInitContainers().getFirst();
+        assertThat(downloader.getName()).isEqualTo("source-downloader");
+        assertThat(downloader.getArgs().getFirst()).contains("s3://build-bucket/sources/10/abc1234def5678/source.zip");
+        assertThat(downloader.getEnv()).extracting(EnvVar::getValue).contains(ACCESS_KEY, SECRET_KEY);
+        assertNoCredentials(kaniko);
+    }
+
+    @Test
+    @DisplayName("TAR_GZ 모드: Kaniko가 presigned https URL context를 직접 읽고 initContainer/emptyDir/계정 키가 없다")
+    void tarGzContext() {
+        ReflectionTestUtils.setField(service, "contextFormat", ContextFormat.TAR_GZ);
+
+        PodSpec pod = buildJob("sources/10/abc1234def5678/context.tar.gz").getSpec().getTemplate().getSpec();
+
+        Container kaniko = pod.getContainers().getFirst();
+        String context = kaniko.getArgs().stream()
+                .filter(arg -> arg.startsWith("--context="))
+                .findFirst()
+                .orElseThrow()
+                .substring("--context=".length());
+        assertThat(context).startsWith("https://kr.object.ncloudstorage.com/build-bucket/sources/10/abc1234def5678/context.tar.gz?")
+                .contains("X-Amz-Signature=")
+                .doesNotContain(SECRET_KEY);
+        assertThat(kaniko.getArgs()).contains("--destination=" + IMAGE_URI);
+
+        assertThat(pod.getInitContainers()).isEmpty();
+        assertThat(pod.getVolumes()).extracting(Volume::getName).containsExactly("docker-config");
+        assertThat(kaniko.getVolumeMounts()).extracting(VolumeMount::getName).containsExactly("docker-config");
+        assertNoCredentials(kaniko);
+    }
+
+    @Test
+    @DisplayName("TAR_GZ 모드는 https가 아닌 Object Storage endpoint로 Job을 만들지 않는다")
+    void tarGzRequiresHttps() {
+        presigner.close();
+        presigner = presigner("http://127.0.0.1:9000");
+        service = newService(presigner);
+        ReflectionTestUtils.setField(service, "contextFormat", ContextFormat.TAR_GZ);
+
+        assertThatThrownBy(() -> buildJob("sources/10/abc1234def5678/context.tar.gz"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("https");
+    }
+
+    private Job buildJob(String storageKey) {
+        return ReflectionTestUtils.invokeMethod(service, "buildKanikoJob", "klepaas-build-2", storageKey, IMAGE_URI,
+                deployment, new BuildOptions(false, BuildProfile.MEDIUM));
+    }
+
+    /**
+     * 사용자 Dockerfile RUN 단계가 읽을 수 있는 환경변수/인자에 계정 키가 없어야 한다.
+     * presigned URL의 X-Amz-Credential에는 access key ID가 들어가지만 서명 없이는 쓸 수 없으므로 secret만 확인한다.
+     */
+    private static void assertNoCredentials(Container container) {
+        List<EnvVar> env = container.getEnv() != null ? container.getEnv() : List.of();
+        assertThat(env).extracting(EnvVar::getName).noneMatch(name -> name.startsWith("AWS_"));
+        assertThat(env).extracting(EnvVar::getValue).filteredOn(Objects::nonNull)
+                .noneMatch(v -> v.contains(ACCESS_KEY) || v.contains(SECRET_KEY));
+        assertThat(container.getArgs()).noneMatch(arg -> arg.contains(SECRET_KEY));
+    }
+
+    private static NcpInfraService newService(S3Presigner presigner) {
+        NcpInfraService service = new NcpInfraService(null, presigner, null, null, null, null, null, null, null, null, null);
+        ReflectionTestUtils.setField(service, "bucketName", "build-bucket");
+        ReflectionTestUtils.setField(service, "ncpAccessKey", ACCESS_KEY);
+        ReflectionTestUtils.setField(service, "ncpSecretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(service, "storageEndpoint", "https://kr.object.ncloudstorage.com");
+        ReflectionTestUtils.setField(service, "namespace", "default");
+        ReflectionTestUtils.setField(service, "imagePullSecretName", "ncp-cr");
+        ReflectionTestUtils.setField(service, "kanikoImage", "gcr.io/kaniko-project/executor:latest");
+        ReflectionTestUtils.setField(service, "buildNodeLabel", "klepaas.io/build-pool");
+        ReflectionTestUtils.setField(service, "buildNodeTaint", "klepaas.io/build");
+        ReflectionTestUtils.setField(service, "contextUrlTtl", 1800000L);
+        return service;
+    }
+
+    private static S3Presigner presigner(String endpoint) {
+        return S3Presigner.builder()
+                .region(Region.of("kr-standard"))
+                .endpointOverride(URI.create(endpoint))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)))
+                .build();
+    }
+}
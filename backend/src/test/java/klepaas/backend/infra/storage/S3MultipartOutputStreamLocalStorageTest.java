@@ -0,0 +1,220 @@
+package klepaas.backend.infra.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import klepaas.backend.infra.config.S3Config;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * S3 호환 로컬 스토리지 대역에 실제 SDK 요청을 보내 멀티파트 흐름을 확인한다.
+ * 대역은 path-style 주소만 받고, Content-MD5가 본문과 다르면 BadDigest로 거절하며 ETag로 파트 MD5를 돌려준다.
+ */
+class S3MultipartOutputStreamLocalStorageTest {
+
+    private static final String S3_NS = "http://s3.amazonaws.com/doc/2006-03-01/";
+    private static final Pattern PART_NUMBER = Pattern.compile("partNumber=(\\d+)");
+    private static final Pattern COMPLETED_PART = Pattern.compile(
+            "<ETag>(.*?)</ETag>\\s*<PartNumber>(\\d+)</PartNumber>|<PartNumber>(\\d+)</PartNumber>\\s*<ETag>(.*?)</ETag>");
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+    private final Map<Integer, String> partETags = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private HttpServer storage;
+    private S3AsyncClient s3Client;
+
+    @BeforeEach
+    void startStorage() throws IOException {
+        storage = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        storage.createContext("/", exchange -> {
+            try {
+                handle(exchange);
+            } catch (Exception e) {
+                exchange.sendResponseHeaders(500, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        storage.start();
+
+        // 운영과 같은 S3Config로 클라이언트 생성 (MinIO 등 로컬 스토리지 설정: path-style)
+        S3Config config = new S3Config();
+        ReflectionTestUtils.setField(config, "accessKey", "test-access-key");
+        ReflectionTestUtils.setField(config, "secretKey", "test-secret-key");
+        ReflectionTestUtils.setField(config, "endPoint", "http://127.0.0.1:" + storage.getAddress().getPort());
+        ReflectionTestUtils.setField(config, "region", "kr-standard");
+        ReflectionTestUtils.setField(config, "pathStyleAccess", true);
+        s3Client = config.s3AsyncClient();
+    }
+
+    @AfterEach
+    void stopStorage() {
+        s3Client.close();
+        storage.stop(0);
+    }
+
+    @Test
+    @DisplayName("파트 크기를 넘으면 path-style 멀티파트 업로드로 파트별 Content-MD5/ETag를 검증하며 객체를 완성한다")
+    void multipartUpload() throws IOException {
+        byte[] data = new byte[S3MultipartOutputStream.MIN_PART_SIZE * 2 + 1024];
+        new Random(42).nextBytes(data);
+
+        S3MultipartOutputStream out = open("sources/owner-repo/abc1234.zip");
+        out.write(data);
+        out.close();
+
+        assertThat(requests).first().isEqualTo("POST /build-bucket/sources/owner-repo/abc1234.zip");
+        assertThat(requests).last().isEqualTo("POST /build-bucket/sources/owner-repo/abc1234.zip");
+        assertThat(parts).containsOnlyKeys(1, 2, 3);
+        assertThat(out.getPartCount()).isEqualTo(3);
+        assertThat(objects.get("/build-bucket/sources/owner-repo/abc1234.zip")).isEqualTo(data);
+    }
+
+    @Test
+    @DisplayName("파트 크기보다 작으면 Content-MD5를 붙인 단일 PUT으로 올린다")
+    void singlePut() throws IOException {
+        byte[] data = "PK small context".getBytes(StandardCharsets.UTF_8);
+
+        S3MultipartOutputStream out = open("sources/owner-repo/def5678.zip");
+        out.write(data);
+        out.close();
+
+        assertThat(requests).containsExactly("PUT /build-bucket/sources/owner-repo/def5678.zip");
+        assertThat(objects.get("/build-bucket/sources/owner-repo/def5678.zip")).isEqualTo(data);
+    }
+
+    private S3MultipartOutputStream open(String key) {
+        return new S3MultipartOutputStream(s3Client, "build-bucket", key, "application/zip",
+                new MultipartSettings(S3MultipartOutputStream.MIN_PART_SIZE, 2, 1), new SimpleMeterRegistry());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getRawQuery() == null ? "" : exchange.getRequestURI().getRawQuery();
+        byte[] body = readBody(exchange);
+        requests.add(method + " " + path);
+
+        if (!path.startsWith("/build-bucket/")) {
+            respondXml(exchange, 404, "<Error><Code>NoSuchBucket</Code><Message>path-style only</Message></Error>");
+            return;
+        }
+
+        if (method.equals("POST") && query.startsWith("uploads")) {
+            respondXml(exchange, 200, "<InitiateMultipartUploadResult xmlns=\"" + S3_NS + "\">"
+                    + "<Bucket>build-bucket</Bucket><Key>" + path.substring("/build-bucket/".length()) + "</Key>"
+                    + "<UploadId>upload-1</UploadId></InitiateMultipartUploadResult>");
+        } else if (method.equals("PUT")) {
+            byte[] md5 = md5(body);
+            if (!Base64.getEncoder().encodeToString(md5).equals(exchange.getRequestHeaders().getFirst("Content-MD5"))) {
+                respondXml(exchange, 400, "<Error><Code>BadDigest</Code><Message>Content-MD5 mismatch</Message></Error>");
+                return;
+            }
+            String eTag = "\"" + HexFormat.of().formatHex(md5) + "\"";
+            Matcher partNumber = PART_NUMBER.matcher(query);
+            if (partNumber.find()) {
+                int number = Integer.parseInt(partNumber.group(1));
+                parts.put(number, body);
+                partETags.put(number, eTag);
+            } else {
+                objects.put(path, body);
+            }
+            exchange.getResponseHeaders().add("ETag", eTag);
+            exchange.sendResponseHeaders(200, -1);
+        } else if (method.equals("POST") && query.startsWith("uploadId=")) {
+            ByteArrayOutputStream assembled = new ByteArrayOutputStream();
+            List<Integer> order = new ArrayList<>();
+            Matcher completed = COMPLETED_PART.matcher(new String(body, StandardCharsets.UTF_8));
+            while (completed.find()) {
+                int number = Integer.parseInt(completed.group(2) != null ? completed.group(2) : completed.group(3));
+                String eTag = (completed.group(1) != null ? completed.group(1) : completed.group(4))
+                        .replace("&quot;", "\"");
+                if (!eTag.equals(partETags.get(number))) {
+                    respondXml(exchange, 400, "<Error><Code>InvalidPart</Code><Message>ETag mismatch</Message></Error>");
+                    return;
+                }
+                order.add(number);
+                assembled.write(parts.get(number));
+            }
+            if (!order.equals(order.stream().sorted().toList())) {
+                respondXml(exchange, 400, "<Error><Code>InvalidPartOrder</Code><Message>unsorted</Message></Error>");
+                return;
+            }
+            objects.put(path, assembled.toByteArray());
+            respondXml(exchange, 200, "<CompleteMultipartUploadResult xmlns=\"" + S3_NS + "\">"
+                    + "<Bucket>build-bucket</Bucket><Key>" + path.substring("/build-bucket/".length()) + "</Key>"
+                    + "<ETag>\"multipart-" + order.size() + "\"</ETag></CompleteMultipartUploadResult>");
+        } else {
+            exchange.sendResponseHeaders(405, -1);
+        }
+    }
+
+    /**
+     * http 엔드포인트에서는 SDK가 본문을 aws-chunked(청크별 서명)로 보낼 수 있으므로 원래 본문으로 복원한다.
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        byte[] raw = exchange.getRequestBody().readAllBytes();
+        String contentSha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (contentSha256 == null || !contentSha256.startsWith("STREAMING-")) {
+            return raw;
+        }
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int position = 0;
+        while (position < raw.length) {
+            int lineEnd = position;
+            while (raw[lineEnd] != '\r' || raw[lineEnd + 1] != '\n') {
+                lineEnd++;
+            }
+            String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";")[0].trim(), 16);
+            position = lineEnd + 2;
+            if (size == 0) {
+                break;
+            }
+            decoded.write(raw, position, size);
+            position += size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static void respondXml(HttpExchange exchange, int status, String xml) throws IOException {
+        byte[] body = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static byte[] md5(byte[] data) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
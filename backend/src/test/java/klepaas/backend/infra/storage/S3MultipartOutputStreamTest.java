@@ -0,0 +1,188 @@
+package klepaas.backend.infra.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class S3MultipartOutputStreamTest {
+
+    private static final int PART_SIZE = S3MultipartOutputStream.MIN_PART_SIZE;
+
+    @Mock
+    private S3AsyncClient s3Client;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("파트 크기를 넘는 데이터는 파트 단위로 병렬 업로드 후 파트 번호 순으로 완료한다")
+    void uploadInParts() throws IOException {
+        stubCreateAndComplete();
+        given(s3Client.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+                .willAnswer(invocation -> CompletableFuture.completedFuture(etagFor(invocation.getArgument(0))));
+
+        S3MultipartOutputStream out = open(4, 3);
+        byte[] chunk = new byte[1024 * 1024];
+        for (int i = 0; i < 12; i++) {
+            out.write(chunk);
+        }
+        out.close();
+
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3Client, times(3)).uploadPart(parts.capture(), any(AsyncRequestBody.class));
+        assertThat(parts.getAllValues()).extracting(UploadPartRequest::contentLength)
+                .containsExactly((long) PART_SIZE, (long) PART_SIZE, 2L * 1024 * 1024);
+        assertThat(parts.getAllValues()).allSatisfy(part -> assertThat(part.contentMD5()).isNotBlank());
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().multipartUpload().parts())
+                .extracting(CompletedPart::partNumber)
+                .containsExactly(1, 2, 3);
+        assertThat(out.getBytesWritten()).isEqualTo(12L * 1024 * 1024);
+        assertThat(meterRegistry.get("klepaas.storage.upload.part.duration").tag("outcome", "success").timer().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("klepaas.storage.upload.throughput").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실패한 파트만 재전송하고 업로드를 완료한다")
+    void retryFailedPartOnly() throws IOException {
+        stubCreateAndComplete();
+        AtomicBoolean failedOnce = new AtomicBoolean();
+        given(s3Client.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+                .willAnswer(invocation -> {
+                    UploadPartRequest request = invocation.getArgument(0);
+                    if (request.partNumber() == 2 && failedOnce.compareAndSet(false, true)) {
+                        return CompletableFuture.failedFuture(S3Exception.builder().message("slow down").statusCode(503).build());
+                    }
+                    return CompletableFuture.completedFuture(etagFor(request));
+                });
+
+        S3MultipartOutputStream out = open(2, 3);
+        out.write(new byte[PART_SIZE * 2 + 10]);
+        out.close();
+
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3Client, times(4)).uploadPart(parts.capture(), any(AsyncRequestBody.class));
+        assertThat(parts.getAllValues()).extracting(UploadPartRequest::partNumber)
+                .containsExactlyInAnyOrder(1, 2, 2, 3);
+        verify(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        assertThat(meterRegistry.get("klepaas.storage.upload.part.retries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ETag가 파트 MD5와 다르면 재시도 후 업로드를 실패시킨다")
+    void checksumMismatchFails() throws IOException {
+        given(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(
+                        CreateMultipartUploadResponse.builder().uploadId("upload-1").build()));
+        given(s3Client.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+                .willReturn(CompletableFuture.completedFuture(
+                        UploadPartResponse.builder().eTag("\"00000000000000000000000000000000\"").build()));
+        given(s3Client.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+
+        S3MultipartOutputStream out = open(1, 2);
+        out.write(new byte[PART_SIZE]);
+
+        assertThatThrownBy(out::close).isInstanceOf(IOException.class);
+        out.abort();
+
+        verify(s3Client, times(2)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("한 파트보다 작으면 단일 PutObject로 업로드한다")
+    void smallObjectUsesPutObject() throws IOException {
+        given(s3Client.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .willReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+        S3MultipartOutputStream out = open(4, 3);
+        out.write(new byte[100]);
+        out.close();
+
+        verify(s3Client).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        assertThat(out.getPartCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("abort는 진행 중인 멀티파트 업로드를 취소하고 완료하지 않는다")
+    void abortInProgressUpload() throws IOException {
+        given(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(
+                        CreateMultipartUploadResponse.builder().uploadId("upload-1").build()));
+        given(s3Client.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+                .willAnswer(invocation -> CompletableFuture.completedFuture(etagFor(invocation.getArgument(0))));
+        given(s3Client.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+
+        S3MultipartOutputStream out = open(4, 3);
+        out.write(new byte[PART_SIZE + 10]);
+        out.abort();
+        out.close();
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    private S3MultipartOutputStream open(int parallelism, int maxPartAttempts) {
+        return new S3MultipartOutputStream(s3Client, "bucket", "key", "application/zip",
+                new MultipartSettings(PART_SIZE, parallelism, maxPartAttempts), meterRegistry);
+    }
+
+    private void stubCreateAndComplete() {
+        given(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(
+                        CreateMultipartUploadResponse.builder().uploadId("upload-1").build()));
+        given(s3Client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().build()));
+    }
+
+    /** S3 호환 스토리지처럼 본문 MD5(hex)를 ETag로 돌려준다. */
+    private static UploadPartResponse etagFor(UploadPartRequest request) {
+        byte[] md5 = Base64.getDecoder().decode(request.contentMD5());
+        return UploadPartResponse.builder().eTag("\"" + HexFormat.of().formatHex(md5) + "\"").build();
+    }
+}
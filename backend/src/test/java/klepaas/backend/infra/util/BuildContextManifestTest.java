@@ -0,0 +1,164 @@
+package klepaas.backend.infra.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildContextManifestTest {
+
+    private BuildContextManifest manifest;
+
+    @BeforeEach
+    void setUp() {
+        manifest = new BuildContextManifest();
+        manifest.add("Dockerfile");
+        manifest.add("package.json");
+        manifest.add("src/");
+        manifest.add("src/index.js");
+        manifest.add("config/app.yaml");
+    }
+
+    @Test
+    @DisplayName("Dockerfile이 없으면 실패")
+    void missingDockerfile() {
+        assertThat(manifest.validate()).containsExactly("저장소 루트에 Dockerfile이 없습니다");
+    }
+
+    @Test
+    @DisplayName("COPY/ADD 소스가 모두 context에 있으면 통과")
+    void validContext() {
+        manifest.setDockerfile("""
+                # syntax=docker/dockerfile:1
+                ARG NODE_VERSION=20
+                FROM node:${NODE_VERSION} AS build
+                WORKDIR /app
+                COPY package.json ./
+                COPY ["src", "/app/src"]
+                COPY --chown=node:node config/*.yaml \\
+                     /app/config/
+                ADD https://example.com/tool.tar.gz /tmp/
+                COPY $APP_HOME/extra /app/
+                RUN npm ci && npm run build
+
+                FROM nginx:alpine
+                COPY --from=build /app/dist /usr/share/nginx/html
+                COPY . /srv
+                """);
+
+        assertThat(manifest.validate()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("context에 없는 COPY 소스와 context 밖 경로를 보고한다")
+    void missingCopySources() {
+        manifest.setDockerfile("""
+                FROM eclipse-temurin:21
+                COPY build/libs/*.jar app.jar
+                COPY ../secrets /secrets
+                COPY src/index.js /app/
+                """);
+
+        assertThat(manifest.validate())
+                .hasSize(2)
+                .anySatisfy(problem -> assertThat(problem).contains("2행").contains("build/libs/*.jar"))
+                .anySatisfy(problem -> assertThat(problem).contains("3행").contains("context 밖"));
+    }
+
+    @Test
+    @DisplayName("아직 정의되지 않은 stage 참조는 실패")
+    void forwardStageReference() {
+        manifest.setDockerfile("""
+                FROM builder AS runtime
+                COPY --from=1 /out /app
+                FROM golang:1.22 AS builder
+                """);
+
+        assertThat(manifest.validate())
+                .hasSize(2)
+                .allSatisfy(problem -> assertThat(problem).contains("아직 정의되지 않은 stage"));
+    }
+
+    @Test
+    @DisplayName("FROM 없이 시작하거나 heredoc 본문은 명령으로 해석하지 않는다")
+    void parseHeredocAndMissingFrom() {
+        manifest.setDockerfile("""
+                RUN echo hello
+                """);
+        assertThat(manifest.validate()).singleElement().asString().contains("FROM으로 시작해야");
+
+        manifest.setDockerfile("""
+                FROM alpine
+                RUN <<EOF
+                COPY not-a-real-instruction /x
+                EOF
+                COPY <<CONF /etc/app.conf
+                key=value
+                CONF
+                """);
+        assertThat(manifest.validate()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("context 해시는 엔트리 순서와 무관하고 내용이 바뀌면 달라진다")
+    void contextHash() {
+        BuildContextManifest first = new BuildContextManifest();
+        first.addFile("Dockerfile", 0644, digest("FROM alpine"));
+        first.addFile("src/app.js", 0644, digest("console.log(1)"));
+
+        BuildContextManifest reordered = new BuildContextManifest();
+        reordered.addFile("src/app.js", 0644, digest("console.log(1)"));
+        reordered.addFile("Dockerfile", 0644, digest("FROM alpine"));
+
+        BuildContextManifest changed = new BuildContextManifest();
+        changed.addFile("Dockerfile", 0644, digest("FROM alpine"));
+        changed.addFile("src/app.js", 0644, digest("console.log(2)"));
+
+        assertThat(first.contextHash()).hasSize(64).isEqualTo(reordered.contextHash());
+        assertThat(changed.contextHash()).isNotEqualTo(first.contextHash());
+    }
+
+    @Test
+    @DisplayName("내용이 같아도 모드만 바뀌거나 디렉토리 엔트리가 달라지면 context 해시가 달라진다")
+    void contextHashIncludesModeAndDirectories() {
+        BuildContextManifest base = new BuildContextManifest();
+        base.addDirectory("bin/", 0755);
+        base.addFile("bin/start.sh", 0644, digest("exec java -jar app.jar"));
+
+        BuildContextManifest executable = new BuildContextManifest();
+        executable.addDirectory("bin/", 0755);
+        executable.addFile("bin/start.sh", 0755, digest("exec java -jar app.jar"));
+
+        BuildContextManifest emptyDir = new BuildContextManifest();
+        emptyDir.addDirectory("bin/", 0755);
+        emptyDir.addDirectory("logs/", 0755);
+        emptyDir.addFile("bin/start.sh", 0644, digest("exec java -jar app.jar"));
+
+        assertThat(executable.contextHash()).isNotEqualTo(base.contextHash());
+        assertThat(emptyDir.contextHash()).isNotEqualTo(base.contextHash());
+    }
+
+    @Test
+    @DisplayName("베이스 이미지는 이전 stage, scratch, 변수 참조를 제외하고 중복 없이 추출")
+    void baseImages() {
+        BuildContextManifest manifest = new BuildContextManifest();
+        manifest.setDockerfile("""
+                ARG NODE_VERSION=20
+                FROM node:${NODE_VERSION} AS deps
+                FROM --platform=linux/amd64 gradle:8-jdk21 AS build
+                FROM build AS test
+                FROM eclipse-temurin:21-jre
+                FROM scratch
+                FROM gradle:8-jdk21
+                """);
+
+        assertThat(manifest.baseImages()).containsExactly("gradle:8-jdk21", "eclipse-temurin:21-jre");
+    }
+
+    private static byte[] digest(String content) {
+        return BuildContextManifest.newDigest().digest(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,74 @@
+package klepaas.backend.infra.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DockerIgnoreTest {
+
+    @Test
+    @DisplayName("디렉토리 규칙은 하위 경로 전체를 제외한다")
+    void excludeDirectory() {
+        DockerIgnore ignore = DockerIgnore.parse("""
+                # dependencies
+                node_modules
+                /docs/
+                """);
+
+        assertThat(ignore.isExcluded("node_modules/")).isTrue();
+        assertThat(ignore.isExcluded("node_modules/react/index.js")).isTrue();
+        assertThat(ignore.isExcluded("docs/guide.md")).isTrue();
+        assertThat(ignore.isExcluded("src/node_modules/a.js")).isFalse();
+        assertThat(ignore.isExcluded("src/main.js")).isFalse();
+    }
+
+    @Test
+    @DisplayName("'*'는 한 단계, '**'는 여러 단계 디렉토리에 매칭된다")
+    void wildcards() {
+        DockerIgnore ignore = DockerIgnore.parse("""
+                *.md
+                **/*.log
+                test?/
+                """);
+
+        assertThat(ignore.isExcluded("README.md")).isTrue();
+        assertThat(ignore.isExcluded("docs/README.md")).isFalse();
+        assertThat(ignore.isExcluded("app.log")).isTrue();
+        assertThat(ignore.isExcluded("logs/2024/app.log")).isTrue();
+        assertThat(ignore.isExcluded("test1/fixture.json")).isTrue();
+        assertThat(ignore.isExcluded("tests/fixture.json")).isTrue();
+        assertThat(ignore.isExcluded("test10/fixture.json")).isFalse();
+    }
+
+    @Test
+    @DisplayName("'!' 규칙은 다시 포함하며 마지막에 매칭된 규칙이 우선한다")
+    void exceptions() {
+        DockerIgnore ignore = DockerIgnore.parse("""
+                assets
+                !assets/fonts
+                assets/fonts/*.ttf
+                """);
+
+        assertThat(ignore.isExcluded("assets/logo.png")).isTrue();
+        assertThat(ignore.isExcluded("assets/fonts/font.woff2")).isFalse();
+        assertThat(ignore.isExcluded("assets/fonts/font.ttf")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Dockerfile과 .dockerignore는 규칙과 무관하게 포함한다")
+    void alwaysIncludeBuildFiles() {
+        DockerIgnore ignore = DockerIgnore.parse("*");
+
+        assertThat(ignore.isExcluded("Dockerfile")).isFalse();
+        assertThat(ignore.isExcluded(".dockerignore")).isFalse();
+        assertThat(ignore.isExcluded("src")).isTrue();
+    }
+
+    @Test
+    @DisplayName("규칙이 없으면 아무것도 제외하지 않는다")
+    void emptyRules() {
+        assertThat(DockerIgnore.parse("# only comments\n\n").isEmpty()).isTrue();
+        assertThat(DockerIgnore.empty().isExcluded("node_modules/a.js")).isFalse();
+    }
+}
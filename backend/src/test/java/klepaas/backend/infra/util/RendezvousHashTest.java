@@ -0,0 +1,39 @@
+package klepaas.backend.infra.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RendezvousHashTest {
+
+    private static final List<String> NODES = List.of("build-1", "build-2", "build-3", "build-4");
+
+    @Test
+    @DisplayName("같은 키는 후보 순서와 무관하게 같은 순위를 받는다")
+    void stableRanking() {
+        List<String> ranked = RendezvousHash.rank("42", NODES);
+
+        assertThat(ranked).containsExactlyInAnyOrderElementsOf(NODES);
+        assertThat(RendezvousHash.rank("42", NODES.reversed())).isEqualTo(ranked);
+    }
+
+    @Test
+    @DisplayName("노드가 빠지면 그 노드가 1순위였던 키만 다른 노드로 이동한다")
+    void minimalDisruption() {
+        List<String> remaining = List.of("build-1", "build-2", "build-4");
+
+        IntStream.range(0, 200).mapToObj(String::valueOf).forEach(key -> {
+            List<String> before = RendezvousHash.rank(key, NODES);
+            String after = RendezvousHash.rank(key, remaining).get(0);
+            if (!before.get(0).equals("build-3")) {
+                assertThat(after).isEqualTo(before.get(0));
+            } else {
+                assertThat(after).isEqualTo(before.get(1));
+            }
+        });
+    }
+}